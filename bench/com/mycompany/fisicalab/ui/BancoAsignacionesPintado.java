@@ -0,0 +1,254 @@
+package com.mycompany.fisicalab.ui;
+
+import com.mycompany.fisicalab.core.CicloVida;
+import com.mycompany.fisicalab.core.Escenario;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Composite;
+import java.awt.Container;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.event.ActionEvent;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.lang.management.ManagementFactory;
+import java.text.AttributedCharacterIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+/**
+ * Comprueba que el pintado de las simulaciones no reserva memoria por fotograma
+ * Crea las tres simulaciones sin ventana, las pone en marcha con sus atajos
+ * de teclado y pinta una y otra vez sus escenas y paneles auxiliares,
+ * contando los bytes que reserva el hilo que pinta. Cada pintado se mide dos
+ * veces: sobre un Graphics2D que guarda el estado pero descarta el dibujo
+ * (lo que reserva el código de las escenas, que debe ser cero) y sobre una
+ * imagen (incluye lo que reserva Java2D al rasterizar: iteradores de cada
+ * figura con antialiasing, claves de fuente...; solo se informa). Termina
+ * con código 1 si el código de alguna escena reserva memoria una vez calentado.
+ *
+ * Vive en bench/, fuera de src, para que no entre en el jar de la aplicación.
+ *
+ * Uso (con la aplicación ya compilada en build/classes):
+ *   javac -encoding UTF-8 -cp build/classes -d build/bench bench/com/mycompany/fisicalab/ui/BancoAsignacionesPintado.java
+ *   java -Djava.awt.headless=true -cp build/classes:build/bench com.mycompany.fisicalab.ui.BancoAsignacionesPintado
+ */
+public final class BancoAsignacionesPintado {
+
+    private static final int ANCHO = 1200;
+    private static final int ALTO = 800;
+    // El calentamiento deja que JIT, cachés de glifos y capas fijas se estabilicen
+    private static final int FOTOGRAMAS_CALENTAMIENTO = 3000;
+    private static final int FOTOGRAMAS_MEDIDOS = 2000;
+
+    private BancoAsignacionesPintado() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean hilos =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!hilos.isThreadAllocatedMemorySupported()) {
+            System.err.println("Esta JVM no mide la memoria reservada por hilo");
+            System.exit(2);
+        }
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        boolean correcto = true;
+        correcto &= medir(hilos, "SimulacionTiroParabolico", () -> new SimulacionTiroParabolico(null), "lanzar");
+        correcto &= medir(hilos, "SimulacionMRU", () -> new SimulacionMRU(null), "iniciarPausar");
+        correcto &= medir(hilos, "SimulacionCaidaLibre", () -> new SimulacionCaidaLibre(null), "soltar", "toggleEnergia");
+        System.exit(correcto ? 0 : 1);
+    }
+
+    /**
+     * Mide cada escena y panel auxiliar de una simulación; false si alguno reserva memoria
+     */
+    private static boolean medir(com.sun.management.ThreadMXBean hilos, String nombre,
+                                 Supplier<JPanel> fabrica, String... acciones) throws Exception {
+        boolean[] correcto = {true};
+        SwingUtilities.invokeAndWait(() -> {
+            JPanel simulacion = fabrica.get();
+            simulacion.setSize(ANCHO, ALTO);
+            simulacion.addNotify();
+            for (String accion : acciones) {
+                simulacion.getActionMap().get(accion)
+                    .actionPerformed(new ActionEvent(simulacion, ActionEvent.ACTION_PERFORMED, accion));
+            }
+            // Después de las acciones: alguna muestra u oculta paneles
+            validarArbol(simulacion);
+
+            List<Component> lienzos = new ArrayList<>();
+            buscarLienzos(simulacion, lienzos);
+            for (Component c : lienzos) {
+                Consumer<Graphics2D> pintado = c instanceof Escenario ? ((Escenario) c)::renderizar
+                                                                      : ((Lienzo) c)::renderizar;
+                BufferedImage imagen = new BufferedImage(Math.max(1, c.getWidth()), Math.max(1, c.getHeight()),
+                                                         BufferedImage.TYPE_INT_RGB);
+                Graphics2D g2d = imagen.createGraphics();
+                double propio = bytesPorFotograma(hilos, pintado, new GraphicsDescarte(g2d));
+                double conJava2d = bytesPorFotograma(hilos, pintado, g2d);
+                g2d.dispose();
+
+                System.out.printf("%-26s %-26s %8.1f B/fotograma (con Java2D: %.1f)%n", nombre,
+                                  c.getClass().getSimpleName(), propio, conJava2d);
+                // Menos de un byte por fotograma es ruido de la propia medición
+                if (propio >= 1) {
+                    correcto[0] = false;
+                }
+            }
+            if (simulacion instanceof CicloVida) {
+                ((CicloVida) simulacion).alOcultar();
+                ((CicloVida) simulacion).liberar();
+            }
+        });
+        return correcto[0];
+    }
+
+    private static double bytesPorFotograma(com.sun.management.ThreadMXBean hilos,
+                                            Consumer<Graphics2D> pintado, Graphics2D g2d) {
+        for (int i = 0; i < FOTOGRAMAS_CALENTAMIENTO; i++) {
+            pintado.accept(g2d);
+        }
+        long hilo = Thread.currentThread().getId();
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        for (int i = 0; i < FOTOGRAMAS_MEDIDOS; i++) {
+            pintado.accept(g2d);
+        }
+        return (double) (hilos.getThreadAllocatedBytes(hilo) - antes) / FOTOGRAMAS_MEDIDOS;
+    }
+
+    private static void validarArbol(Container c) {
+        c.doLayout();
+        for (Component hijo : c.getComponents()) {
+            if (hijo instanceof Container) {
+                validarArbol((Container) hijo);
+            }
+        }
+    }
+
+    private static void buscarLienzos(Container c, List<Component> encontrados) {
+        for (Component hijo : c.getComponents()) {
+            if (hijo instanceof Escenario || hijo instanceof Lienzo) {
+                encontrados.add(hijo);
+            } else if (hijo instanceof JComponent) {
+                buscarLienzos((Container) hijo, encontrados);
+            }
+        }
+    }
+
+    /**
+     * Graphics2D que lleva el estado (color, fuente, transformación...) en uno
+     * real pero no dibuja nada: aísla lo que reserva el código de las escenas
+     * de lo que reserva Java2D al rasterizar
+     */
+    private static final class GraphicsDescarte extends Graphics2D {
+
+        private final Graphics2D estado;
+
+        GraphicsDescarte(Graphics2D estado) {
+            this.estado = estado;
+        }
+
+        // Dibujo: se descarta
+        @Override public void draw(Shape s) { }
+        @Override public void fill(Shape s) { }
+        @Override public void drawLine(int x1, int y1, int x2, int y2) { }
+        @Override public void fillRect(int x, int y, int width, int height) { }
+        @Override public void clearRect(int x, int y, int width, int height) { }
+        @Override public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) { }
+        @Override public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) { }
+        @Override public void drawOval(int x, int y, int width, int height) { }
+        @Override public void fillOval(int x, int y, int width, int height) { }
+        @Override public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) { }
+        @Override public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) { }
+        @Override public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) { }
+        @Override public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) { }
+        @Override public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) { }
+        @Override public void drawString(String str, int x, int y) { }
+        @Override public void drawString(String str, float x, float y) { }
+        @Override public void drawString(AttributedCharacterIterator iterator, int x, int y) { }
+        @Override public void drawString(AttributedCharacterIterator iterator, float x, float y) { }
+        // Graphics.drawChars crearía un String para llamar a drawString
+        @Override public void drawChars(char[] data, int offset, int length, int x, int y) { }
+        @Override public void drawGlyphVector(GlyphVector g, float x, float y) { }
+        @Override public void drawRenderedImage(RenderedImage img, AffineTransform xform) { }
+        @Override public void drawRenderableImage(RenderableImage img, AffineTransform xform) { }
+        @Override public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) { }
+        @Override public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) { return true; }
+        @Override public boolean drawImage(Image img, int x, int y, ImageObserver observer) { return true; }
+        @Override public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) { return true; }
+        @Override public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) { return true; }
+        @Override public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor,
+                                           ImageObserver observer) { return true; }
+        @Override public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1,
+                                           int sx2, int sy2, ImageObserver observer) { return true; }
+        @Override public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1,
+                                           int sx2, int sy2, Color bgcolor, ImageObserver observer) { return true; }
+        @Override public void copyArea(int x, int y, int width, int height, int dx, int dy) { }
+
+        // Estado: en el Graphics2D real
+        @Override public Graphics create() { return new GraphicsDescarte((Graphics2D) estado.create()); }
+        @Override public void dispose() { }
+        @Override public boolean hit(Rectangle rect, Shape s, boolean onStroke) { return estado.hit(rect, s, onStroke); }
+        @Override public GraphicsConfiguration getDeviceConfiguration() { return estado.getDeviceConfiguration(); }
+        @Override public FontRenderContext getFontRenderContext() { return estado.getFontRenderContext(); }
+        @Override public FontMetrics getFontMetrics(Font f) { return estado.getFontMetrics(f); }
+        @Override public Color getColor() { return estado.getColor(); }
+        @Override public void setColor(Color c) { estado.setColor(c); }
+        @Override public void setPaintMode() { estado.setPaintMode(); }
+        @Override public void setXORMode(Color c) { estado.setXORMode(c); }
+        @Override public Font getFont() { return estado.getFont(); }
+        @Override public void setFont(Font font) { estado.setFont(font); }
+        @Override public Paint getPaint() { return estado.getPaint(); }
+        @Override public void setPaint(Paint paint) { estado.setPaint(paint); }
+        @Override public Composite getComposite() { return estado.getComposite(); }
+        @Override public void setComposite(Composite comp) { estado.setComposite(comp); }
+        @Override public Stroke getStroke() { return estado.getStroke(); }
+        @Override public void setStroke(Stroke s) { estado.setStroke(s); }
+        @Override public Color getBackground() { return estado.getBackground(); }
+        @Override public void setBackground(Color color) { estado.setBackground(color); }
+        @Override public Object getRenderingHint(RenderingHints.Key hintKey) { return estado.getRenderingHint(hintKey); }
+        @Override public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+            estado.setRenderingHint(hintKey, hintValue);
+        }
+        @Override public RenderingHints getRenderingHints() { return estado.getRenderingHints(); }
+        @Override public void setRenderingHints(Map<?, ?> hints) { estado.setRenderingHints(hints); }
+        @Override public void addRenderingHints(Map<?, ?> hints) { estado.addRenderingHints(hints); }
+        @Override public void translate(int x, int y) { estado.translate(x, y); }
+        @Override public void translate(double tx, double ty) { estado.translate(tx, ty); }
+        @Override public void rotate(double theta) { estado.rotate(theta); }
+        @Override public void rotate(double theta, double x, double y) { estado.rotate(theta, x, y); }
+        @Override public void scale(double sx, double sy) { estado.scale(sx, sy); }
+        @Override public void shear(double shx, double shy) { estado.shear(shx, shy); }
+        @Override public void transform(AffineTransform tx) { estado.transform(tx); }
+        @Override public void setTransform(AffineTransform tx) { estado.setTransform(tx); }
+        @Override public AffineTransform getTransform() { return estado.getTransform(); }
+        @Override public Rectangle getClipBounds() { return estado.getClipBounds(); }
+        @Override public void clipRect(int x, int y, int width, int height) { estado.clipRect(x, y, width, height); }
+        @Override public void setClip(int x, int y, int width, int height) { estado.setClip(x, y, width, height); }
+        @Override public Shape getClip() { return estado.getClip(); }
+        @Override public void setClip(Shape clip) { estado.setClip(clip); }
+        @Override public void clip(Shape s) { estado.clip(s); }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.fisicalab.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Triple búfer sin bloqueos entre un escritor (la física) y un lector (el pintado)
+ * Para estados grandes que no compensa copiar en un objeto nuevo por paso.
+ * El escritor rellena getEscritura() y llama a publicar(); el lector recibe
+ * con leer() el último búfer completo publicado. Cada uno trabaja siempre
+ * sobre un búfer distinto, así que ninguno espera al otro ni ve un estado a
+ * medio escribir. Solo puede haber un escritor y un lector a la vez.
+ */
+public class BufferTriple<T> {
+
+    // Bit que marca que el búfer intermedio trae datos que el lector aún no ha visto
+    private static final int NUEVO = 4;
+    private static final int INDICE = 3;
+
+    private final Object[] buffers = new Object[3];
+    private int escritura = 0; // solo lo toca el escritor
+    private int lectura = 1;   // solo lo toca el lector
+    private final AtomicInteger intermedio = new AtomicInteger(2);
+
+    public BufferTriple(Supplier<T> fabrica) {
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = fabrica.get();
+        }
+    }
+
+    /**
+     * Búfer que el escritor puede rellenar (el lector nunca lo ve a medias)
+     */
+    @SuppressWarnings("unchecked")
+    public T getEscritura() {
+        return (T) buffers[escritura];
+    }
+
+    /**
+     * Entrega el búfer de escritura al lector y toma el libre para el próximo paso
+     */
+    public void publicar() {
+        escritura = intermedio.getAndSet(escritura | NUEVO) & INDICE;
+    }
+
+    /**
+     * Último búfer publicado (el mismo que la vez anterior si no hay uno nuevo)
+     */
+    @SuppressWarnings("unchecked")
+    public T leer() {
+        if ((intermedio.get() & NUEVO) != 0) {
+            lectura = intermedio.getAndSet(lectura) & INDICE;
+        }
+        return (T) buffers[lectura];
+    }
+}
@@ -0,0 +1,29 @@
+package com.mycompany.fisicalab.core;
+
+/**
+ * Avisos que SimuladorFrame da a una pantalla al cambiar de una a otra
+ * Orden: alMostrar() al pasar a ser la pantalla visible; al sustituirla,
+ * alOcultar() y después liberar(). Una pantalla que se vuelve a mostrar
+ * (p. ej. ModoJuego tras una misión) recibe otra vez alMostrar(), así que
+ * lo que arranque ahí debe poder arrancarse de nuevo.
+ */
+public interface CicloVida {
+
+    /**
+     * La pantalla ya está en la ventana: arrancar animaciones y relojes
+     */
+    default void alMostrar() {
+    }
+
+    /**
+     * La pantalla deja de verse: parar motores, animaciones y cálculos en curso
+     */
+    default void alOcultar() {
+    }
+
+    /**
+     * Soltar lo que la pantalla retiene (historiales, grabaciones a medias)
+     */
+    default void liberar() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.fisicalab.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Lleva la cuenta de los relojes vivos de cada sesión (cada pantalla que
+ * muestra SimuladorFrame)
+ * Los relojes (suscripciones al PlanificadorFotogramas, motores de paso fijo)
+ * se dan de alta al arrancar y de baja al parar. Tras cambiar de pantalla,
+ * lo que siga vivo de una sesión anterior es una fuga: gasta CPU en una
+ * pantalla que ya no se ve. comprobar() lo avisa por la salida de error.
+ */
+public final class DetectorFugas {
+
+    // Débil: un reloj que ya nadie referencia tampoco está corriendo
+    private static final Map<Object, Alta> VIVOS = new WeakHashMap<>();
+    private static int sesion;
+    private static String nombreSesion = "inicio";
+
+    private DetectorFugas() {
+    }
+
+    /**
+     * Un reloj empieza a correr en la sesión actual (desde cualquier hilo)
+     */
+    public static synchronized void alta(Object reloj, String descripcion) {
+        VIVOS.put(reloj, new Alta(sesion, nombreSesion, descripcion));
+    }
+
+    /**
+     * El reloj se ha parado (desde cualquier hilo; sin efecto si no estaba de alta)
+     */
+    public static synchronized void baja(Object reloj) {
+        VIVOS.remove(reloj);
+    }
+
+    /**
+     * Empieza una sesión nueva (la llama SimuladorFrame al cambiar de pantalla)
+     */
+    static synchronized void abrirSesion(String nombre) {
+        sesion++;
+        nombreSesion = nombre;
+    }
+
+    /**
+     * Relojes vivos agrupados por sesión ("3 SimulacionMRU" -> 2)
+     */
+    public static synchronized Map<String, Integer> vivosPorSesion() {
+        Map<String, Integer> cuenta = new LinkedHashMap<>();
+        for (Alta a : VIVOS.values()) {
+            cuenta.merge(a.sesion + " " + a.nombreSesion, 1, Integer::sum);
+        }
+        return cuenta;
+    }
+
+    /**
+     * Relojes que siguen vivos de sesiones ya cerradas
+     */
+    public static synchronized List<String> getFugas() {
+        List<String> fugas = new ArrayList<>();
+        for (Alta a : VIVOS.values()) {
+            if (a.sesion < sesion) {
+                fugas.add(a.descripcion + " (sesión " + a.sesion + ", " + a.nombreSesion + ")");
+            }
+        }
+        return fugas;
+    }
+
+    /**
+     * Avisa de las fugas por la salida de error; devuelve cuántas hay
+     */
+    public static int comprobar() {
+        List<String> fugas = getFugas();
+        for (String fuga : fugas) {
+            System.err.println("FisicaLab: reloj vivo de una pantalla cerrada: " + fuga);
+        }
+        return fugas.size();
+    }
+
+    private static final class Alta {
+        final int sesion;
+        final String nombreSesion;
+        final String descripcion;
+
+        Alta(int sesion, String nombreSesion, String descripcion) {
+            this.sesion = sesion;
+            this.nombreSesion = nombreSesion;
+            this.descripcion = descripcion;
+        }
+    }
+}
@@ -1,19 +1,89 @@
 package com.mycompany.fisicalab.core;
 
+import com.mycompany.fisicalab.fisica.BufferRebobinado;
+import com.mycompany.fisicalab.fisica.GrabadorSimulacion;
+import com.mycompany.fisicalab.fisica.ModeloFisico;
+import com.mycompany.fisicalab.utils.LineaTexto;
+import com.mycompany.fisicalab.utils.TextoFijo;
+import com.mycompany.fisicalab.utils.UIHelper;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Clase base para todos los escenarios de simulación
  * Proporciona la estructura común para dibujar y actualizar
+ * 
+ * El pintado va en dos capas: la fija (cielo, suelo, escalas), que se
+ * rasteriza una vez en una imagen compatible con la pantalla, y la móvil,
+ * que dibujar() pinta encima en cada fotograma. La capa fija solo se
+ * rehace al cambiar el tamaño o tras invalidarCapaFija().
+ * 
+ * Con setRenderizadoActivo(true) (o -Dfisicalab.renderizadoActivo=true) el
+ * escenario se dibuja en un Canvas con BufferStrategy que el planificador
+ * de fotogramas pinta y vuelca en cada fotograma, en lugar de esperar a que
+ * el RepaintManager agrupe los repaint(). Los menús desplegables que caigan
+ * encima deben ser pesados para verse sobre el Canvas.
  */
 public abstract class Escenario extends JPanel {
     
+    // Hilo compartido que entrega las grabaciones terminadas (disco): ni la física ni el EDT esperan
+    private static final ExecutorService HILO_GRABACIONES =
+        Executors.newSingleThreadExecutor(r -> {
+            Thread hilo = new Thread(r, "FisicaLab-Grabaciones");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    
     protected MotorSimulacion motor;
     protected int ancho;
     protected int alto;
     protected double escalaPixeles; // píxeles por metro
     
+    // Último estado publicado por la física; el pintado lo lee sin bloquear a nadie
+    private final AtomicReference<Fotograma> fotograma = new AtomicReference<>(Fotograma.REPOSO);
+    
+    // Grabación del lanzamiento en curso (null = no se graba)
+    private volatile GrabadorSimulacion grabador;
+    private GrabadorSimulacion grabacionTerminada; // pendiente de entregarGrabacion() (hilo de la física)
+    private Consumer<GrabadorSimulacion> destinoGrabacion;
+    
+    // Últimos instantes, para revisarlos con la línea de tiempo (null = desactivado)
+    private volatile BufferRebobinado historial;
+    private final double[] estadoRevision = new double[4];
+    private volatile boolean revisando;
+    private volatile double tiempoRevision;
+    
+    // Capa fija ya rasterizada (solo la toca el EDT)
+    private BufferedImage capaFija;
+    private volatile boolean capaFijaValida;
+    // Escala de dispositivo de la capa; solo se recalcula si cambia la pantalla
+    private GraphicsConfiguration configuracionCapa;
+    private double escalaCapa = 1.0;
+    
+    // Búferes del pintado, los mismos en cada fotograma (solo EDT): el pintado
+    // en régimen estacionario no reserva memoria
+    private final Path2D.Double trazado = new Path2D.Double();
+    private LineaTexto[] lineas = new LineaTexto[0];
+    
+    // Recursos de dibujarCuadricula(), compartidos con UIHelper
+    private final Color colorCuadricula = UIHelper.color(200, 200, 200, 100);
+    private final BasicStroke trazoCuadricula = UIHelper.trazo(1);
+    
+    // Dibujo activo por defecto; sin pantalla no hay Canvas posible
+    private static final boolean RENDERIZADO_ACTIVO = Boolean.getBoolean("fisicalab.renderizadoActivo")
+                                                      && !GraphicsEnvironment.isHeadless();
+    // null = dibujo pasivo (paintComponent)
+    private SuperficieActiva superficie;
+    private PlanificadorFotogramas.Suscripcion presentacion;
+    
     public Escenario(int ancho, int alto) {
         this.ancho = ancho;
         this.alto = alto;
@@ -22,24 +92,212 @@ public abstract class Escenario extends JPanel {
         setPreferredSize(new Dimension(ancho, alto));
         setBackground(new Color(240, 248, 255)); // Alice Blue
         setDoubleBuffered(true);
+        setRenderizadoActivo(RENDERIZADO_ACTIVO);
     }
     
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-        
+        if (superficie != null) return; // lo cubre el Canvas
+        renderizar((Graphics2D) g);
+    }
+    
+    /**
+     * Cambia entre el dibujo pasivo (repaint y paintComponent) y el activo
+     * (Canvas pintado y volcado en cada fotograma; llamar desde el EDT)
+     */
+    public void setRenderizadoActivo(boolean activo) {
+        if (activo == (superficie != null)) return;
+        if (activo) {
+            superficie = new SuperficieActiva(this);
+            setLayout(new BorderLayout());
+            add(superficie, BorderLayout.CENTER);
+            if (isDisplayable()) {
+                programarPresentacion();
+            }
+        } else {
+            cancelarPresentacion();
+            remove(superficie);
+            superficie = null;
+        }
+        revalidate();
+        repaint();
+    }
+    
+    public boolean isRenderizadoActivo() {
+        return superficie != null;
+    }
+    
+    /**
+     * En dibujo activo no se pide nada al RepaintManager: el planificador
+     * ya pinta el próximo fotograma
+     */
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+        if (superficie == null) {
+            super.repaint(tm, x, y, width, height);
+        }
+    }
+    
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (superficie != null) {
+            programarPresentacion();
+        }
+    }
+    
+    @Override
+    public void removeNotify() {
+        cancelarPresentacion();
+        super.removeNotify();
+    }
+    
+    private void programarPresentacion() {
+        // cambiarPantalla puede haberla cancelado desde fuera
+        if (presentacion == null || presentacion.isCancelada()) {
+            presentacion = PlanificadorFotogramas.getInstancia().registrarPresentacion(this, superficie::presentar);
+        }
+    }
+    
+    private void cancelarPresentacion() {
+        if (presentacion != null) {
+            presentacion.cancelar();
+            presentacion = null;
+        }
+    }
+    
+    /**
+     * Pinta el fotograma completo (capa fija y móvil) en cualquier Graphics2D
+     * del tamaño del componente, sin pasar por el repintado de Swing
+     */
+    public void renderizar(Graphics2D g2d) {
         // Activar antialiasing para mejor calidad visual
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, 
                              RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, 
                              RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
         
+        // La capa fija es opaca y cubre todo el componente: hace de fondo
+        pintarCapaFija(g2d);
         dibujar(g2d);
     }
     
+    private void pintarCapaFija(Graphics2D g2d) {
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) return;
+        
+        // Con escalado de pantalla (HiDPI) la imagen se hace a resolución de dispositivo;
+        // getTransform() devuelve una copia, así que no se consulta en cada fotograma
+        GraphicsConfiguration pantalla = g2d.getDeviceConfiguration();
+        if (pantalla != configuracionCapa) {
+            AffineTransform tx = g2d.getTransform();
+            escalaCapa = Math.abs(tx.getScaleX()) > 0 ? Math.abs(tx.getScaleX()) : 1.0;
+            configuracionCapa = pantalla;
+        }
+        double escala = escalaCapa;
+        int anchoPx = (int) Math.ceil(w * escala);
+        int altoPx = (int) Math.ceil(h * escala);
+        
+        BufferedImage capa = capaFija;
+        boolean mismoTamano = capa != null && capa.getWidth() == anchoPx && capa.getHeight() == altoPx;
+        if (!mismoTamano || !capaFijaValida) {
+            // Se marca antes de pintar: una invalidación durante el pintado no se pierde
+            capaFijaValida = true;
+            if (!mismoTamano) {
+                GraphicsConfiguration gc = getGraphicsConfiguration();
+                capa = gc != null ? gc.createCompatibleImage(anchoPx, altoPx, Transparency.OPAQUE)
+                                  : new BufferedImage(anchoPx, altoPx, BufferedImage.TYPE_INT_RGB);
+                capaFija = capa;
+            }
+            Graphics2D gc = capa.createGraphics();
+            try {
+                gc.setRenderingHints(g2d.getRenderingHints());
+                gc.scale(escala, escala);
+                gc.setColor(getBackground());
+                gc.fillRect(0, 0, w, h);
+                dibujarCapaFija(gc, w, h);
+            } finally {
+                gc.dispose();
+            }
+        }
+        g2d.drawImage(capa, 0, 0, w, h, null);
+    }
+    
+    /**
+     * Parte de la escena que no cambia entre fotogramas (cielo, suelo,
+     * escalas...), en las mismas coordenadas que dibujar(). Solo se vuelve
+     * a llamar al cambiar el tamaño o tras invalidarCapaFija().
+     */
+    protected void dibujarCapaFija(Graphics2D g2d, int w, int h) {
+    }
+    
+    /**
+     * La capa fija se rehará en el próximo pintado (al cambiar un ajuste
+     * que se ve en ella; desde cualquier hilo)
+     */
+    public void invalidarCapaFija() {
+        capaFijaValida = false;
+        repaint();
+    }
+    
+    /**
+     * Trazado vacío para el fotograma (siempre el mismo objeto: usar y dibujar
+     * antes de volver a pedirlo)
+     */
+    protected Path2D.Double trazadoVacio() {
+        trazado.reset();
+        return trazado;
+    }
+    
+    /**
+     * Línea de texto número i, vacía, para el fotograma
+     */
+    protected LineaTexto linea(int i) {
+        if (i >= lineas.length) {
+            lineas = Arrays.copyOf(lineas, i + 1);
+        }
+        if (lineas[i] == null) {
+            lineas[i] = new LineaTexto();
+        }
+        return lineas[i].limpiar();
+    }
+    
+    /**
+     * Ancho de la más larga de las n primeras líneas pedidas con linea()
+     */
+    protected int anchoLineas(FontMetrics fm, int n) {
+        int ancho = 0;
+        for (int i = 0; i < n; i++) {
+            ancho = Math.max(ancho, lineas[i].getAncho(fm));
+        }
+        return ancho;
+    }
+    
+    /**
+     * Dibuja las n primeras líneas pedidas con linea(), hacia abajo desde y
+     */
+    protected void dibujarLineas(Graphics2D g2d, int n, int x, int y, int interlineado) {
+        for (int i = 0; i < n; i++) {
+            lineas[i].dibujar(g2d, x, y);
+            y += interlineado;
+        }
+    }
+    
+    /**
+     * Dibuja, hacia abajo desde y, cada etiqueta seguida de la línea del
+     * mismo número pedida con linea()
+     */
+    protected void dibujarLineas(Graphics2D g2d, TextoFijo[] etiquetas, int x, int y, int interlineado) {
+        for (int i = 0; i < etiquetas.length; i++) {
+            lineas[i].dibujar(g2d, etiquetas[i].dibujar(g2d, x, y), y);
+            y += interlineado;
+        }
+    }
+    
     /**
      * Método abstracto para que cada simulación dibuje su contenido
+     * (encima de la capa fija)
      */
     protected abstract void dibujar(Graphics2D g2d);
     
@@ -49,116 +307,219 @@ public abstract class Escenario extends JPanel {
     public abstract void actualizar();
     
     /**
-     * Convierte metros a píxeles
+     * Asigna el motor que marca el tiempo de esta escena
+     * (cada lanzamiento crea un motor nuevo)
      */
-    protected int metrosAPixeles(double metros) {
-        return (int)(metros * escalaPixeles);
+    public void setMotor(MotorSimulacion motor) {
+        this.motor = motor;
+        if (motor != null) {
+            motor.setPropietario(this);
+        }
     }
     
     /**
-     * Convierte píxeles a metros
+     * Publica el estado de un paso para el pintado (desde el hilo que avance la física)
      */
-    protected double pixelesAMetros(int pixeles) {
-        return pixeles / escalaPixeles;
+    protected void publicar(Fotograma nuevo) {
+        fotograma.set(nuevo);
     }
     
     /**
-     * Dibuja una cuadrícula de referencia
+     * Último estado publicado; leerlo una vez por pintado y dibujar todo con él
      */
-    protected void dibujarCuadricula(Graphics2D g2d, int espaciado) {
-        g2d.setColor(new Color(200, 200, 200, 100));
-        g2d.setStroke(new BasicStroke(1));
-        
-        // Líneas verticales
-        for (int x = 0; x < ancho; x += espaciado) {
-            g2d.drawLine(x, 0, x, alto);
+    public Fotograma getFotograma() {
+        return fotograma.get();
+    }
+    
+    /**
+     * Indica qué hacer con cada grabación terminada (p. ej. guardarla en
+     * disco); se llama en un hilo de fondo propio, de una en una. null
+     * desactiva la grabación
+     */
+    public void setDestinoGrabacion(Consumer<GrabadorSimulacion> destino) {
+        this.destinoGrabacion = destino;
+    }
+    
+    /**
+     * Empieza a grabar el próximo lanzamiento; llamar antes de reiniciar la escena
+     */
+    public void iniciarGrabacion(String tipoSimulacion) {
+        grabador = destinoGrabacion != null ? new GrabadorSimulacion(tipoSimulacion) : null;
+    }
+    
+    /**
+     * Descarta la grabación en curso sin entregarla
+     */
+    public void cancelarGrabacion() {
+        grabador = null;
+    }
+    
+    /**
+     * Guarda el estado del modelo en la grabación en curso; cuando el modelo
+     * termina, la grabación se cierra y queda para entregarGrabacion(). Las
+     * escenas lo llaman al reiniciar y en cada tick.
+     */
+    protected void grabarMuestra(ModeloFisico modelo) {
+        BufferRebobinado h = historial;
+        if (h != null) {
+            h.agregar(modelo);
         }
+        revisando = false; // la escena vuelve a mostrar el estado del modelo
         
-        // Líneas horizontales
-        for (int y = 0; y < alto; y += espaciado) {
-            g2d.drawLine(0, y, ancho, y);
+        GrabadorSimulacion g = grabador;
+        if (g == null) return;
+        g.agregar(modelo);
+        if (modelo.isTerminado()) {
+            grabador = null;
+            grabacionTerminada = g;
         }
     }
     
     /**
-     * Dibuja ejes coordenados
+     * Pasa la grabación recién cerrada al hilo de grabaciones; las escenas lo
+     * llaman al final de cada tick, ya fuera de su lock, para que guardarla
+     * no retenga la física ni los controles
      */
-    protected void dibujarEjes(Graphics2D g2d, int origenX, int origenY) {
-        g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
-        
-        // Eje X
-        g2d.drawLine(0, origenY, ancho, origenY);
-        
-        // Eje Y
-        g2d.drawLine(origenX, 0, origenX, alto);
-        
-        // Flechas
-        int tamFlecha = 10;
-        // Flecha eje X
-        g2d.drawLine(ancho, origenY, ancho - tamFlecha, origenY - tamFlecha/2);
-        g2d.drawLine(ancho, origenY, ancho - tamFlecha, origenY + tamFlecha/2);
-        
-        // Flecha eje Y
-        g2d.drawLine(origenX, 0, origenX - tamFlecha/2, tamFlecha);
-        g2d.drawLine(origenX, 0, origenX + tamFlecha/2, tamFlecha);
-        
-        // Etiquetas
-        g2d.setFont(new Font("Arial", Font.BOLD, 12));
-        g2d.drawString("X", ancho - 20, origenY - 10);
-        g2d.drawString("Y", origenX + 10, 15);
+    protected void entregarGrabacion() {
+        GrabadorSimulacion g = grabacionTerminada;
+        Consumer<GrabadorSimulacion> destino = destinoGrabacion;
+        if (g == null || destino == null) return;
+        grabacionTerminada = null;
+        HILO_GRABACIONES.execute(() -> {
+            try {
+                destino.accept(g);
+            } catch (RuntimeException e) {
+                // Una grabación que falla no debe dejar sin guardar las siguientes
+                e.printStackTrace();
+            }
+        });
     }
     
     /**
-     * Dibuja un objeto circular (móvil)
+     * Reserva el historial para rebobinar (capacidad en instantes, 40 bytes
+     * cada uno); 0 lo desactiva
      */
-    protected void dibujarObjeto(Graphics2D g2d, int x, int y, int radio, Color color) {
-        // Sombra
-        g2d.setColor(new Color(0, 0, 0, 50));
-        g2d.fillOval(x - radio + 2, y - radio + 2, radio * 2, radio * 2);
-        
-        // Objeto principal
-        g2d.setColor(color);
-        g2d.fillOval(x - radio, y - radio, radio * 2, radio * 2);
-        
-        // Borde
-        g2d.setColor(color.darker());
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawOval(x - radio, y - radio, radio * 2, radio * 2);
+    public void setCapacidadHistorial(int capacidad) {
+        historial = capacidad > 0 ? new BufferRebobinado(capacidad) : null;
+        revisando = false;
     }
     
     /**
-     * Dibuja información de texto
+     * Para el motor y suelta historial y grabación (al cerrar la pantalla)
      */
-    protected void dibujarInfo(Graphics2D g2d, String[] lineas, int x, int y) {
-        g2d.setFont(new Font("Monospaced", Font.PLAIN, 14));
-        
-        // Fondo semi-transparente
-        FontMetrics fm = g2d.getFontMetrics();
-        int anchoMax = 0;
-        for (String linea : lineas) {
-            anchoMax = Math.max(anchoMax, fm.stringWidth(linea));
+    public void liberar() {
+        if (motor != null) {
+            motor.detener();
         }
+        grabador = null;
+        historial = null;
+        revisando = false;
+        capaFija = null;
+        cancelarPresentacion();
+    }
+    
+    public BufferRebobinado getHistorial() {
+        return historial;
+    }
+    
+    public void limpiarHistorial() {
+        BufferRebobinado h = historial;
+        if (h != null) {
+            h.limpiar();
+        }
+        revisando = false;
+    }
+    
+    /**
+     * Muestra un instante guardado sin tocar el modelo (con el motor parado)
+     */
+    public void revisar(double t) {
+        BufferRebobinado h = historial;
+        if (h == null || h.getTamano() == 0) return;
+        double leido = h.leer(t, estadoRevision);
+        tiempoRevision = leido;
+        revisando = true;
+        aplicarInstante(leido, estadoRevision[0], estadoRevision[1], estadoRevision[2], estadoRevision[3]);
+        repaint();
+    }
+    
+    public boolean isRevisando() {
+        return revisando;
+    }
+    
+    public double getTiempoRevision() {
+        return tiempoRevision;
+    }
+    
+    /**
+     * Continúa desde el instante revisado: descarta el historial posterior,
+     * deja el modelo en ese instante y cancela la grabación (ya no sería una
+     * ejecución limpia)
+     * @return el instante desde el que se sigue, o NaN si no se estaba revisando
+     */
+    public double rebobinar() {
+        if (!revisando) return Double.NaN;
+        double t = tiempoRevision;
+        historial.truncar(t);
+        cancelarGrabacion();
+        rebobinarModelo(t);
+        revisando = false;
+        return t;
+    }
+    
+    /**
+     * Las escenas que admiten rebobinar copian aquí el instante a sus campos de dibujo
+     */
+    protected void aplicarInstante(double t, double x, double y, double vx, double vy) {
+    }
+    
+    /**
+     * Las escenas que admiten rebobinar dejan aquí su modelo en el instante t
+     */
+    protected void rebobinarModelo(double t) {
+    }
+    
+    /**
+     * Interpola entre el estado del paso anterior y el actual según
+     * el avance del motor de paso fijo (en modo Timer devuelve el actual)
+     */
+    protected double interpolar(double anterior, double actual) {
+        if (motor == null || !motor.isEnEjecucion()) {
+            return actual;
+        }
+        double alfa = motor.getAlfaInterpolacion();
+        return anterior + (actual - anterior) * alfa;
+    }
+    
+    /**
+     * Convierte metros a píxeles
+     */
+    protected int metrosAPixeles(double metros) {
+        return (int)(metros * escalaPixeles);
+    }
+    
+    /**
+     * Convierte píxeles a metros
+     */
+    protected double pixelesAMetros(int pixeles) {
+        return pixeles / escalaPixeles;
+    }
+    
+    /**
+     * Dibuja una cuadrícula de referencia
+     */
+    protected void dibujarCuadricula(Graphics2D g2d, int espaciado) {
+        g2d.setColor(colorCuadricula);
+        g2d.setStroke(trazoCuadricula);
         
-        int padding = 10;
-        g2d.setColor(new Color(255, 255, 255, 220));
-        g2d.fillRoundRect(x - padding, y - padding, 
-                         anchoMax + 2*padding, 
-                         lineas.length * fm.getHeight() + padding, 
-                         10, 10);
-        
-        // Borde
-        g2d.setColor(new Color(100, 100, 100));
-        g2d.setStroke(new BasicStroke(1));
-        g2d.drawRoundRect(x - padding, y - padding, 
-                         anchoMax + 2*padding, 
-                         lineas.length * fm.getHeight() + padding, 
-                         10, 10);
+        // Líneas verticales
+        for (int x = 0; x < ancho; x += espaciado) {
+            g2d.drawLine(x, 0, x, alto);
+        }
         
-        // Texto
-        g2d.setColor(Color.BLACK);
-        for (int i = 0; i < lineas.length; i++) {
-            g2d.drawString(lineas[i], x, y + i * fm.getHeight() + fm.getAscent());
+        // Líneas horizontales
+        for (int y = 0; y < alto; y += espaciado) {
+            g2d.drawLine(0, y, ancho, y);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.mycompany.fisicalab.core;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Estela de una trayectoria que se dibuja de forma incremental
+ * Los tramos ya dibujados quedan en una imagen transparente del tamaño del
+ * componente; en cada fotograma solo se añaden los puntos nuevos, así que el
+ * coste depende de los tramos nuevos y no de la longitud de la estela. Si
+ * cambia la fuente de puntos o el tamaño, o hay que volver atrás (rebobinado),
+ * la estela se vacía y se rehace desde el principio.
+ * Los tramos se trazan opacos y la imagen se vuelca con la transparencia del
+ * color: así las uniones entre tramos no se oscurecen. Solo EDT.
+ */
+public class EstelaIncremental {
+
+    private final Color colorOpaco;
+    private final BasicStroke trazo;
+    private final AlphaComposite opacidad;
+
+    private BufferedImage imagen;
+    private Graphics2D lapiz; // abierto mientras dure la imagen
+    private GraphicsConfiguration configuracion;
+    private double escala = 1.0;
+    private int ancho;
+    private int alto;
+
+    private Object fuente;
+    private int puntos;
+    private double ultimoX;
+    private double ultimoY;
+    private final Line2D.Double tramo = new Line2D.Double();
+
+    // Zona de la imagen con tramos (en coordenadas del componente): solo se vuelca esa
+    private int minX, minY, maxX, maxY;
+
+    /**
+     * @param trazo conviene con extremos redondos, para que los tramos empalmen sin muescas
+     */
+    public EstelaIncremental(Color color, BasicStroke trazo) {
+        this.colorOpaco = new Color(color.getRed(), color.getGreen(), color.getBlue());
+        this.trazo = trazo;
+        this.opacidad = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, color.getAlpha() / 255f);
+    }
+
+    /**
+     * Deja la estela lista para llegar al punto hasta-1 de la fuente en el
+     * componente; devuelve cuántos puntos ya están dibujados (desde ese índice
+     * hay que seguir con agregar())
+     */
+    public int preparar(Graphics2D g2d, Component destino, Object fuente, int hasta) {
+        int w = destino.getWidth();
+        int h = destino.getHeight();
+        GraphicsConfiguration pantalla = g2d.getDeviceConfiguration();
+        if (pantalla != configuracion) {
+            // Con HiDPI la imagen va a resolución de dispositivo, como la capa fija del Escenario
+            AffineTransform tx = g2d.getTransform();
+            escala = Math.abs(tx.getScaleX()) > 0 ? Math.abs(tx.getScaleX()) : 1.0;
+            configuracion = pantalla;
+            liberar();
+        }
+        if (imagen == null || w != ancho || h != alto) {
+            crearImagen(destino, w, h);
+        } else if (fuente != this.fuente || hasta < puntos) {
+            vaciar();
+        }
+        this.fuente = fuente;
+        return puntos;
+    }
+
+    /**
+     * Añade el siguiente punto de la estela (coordenadas del componente)
+     */
+    public void agregar(double x, double y) {
+        if (lapiz == null) return;
+        if (puntos > 0) {
+            tramo.setLine(ultimoX, ultimoY, x, y);
+            lapiz.draw(tramo);
+        }
+        int margen = (int) Math.ceil(trazo.getLineWidth()) + 1;
+        if (puntos == 0) {
+            minX = (int) x - margen;
+            minY = (int) y - margen;
+            maxX = (int) x + margen;
+            maxY = (int) y + margen;
+        } else {
+            minX = Math.min(minX, (int) x - margen);
+            minY = Math.min(minY, (int) y - margen);
+            maxX = Math.max(maxX, (int) x + margen);
+            maxY = Math.max(maxY, (int) y + margen);
+        }
+        ultimoX = x;
+        ultimoY = y;
+        puntos++;
+    }
+
+    /**
+     * Vuelca en g2d la parte de la imagen que tiene tramos
+     */
+    public void dibujar(Graphics2D g2d) {
+        if (imagen == null || puntos < 2) return;
+        int x1 = Math.max(0, minX);
+        int y1 = Math.max(0, minY);
+        int x2 = Math.min(ancho, maxX);
+        int y2 = Math.min(alto, maxY);
+        if (x1 >= x2 || y1 >= y2) return;
+
+        Composite anterior = g2d.getComposite();
+        g2d.setComposite(opacidad);
+        g2d.drawImage(imagen, x1, y1, x2, y2,
+                      (int) (x1 * escala), (int) (y1 * escala),
+                      (int) Math.ceil(x2 * escala), (int) Math.ceil(y2 * escala), null);
+        g2d.setComposite(anterior);
+    }
+
+    /**
+     * Último punto añadido (para unir la estela con la posición actual)
+     */
+    public double getUltimoX() { return ultimoX; }
+    public double getUltimoY() { return ultimoY; }
+    public int getPuntos() { return puntos; }
+
+    /**
+     * Borra los tramos; el próximo preparar() empieza desde el primer punto
+     */
+    public void vaciar() {
+        puntos = 0;
+        if (lapiz != null) {
+            Composite anterior = lapiz.getComposite();
+            lapiz.setComposite(AlphaComposite.Clear);
+            lapiz.fillRect(0, 0, ancho, alto);
+            lapiz.setComposite(anterior);
+        }
+    }
+
+    /**
+     * Suelta la imagen (al cerrar la pantalla); se vuelve a crear si hace falta
+     */
+    public void liberar() {
+        if (lapiz != null) {
+            lapiz.dispose();
+            lapiz = null;
+        }
+        imagen = null;
+        fuente = null;
+        puntos = 0;
+    }
+
+    private void crearImagen(Component destino, int w, int h) {
+        liberar();
+        ancho = w;
+        alto = h;
+        if (w <= 0 || h <= 0) return;
+
+        int anchoPx = (int) Math.ceil(w * escala);
+        int altoPx = (int) Math.ceil(h * escala);
+        GraphicsConfiguration gc = destino.getGraphicsConfiguration();
+        imagen = gc != null ? gc.createCompatibleImage(anchoPx, altoPx, Transparency.TRANSLUCENT)
+                            : new BufferedImage(anchoPx, altoPx, BufferedImage.TYPE_INT_ARGB);
+        lapiz = imagen.createGraphics();
+        lapiz.scale(escala, escala);
+        lapiz.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        lapiz.setColor(colorOpaco);
+        lapiz.setStroke(trazo);
+    }
+}
@@ -0,0 +1,66 @@
+package com.mycompany.fisicalab.core;
+
+import com.mycompany.fisicalab.fisica.ModeloFisico;
+
+/**
+ * Estado inmutable de una escena en un paso de física
+ * La física crea uno nuevo por paso y lo publica con Escenario.publicar();
+ * el pintado lee una sola referencia y dibuja con ella todo el fotograma,
+ * así nunca mezcla valores de dos pasos ni espera al hilo de física.
+ * Guarda también la posición del paso anterior para interpolar.
+ */
+public final class Fotograma {
+
+    public static final Fotograma REPOSO = new Fotograma(0, 0, 0, 0, 0, 0, 0, false);
+
+    private final double tiempo;
+    private final double posX;
+    private final double posY;
+    private final double velX;
+    private final double velY;
+    private final double posXAnterior;
+    private final double posYAnterior;
+    private final boolean terminado; // impacto, suelo o meta
+
+    public Fotograma(double tiempo, double posX, double posY, double velX, double velY,
+                     double posXAnterior, double posYAnterior, boolean terminado) {
+        this.tiempo = tiempo;
+        this.posX = posX;
+        this.posY = posY;
+        this.velX = velX;
+        this.velY = velY;
+        this.posXAnterior = posXAnterior;
+        this.posYAnterior = posYAnterior;
+        this.terminado = terminado;
+    }
+
+    /**
+     * Estado sin paso previo (reinicio, instante revisado): no hay nada que interpolar
+     */
+    public static Fotograma fijo(double tiempo, double posX, double posY, double velX, double velY,
+                                 boolean terminado) {
+        return new Fotograma(tiempo, posX, posY, velX, velY, posX, posY, terminado);
+    }
+
+    public static Fotograma fijo(ModeloFisico modelo, boolean terminado) {
+        return fijo(modelo.getTiempo(), modelo.getPosX(), modelo.getPosY(),
+                    modelo.getVelX(), modelo.getVelY(), terminado);
+    }
+
+    /**
+     * Paso siguiente a este: su posición pasa a ser la anterior
+     */
+    public Fotograma siguiente(ModeloFisico modelo, boolean terminado) {
+        return new Fotograma(modelo.getTiempo(), modelo.getPosX(), modelo.getPosY(),
+                             modelo.getVelX(), modelo.getVelY(), posX, posY, terminado);
+    }
+
+    public double getTiempo() { return tiempo; }
+    public double getPosX() { return posX; }
+    public double getPosY() { return posY; }
+    public double getVelX() { return velX; }
+    public double getVelY() { return velY; }
+    public double getPosXAnterior() { return posXAnterior; }
+    public double getPosYAnterior() { return posYAnterior; }
+    public boolean isTerminado() { return terminado; }
+}
@@ -1,63 +1,258 @@
 package com.mycompany.fisicalab.core;
 
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+import com.mycompany.fisicalab.fisica.EvaluadorIntegradores;
+import com.mycompany.fisicalab.fisica.InformeIntegrador;
+import com.mycompany.fisicalab.fisica.Integrador;
+import com.mycompany.fisicalab.utils.UIHelper;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import javax.swing.Timer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
 
 /**
  * Motor de simulación física
  * Gestiona el tiempo y los cálculos físicos básicos
+ * 
+ * Admite dos modos de ejecución:
+ * - iniciar(): la física en el EDT, en los fotogramas del PlanificadorFotogramas
+ * - iniciarPasoFijo(): paso de tiempo fijo en un hilo propio, con acumulador
+ *   basado en System.nanoTime e interpolación para el renderizado
+ * 
+ * La escala de tiempo (cámara lenta o rápida) no cambia el paso de la
+ * física: solo cuánto tiempo simulado se acumula por tiempo real, y se
+ * ejecutan tantos pasos de deltaTime como toque. El resultado es el mismo
+ * a cualquier velocidad de reproducción.
+ * 
+ * Si un paso lanza una excepción el motor se detiene y avisa una sola vez:
+ * repetir el mismo paso fallido en cada fotograma no lo arreglaría.
  */
 public class MotorSimulacion {
     
-    private Timer timer;
-    private double tiempoTranscurrido; // en segundos
-    private double deltaTime; // intervalo de tiempo en segundos
-    private boolean enEjecucion;
+    // Frecuencia con la que el hilo de física despierta y pide un repintado (~60 fps)
+    private static final long PERIODO_FOTOGRAMA_MS = 16;
+    // Límite del acumulador para no entrar en espiral si el equipo se queda atrás
+    private static final long MAX_ACUMULADO_NS = TimeUnit.MILLISECONDS.toNanos(250);
     
-    // Constantes físicas (modificables)
-    private static double gravedad = 9.8; // m/s²
+    public static final double ESCALA_MINIMA = 0.1;
+    public static final double ESCALA_MAXIMA = 100.0;
+    
+    // Hilo compartido por todos los motores en modo de paso fijo
+    private static final ScheduledExecutorService PLANIFICADOR_FISICA =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "FisicaLab-Fisica");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    
+    private PlanificadorFotogramas.Suscripcion suscripcionTimer;
+    private volatile ScheduledFuture<?> tareaPasoFijo;
+    private volatile boolean modoPasoFijo;
+    private volatile double tiempoTranscurrido; // en segundos
+    private volatile double deltaTime; // intervalo de tiempo en segundos
+    private volatile boolean enEjecucion;
+    private volatile double escalaTiempo = 1.0; // segundos simulados por segundo real
+    
+    // Estado del modo de paso fijo (solo lo toca el hilo de física)
+    private long pasosEjecutados;
+    private double tiempoBase;
+    private long acumuladorNs;
+    private long ultimoInstanteNs;
+    
+    // Estado del modo Timer (solo lo toca el EDT)
+    private double acumuladoTimer; // tiempo simulado pendiente
+    private long ultimoInstanteTimerNs;
+    private ActionListener actualizacionTimer;
+    private JComponent propietario; // el modo Timer solo avanza mientras se ve
+    private volatile double alfaInterpolacion = 1.0;
+    private ActionListener actualizacionPasoFijo;
+    private Runnable renderizadoPasoFijo;
+    
+    // Integrador numérico para los modelos (null = fórmulas cerradas)
+    private Integrador integrador;
+    
+    // Constantes físicas de esta ejecución (inmutables, una por motor)
+    private final ContextoFisico contexto;
     
     public MotorSimulacion(int intervaloMs) {
+        this(intervaloMs, ContextoFisico.TIERRA);
+    }
+    
+    public MotorSimulacion(int intervaloMs, ContextoFisico contexto) {
+        this.contexto = contexto;
         setIntervalMs(intervaloMs);
         this.tiempoTranscurrido = 0.0;
         this.enEjecucion = false;
     }
     
     public void setIntervalMs(int intervaloMs) {
+        // El tiempo ya simulado pasa a ser la nueva base del reloj de paso fijo
+        this.tiempoBase = tiempoTranscurrido;
+        this.pasosEjecutados = 0;
         this.deltaTime = intervaloMs / 1000.0; // convertir ms a segundos
-        if (timer != null && timer.isRunning()) {
-            timer.setDelay(intervaloMs);
-        }
     }
     
-    // Getters y setters para gravedad
-    public static double getGravedad() {
-        return gravedad;
+    /**
+     * Vista de la simulación: en modo Timer la física se pausa mientras no
+     * está en pantalla (null = avanza siempre)
+     */
+    public void setPropietario(JComponent propietario) {
+        this.propietario = propietario;
     }
     
-    public static void setGravedad(double g) {
-        gravedad = g;
+    /**
+     * Constantes físicas con las que corre esta simulación
+     */
+    public ContextoFisico getContexto() {
+        return contexto;
     }
     
-    public static void resetGravedad() {
-        gravedad = 9.8;
+    public double getGravedad() {
+        return contexto.getGravedad();
+    }
+    
+    /**
+     * Cámara lenta o rápida (se acota entre ESCALA_MINIMA y ESCALA_MAXIMA);
+     * puede cambiarse en plena ejecución
+     */
+    public void setEscalaTiempo(double escala) {
+        this.escalaTiempo = Math.max(ESCALA_MINIMA, Math.min(escala, ESCALA_MAXIMA));
+    }
+    
+    public double getEscalaTiempo() {
+        return escalaTiempo;
     }
     
     public void iniciar(ActionListener actualizacion) {
-        if (timer != null) {
-            timer.stop();
-        }
+        detener();
         
         tiempoTranscurrido = 0.0;
+        alfaInterpolacion = 1.0;
+        modoPasoFijo = false;
         enEjecucion = true;
+        actualizacionTimer = actualizacion;
+        programarTimer();
+    }
+    
+    private void programarTimer() {
+        acumuladoTimer = 0.0;
+        ultimoInstanteTimerNs = System.nanoTime();
+        ActionListener actualizacion = actualizacionTimer;
+        ActionEvent evento = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "paso");
+        suscripcionTimer = PlanificadorFotogramas.getInstancia()
+            .registrar(propietario, 0, () -> avanzarTimer(actualizacion, evento));
+    }
+    
+    private void avanzarTimer(ActionListener actualizacion, ActionEvent evento) {
+        long ahora = System.nanoTime();
+        long transcurrido = Math.min(ahora - ultimoInstanteTimerNs, MAX_ACUMULADO_NS);
+        ultimoInstanteTimerNs = ahora;
+        if (!enEjecucion) return;
         
-        timer = new Timer((int)(deltaTime * 1000), e -> {
-            if (enEjecucion) {
+        // Cada fotograma aporta el tiempo real transcurrido por la escala, repartido en pasos enteros
+        double escala = escalaTiempo;
+        acumuladoTimer = Math.min(acumuladoTimer + transcurrido / 1e9 * escala,
+                                  MAX_ACUMULADO_NS / 1e9 * Math.max(1.0, escala));
+        // El margen absorbe el redondeo de la suma
+        try {
+            while (enEjecucion && acumuladoTimer >= deltaTime * (1 - 1e-9)) {
                 tiempoTranscurrido += deltaTime;
-                actualizacion.actionPerformed(e);
+                actualizacion.actionPerformed(evento);
+                acumuladoTimer -= deltaTime;
             }
-        });
-        timer.start();
+        } catch (RuntimeException e) {
+            fallar(e);
+        }
+    }
+    
+    /**
+     * Inicia el motor en modo de paso fijo sobre un hilo dedicado.
+     * La física avanza siempre en pasos exactos de deltaTime, sin importar
+     * lo ocupado que esté el EDT; el renderizado se solicita una vez por
+     * fotograma y puede interpolar con getAlfaInterpolacion().
+     * 
+     * @param actualizacion se ejecuta en el hilo de física, una vez por paso
+     * @param renderizado se ejecuta tras cada fotograma (p. ej. repaint), puede ser null
+     */
+    public void iniciarPasoFijo(ActionListener actualizacion, Runnable renderizado) {
+        detener();
+        
+        tiempoTranscurrido = 0.0;
+        tiempoBase = 0.0;
+        pasosEjecutados = 0;
+        alfaInterpolacion = 0.0;
+        modoPasoFijo = true;
+        enEjecucion = true;
+        actualizacionPasoFijo = actualizacion;
+        renderizadoPasoFijo = renderizado;
+        programarPasoFijo();
+    }
+    
+    private void programarPasoFijo() {
+        acumuladorNs = 0;
+        ultimoInstanteNs = System.nanoTime();
+        ActionListener actualizacion = actualizacionPasoFijo;
+        Runnable renderizado = renderizadoPasoFijo;
+        ActionEvent evento = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "paso");
+        tareaPasoFijo = PLANIFICADOR_FISICA.scheduleAtFixedRate(
+            () -> avanzarPasoFijo(actualizacion, renderizado, evento),
+            0, PERIODO_FOTOGRAMA_MS, TimeUnit.MILLISECONDS);
+        DetectorFugas.alta(this, "MotorSimulacion de paso fijo");
+    }
+    
+    private void avanzarPasoFijo(ActionListener actualizacion, Runnable renderizado, ActionEvent evento) {
+        try {
+            long ahora = System.nanoTime();
+            long transcurrido = ahora - ultimoInstanteNs;
+            ultimoInstanteNs = ahora;
+            
+            if (enEjecucion) {
+                // El límite se aplica al tiempo real; la escala decide cuánto tiempo simulado representa
+                // (en cámara lenta se mantiene el de escala 1 para que siempre quepa un paso)
+                double escala = escalaTiempo;
+                transcurrido = Math.min(transcurrido, MAX_ACUMULADO_NS);
+                acumuladorNs = Math.min(acumuladorNs + Math.round(transcurrido * escala),
+                                        Math.round(MAX_ACUMULADO_NS * Math.max(1.0, escala)));
+                long pasoNs = Math.max(1, Math.round(deltaTime * 1e9));
+                
+                while (enEjecucion && acumuladorNs >= pasoNs) {
+                    pasosEjecutados++;
+                    // Multiplicar en lugar de sumar evita la deriva por redondeo
+                    tiempoTranscurrido = tiempoBase + pasosEjecutados * deltaTime;
+                    actualizacion.actionPerformed(evento);
+                    acumuladorNs -= pasoNs;
+                }
+                alfaInterpolacion = Math.min(1.0, (double) acumuladorNs / pasoNs);
+            }
+            
+            if (renderizado != null) {
+                renderizado.run();
+            }
+        } catch (RuntimeException e) {
+            // Sin capturarla, la tarea programada se cancelaría en silencio
+            fallar(e);
+        }
+    }
+    
+    /**
+     * Detiene el motor tras una excepción de la física y la notifica una vez:
+     * por la consola y, si la simulación está en pantalla, con un diálogo
+     */
+    private void fallar(RuntimeException e) {
+        detener();
+        e.printStackTrace();
+        JComponent vista = propietario;
+        if (vista != null) {
+            SwingUtilities.invokeLater(() -> {
+                if (vista.isShowing()) {
+                    UIHelper.mostrarError(vista, "La simulación se ha detenido por un error:\n" + e);
+                }
+            });
+        }
     }
     
     public void pausar() {
@@ -66,21 +261,73 @@ public class MotorSimulacion {
     
     public void reanudar() {
         enEjecucion = true;
+        // Tras detener() (p. ej. al rebobinar una ejecución ya terminada) hay que volver a programar el reloj
+        if (modoPasoFijo) {
+            if (tareaPasoFijo == null && actualizacionPasoFijo != null) {
+                programarPasoFijo();
+            }
+        } else if (suscripcionTimer == null && actualizacionTimer != null) {
+            programarTimer();
+        }
     }
     
     public void detener() {
-        if (timer != null) {
-            timer.stop();
-            enEjecucion = false;
+        if (suscripcionTimer != null) {
+            suscripcionTimer.cancelar();
+            suscripcionTimer = null;
+        }
+        if (tareaPasoFijo != null) {
+            tareaPasoFijo.cancel(false);
+            tareaPasoFijo = null;
+            DetectorFugas.baja(this);
         }
+        enEjecucion = false;
+    }
+    
+    /**
+     * Lleva el reloj a un instante ya simulado (al rebobinar); con el motor
+     * en pausa, al reanudar se sigue desde ahí
+     */
+    public void posicionar(double tiempo) {
+        tiempoTranscurrido = tiempo;
+        tiempoBase = tiempo;
+        pasosEjecutados = 0;
+        acumuladorNs = 0;
+        acumuladoTimer = 0.0;
     }
     
     public void reiniciar() {
         tiempoTranscurrido = 0.0;
+        tiempoBase = 0.0;
+        pasosEjecutados = 0;
         enEjecucion = false;
     }
     
-    // Cálculos de cinemática
+    // Integración numérica
+    
+    /**
+     * Integrador que usarán los modelos de esta simulación
+     * (null para usar las fórmulas cerradas)
+     */
+    public void setIntegrador(Integrador integrador) {
+        this.integrador = integrador;
+    }
+    
+    public Integrador getIntegrador() {
+        return integrador;
+    }
+    
+    /**
+     * Mide el coste por paso y el error frente a la fórmula cerrada de un
+     * integrador en un tiro parabólico, usando el paso de tiempo de este motor
+     */
+    public InformeIntegrador evaluarIntegrador(Integrador integrador, double velocidadInicial,
+                                               double angulo, double alturaInicial, double gravedad) {
+        return EvaluadorIntegradores.evaluar(integrador, velocidadInicial, angulo,
+                                             alturaInicial, gravedad, deltaTime);
+    }
+    
+    // Cálculos de cinemática (versiones por lotes en fisica.CinematicaLotes)
     
     /**
      * Calcula posición en MRU: x = x0 + v*t
@@ -112,9 +359,9 @@ public class MotorSimulacion {
     }
     
     /**
-     * Calcula componente vertical en tiro parabólico
+     * Calcula componente vertical en tiro parabólico: y = y0 + vy*t - (1/2)*g*t²
      */
-    public static double calcularPosicionVertical(double y0, double velocidadY, double tiempo) {
+    public static double calcularPosicionVertical(double y0, double velocidadY, double gravedad, double tiempo) {
         return y0 + velocidadY * tiempo - 0.5 * gravedad * tiempo * tiempo;
     }
     
@@ -130,4 +377,16 @@ public class MotorSimulacion {
     public boolean isEnEjecucion() {
         return enEjecucion;
     }
+    
+    public boolean isPasoFijo() {
+        return modoPasoFijo;
+    }
+    
+    /**
+     * Fracción (0 a 1) del siguiente paso ya transcurrida en tiempo real.
+     * En modo Timer siempre vale 1 (se dibuja el último estado calculado).
+     */
+    public double getAlfaInterpolacion() {
+        return alfaInterpolacion;
+    }
 }
@@ -0,0 +1,243 @@
+package com.mycompany.fisicalab.core;
+
+import java.awt.Container;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JComponent;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Reloj de fotogramas único de la aplicación
+ * Sustituye a los Timer de Swing sueltos de cada pantalla: los componentes
+ * se suscriben con una tarea y un periodo, y un solo Timer las ejecuta en el
+ * EDT. Una suscripción solo corre mientras su componente se ve en pantalla;
+ * si ninguna puede correr, el Timer se para hasta que alguna vuelva a verse.
+ * Los repintados pedidos desde cualquier hilo se agrupan: cada componente se
+ * repinta como mucho una vez por fotograma. Las presentaciones (dibujo
+ * activo) corren al final de cada fotograma, tras las demás tareas.
+ * SimuladorFrame cancela las suscripciones de la pantalla que sustituye, y
+ * cada suscripción viva cuenta como reloj en el DetectorFugas.
+ */
+public final class PlanificadorFotogramas {
+
+    // ~60 fps
+    public static final int PERIODO_MS = 16;
+    // Una tarea corre en el fotograma más cercano a su hora, aunque caiga algo antes
+    private static final long MARGEN_NS = TimeUnit.MILLISECONDS.toNanos(PERIODO_MS) / 2;
+
+    private static final PlanificadorFotogramas INSTANCIA = new PlanificadorFotogramas();
+
+    private final Timer timer;
+    private final List<Suscripcion> suscripciones = new ArrayList<>(); // solo EDT
+    private final Set<JComponent> repintadosPendientes = ConcurrentHashMap.newKeySet();
+    private volatile boolean hayCanceladas;
+
+    // Reactiva el reloj cuando un componente suscrito vuelve a mostrarse
+    private final HierarchyListener oyenteVisibilidad = e -> {
+        if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+            actualizarTimer();
+        }
+    };
+
+    private PlanificadorFotogramas() {
+        timer = new Timer(PERIODO_MS, e -> fotograma());
+        timer.setCoalesce(true);
+    }
+
+    public static PlanificadorFotogramas getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Ejecuta una tarea en el EDT cada periodoMs (redondeado al fotograma)
+     * mientras el componente esté en pantalla (llamar desde el EDT)
+     *
+     * @param componente null para una tarea que no depende de ninguna vista;
+     *                   esa solo termina con Suscripcion.cancelar()
+     * @param periodoMs 0 para ejecutarla en todos los fotogramas
+     */
+    public Suscripcion registrar(JComponent componente, int periodoMs, Runnable tarea) {
+        return registrar(componente, periodoMs, tarea, false);
+    }
+    
+    /**
+     * Dibuja y vuelca el componente en cada fotograma mientras esté en
+     * pantalla, después de las demás tareas: cada fotograma muestra el
+     * estado que la física acaba de dejar en ese mismo fotograma
+     */
+    public Suscripcion registrarPresentacion(JComponent componente, Runnable presentar) {
+        return registrar(componente, 0, presentar, true);
+    }
+    
+    private Suscripcion registrar(JComponent componente, int periodoMs, Runnable tarea, boolean presentacion) {
+        Suscripcion s = new Suscripcion(componente, periodoMs, tarea, presentacion);
+        suscripciones.add(s);
+        DetectorFugas.alta(s, componente != null ? "fotogramas de " + componente.getClass().getName()
+                                                 : "fotogramas sin vista");
+        if (componente != null) {
+            componente.addHierarchyListener(oyenteVisibilidad);
+        }
+        actualizarTimer();
+        return s;
+    }
+
+    /**
+     * Repinta el componente en cada fotograma mientras esté en pantalla
+     */
+    public Suscripcion registrarRepintado(JComponent componente) {
+        return registrar(componente, 0, componente::repaint);
+    }
+
+    /**
+     * Pide un repintado para el próximo fotograma (desde cualquier hilo);
+     * varias peticiones del mismo componente cuentan como una
+     */
+    public void solicitarRepintado(JComponent componente) {
+        if (repintadosPendientes.add(componente) && !timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Cancela las suscripciones de un contenedor y de todo lo que contiene
+     * (al quitar una pantalla; llamar desde el EDT)
+     */
+    public void cancelarDentroDe(Container contenedor) {
+        for (Suscripcion s : suscripciones) {
+            if (s.componente != null && (s.componente == contenedor
+                                         || SwingUtilities.isDescendingFrom(s.componente, contenedor))) {
+                s.cancelar();
+            }
+        }
+        limpiarCanceladas();
+        actualizarTimer();
+    }
+
+    /**
+     * Suscripciones vigentes (en pantalla o no)
+     */
+    public int getSuscripciones() {
+        int n = 0;
+        for (Suscripcion s : suscripciones) {
+            if (!s.cancelada) n++;
+        }
+        return n;
+    }
+
+    private void fotograma() {
+        long ahora = System.nanoTime();
+        // Por índice: una tarea puede registrar otra durante el recorrido
+        int n = suscripciones.size();
+        for (int pase = 0; pase < 2; pase++) {
+            boolean presentaciones = pase == 1;
+            for (int i = 0; i < n; i++) {
+                Suscripcion s = suscripciones.get(i);
+                if (s.presentacion != presentaciones) continue;
+                if (s.cancelada || !s.puedeCorrer() || ahora < s.siguienteNs - MARGEN_NS) continue;
+                // Sumar el periodo mantiene la frecuencia media; si se quedó atrás (estuvo
+                // oculta o el EDT iba lento) no intenta recuperar las ejecuciones perdidas
+                s.siguienteNs = ahora - s.siguienteNs > s.periodoNs ? ahora + s.periodoNs
+                                                                    : s.siguienteNs + s.periodoNs;
+                try {
+                    s.tarea.run();
+                } catch (RuntimeException e) {
+                    // Un fallo en una pantalla no debe parar el reloj de las demás
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        Iterator<JComponent> it = repintadosPendientes.iterator();
+        while (it.hasNext()) {
+            JComponent c = it.next();
+            it.remove();
+            if (c.isShowing()) {
+                c.repaint();
+            }
+        }
+
+        limpiarCanceladas();
+        actualizarTimer();
+    }
+
+    private void limpiarCanceladas() {
+        if (!hayCanceladas) return;
+        hayCanceladas = false;
+        Iterator<Suscripcion> it = suscripciones.iterator();
+        while (it.hasNext()) {
+            Suscripcion s = it.next();
+            if (s.cancelada) {
+                it.remove();
+                if (s.componente != null) {
+                    s.componente.removeHierarchyListener(oyenteVisibilidad);
+                }
+            }
+        }
+    }
+
+    private void actualizarTimer() {
+        boolean necesario = !repintadosPendientes.isEmpty();
+        for (int i = 0; i < suscripciones.size() && !necesario; i++) {
+            Suscripcion s = suscripciones.get(i);
+            necesario = !s.cancelada && s.puedeCorrer();
+        }
+        if (necesario && !timer.isRunning()) {
+            timer.start();
+        } else if (!necesario && timer.isRunning()) {
+            timer.stop();
+            // Un repintado pedido desde otro hilo justo antes de parar vio el Timer en marcha
+            if (!repintadosPendientes.isEmpty()) {
+                timer.start();
+            }
+        }
+    }
+
+    /**
+     * Tarea registrada en el planificador
+     */
+    public final class Suscripcion {
+        private final JComponent componente;
+        private final long periodoNs;
+        private final Runnable tarea;
+        private final boolean presentacion;
+        private long siguienteNs;
+        private volatile boolean cancelada;
+
+        private Suscripcion(JComponent componente, int periodoMs, Runnable tarea, boolean presentacion) {
+            this.componente = componente;
+            this.periodoNs = TimeUnit.MILLISECONDS.toNanos(Math.max(0, periodoMs));
+            this.tarea = tarea;
+            this.presentacion = presentacion;
+            this.siguienteNs = System.nanoTime();
+        }
+
+        private boolean puedeCorrer() {
+            return componente == null || componente.isShowing();
+        }
+
+        /**
+         * Deja de ejecutar la tarea (desde cualquier hilo; efectiva en el
+         * próximo fotograma como tarde)
+         */
+        public void cancelar() {
+            cancelada = true;
+            hayCanceladas = true;
+            DetectorFugas.baja(this);
+        }
+
+        public boolean isCancelada() {
+            return cancelada;
+        }
+
+        public JComponent getComponente() {
+            return componente;
+        }
+    }
+}
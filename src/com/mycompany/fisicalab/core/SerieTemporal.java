@@ -0,0 +1,236 @@
+package com.mycompany.fisicalab.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serie (tiempo, valor) que la física va ampliando y el pintado lee sin bloqueos
+ * Solo se añade al final: los elementos ya publicados no se vuelven a
+ * escribir, así que cada Vista publicada sigue siendo válida aunque la serie
+ * crezca. Vaciar, recortar o compactar usa arrays nuevos por el mismo motivo.
+ * Un solo escritor a la vez.
+ * 
+ * La serie está acotada: al llenarse se compacta a la mitad de puntos con
+ * LTTB (Largest-Triangle-Three-Buckets), que conserva la forma de la curva.
+ * Cubre siempre todo el intervalo de tiempo, con menos detalle cuanto más
+ * dura. Vista.submuestrear() reduce igual los puntos a dibujar.
+ */
+public class SerieTemporal {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    public static final int CAPACIDAD_MAXIMA_POR_DEFECTO = 4096;
+
+    private final int capacidadMaxima;
+    private double[] tiempos;
+    private double[] valores;
+    private int tamano;
+    private double maxTiempo;
+    private double minValor;
+    private double maxValor;
+    private final AtomicReference<Vista> vista;
+
+    public SerieTemporal() {
+        this(CAPACIDAD_MAXIMA_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidadMaxima puntos que se guardan como mucho (al menos 4)
+     */
+    public SerieTemporal(int capacidadMaxima) {
+        if (capacidadMaxima < 4) {
+            throw new IllegalArgumentException("La capacidad máxima debe ser al menos 4: " + capacidadMaxima);
+        }
+        this.capacidadMaxima = capacidadMaxima;
+        tiempos = new double[capacidadInicial()];
+        valores = new double[tiempos.length];
+        vista = new AtomicReference<>(new Vista(tiempos, valores, 0, 0, 0, 0));
+    }
+
+    public void agregar(double t, double valor) {
+        if (tamano == tiempos.length) {
+            if (tamano >= capacidadMaxima) {
+                compactar();
+            } else {
+                int capacidad = Math.min(tamano * 2, capacidadMaxima);
+                tiempos = Arrays.copyOf(tiempos, capacidad);
+                valores = Arrays.copyOf(valores, capacidad);
+            }
+        }
+        tiempos[tamano] = t;
+        valores[tamano] = valor;
+        if (tamano == 0) {
+            minValor = valor;
+            maxValor = valor;
+        } else {
+            minValor = Math.min(minValor, valor);
+            maxValor = Math.max(maxValor, valor);
+        }
+        maxTiempo = Math.max(maxTiempo, t);
+        tamano++;
+        publicar();
+    }
+
+    /**
+     * Vacía la serie; los límites parten del valor inicial dado
+     */
+    public void limpiar(double valorInicial) {
+        tiempos = new double[capacidadInicial()];
+        valores = new double[tiempos.length];
+        tamano = 0;
+        maxTiempo = 0;
+        minValor = valorInicial;
+        maxValor = valorInicial;
+        publicar();
+    }
+
+    /**
+     * Descarta los puntos posteriores a t (al rebobinar)
+     */
+    public void recortar(double t) {
+        int n = 0;
+        while (n < tamano && tiempos[n] <= t) n++;
+        // Copia: alguna vista anterior aún puede estar leyendo los puntos que se descartan
+        tiempos = Arrays.copyOf(tiempos, Math.min(Math.max(n * 2, capacidadInicial()), capacidadMaxima));
+        valores = Arrays.copyOf(valores, tiempos.length);
+        tamano = n;
+        maxTiempo = n > 0 ? tiempos[n - 1] : 0;
+        for (int i = 0; i < n; i++) {
+            minValor = i == 0 ? valores[0] : Math.min(minValor, valores[i]);
+            maxValor = i == 0 ? valores[0] : Math.max(maxValor, valores[i]);
+        }
+        publicar();
+    }
+
+    /**
+     * Deja la mitad de los puntos (con LTTB) en arrays nuevos; los límites
+     * no cambian, siguen siendo los de todos los puntos añadidos
+     */
+    private void compactar() {
+        int[] indices = new int[capacidadMaxima / 2];
+        int n = lttb(tiempos, valores, tamano, indices.length, indices);
+        double[] t = new double[capacidadMaxima];
+        double[] v = new double[capacidadMaxima];
+        for (int i = 0; i < n; i++) {
+            t[i] = tiempos[indices[i]];
+            v[i] = valores[indices[i]];
+        }
+        tiempos = t;
+        valores = v;
+        tamano = n;
+    }
+
+    private int capacidadInicial() {
+        return Math.min(CAPACIDAD_INICIAL, capacidadMaxima);
+    }
+
+    private void publicar() {
+        vista.set(new Vista(tiempos, valores, tamano, maxTiempo, minValor, maxValor));
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: elige como mucho umbral de los n primeros
+     * puntos, siempre el primero y el último, y en cada tramo intermedio el que
+     * forma el triángulo de mayor área con el elegido antes y la media del
+     * tramo siguiente. Deja los índices en orden en indices y devuelve cuántos.
+     */
+    private static int lttb(double[] x, double[] y, int n, int umbral, int[] indices) {
+        if (n <= umbral) {
+            for (int i = 0; i < n; i++) {
+                indices[i] = i;
+            }
+            return n;
+        }
+        if (umbral < 3) {
+            indices[0] = 0;
+            if (umbral == 1) return 1;
+            indices[1] = n - 1;
+            return 2;
+        }
+
+        // Los extremos van aparte: los n - 2 puntos intermedios se reparten en umbral - 2 tramos
+        double tramo = (double) (n - 2) / (umbral - 2);
+        int k = 0;
+        int elegido = 0;
+        indices[k++] = 0;
+        for (int b = 0; b < umbral - 2; b++) {
+            // Media del tramo siguiente (el último punto si este es el último tramo)
+            int inicioSig = (int) ((b + 1) * tramo) + 1;
+            int finSig = Math.min((int) ((b + 2) * tramo) + 1, n);
+            double mediaX = 0;
+            double mediaY = 0;
+            for (int j = inicioSig; j < finSig; j++) {
+                mediaX += x[j];
+                mediaY += y[j];
+            }
+            int cuenta = finSig - inicioSig;
+            mediaX /= cuenta;
+            mediaY /= cuenta;
+
+            int inicio = (int) (b * tramo) + 1;
+            int fin = (int) ((b + 1) * tramo) + 1;
+            double ax = x[elegido];
+            double ay = y[elegido];
+            double mayorArea = -1;
+            int mejor = inicio;
+            for (int j = inicio; j < fin; j++) {
+                // Doble del área del triángulo (elegido, j, media siguiente)
+                double area = Math.abs((ax - mediaX) * (y[j] - ay) - (ax - x[j]) * (mediaY - ay));
+                if (area > mayorArea) {
+                    mayorArea = area;
+                    mejor = j;
+                }
+            }
+            indices[k++] = mejor;
+            elegido = mejor;
+        }
+        indices[k++] = n - 1;
+        return k;
+    }
+
+    /**
+     * Última versión publicada (desde cualquier hilo)
+     */
+    public Vista getVista() {
+        return vista.get();
+    }
+
+    /**
+     * Foto inmutable de la serie: los primeros getTamano() elementos de los arrays
+     */
+    public static final class Vista {
+        private final double[] tiempos;
+        private final double[] valores;
+        private final int tamano;
+        private final double maxTiempo;
+        private final double minValor;
+        private final double maxValor;
+
+        private Vista(double[] tiempos, double[] valores, int tamano,
+                      double maxTiempo, double minValor, double maxValor) {
+            this.tiempos = tiempos;
+            this.valores = valores;
+            this.tamano = tamano;
+            this.maxTiempo = maxTiempo;
+            this.minValor = minValor;
+            this.maxValor = maxValor;
+        }
+
+        public int getTamano() { return tamano; }
+        public double getTiempo(int i) { return tiempos[i]; }
+        public double getValor(int i) { return valores[i]; }
+        public double getMaxTiempo() { return maxTiempo; }
+        public double getMinValor() { return minValor; }
+        public double getMaxValor() { return maxValor; }
+
+        /**
+         * Índices de como mucho umbral puntos que conservan la forma de la
+         * serie (LTTB), para dibujarla con un coste que no depende de su
+         * longitud; indices debe tener sitio para umbral. Sin reservar memoria.
+         *
+         * @return cuántos índices se han escrito
+         */
+        public int submuestrear(int umbral, int[] indices) {
+            return lttb(tiempos, valores, tamano, umbral, indices);
+        }
+    }
+}
@@ -34,18 +34,36 @@ public class SimuladorFrame extends JFrame {
     }
     
     public void mostrarMenuPrincipal() {
-        getContentPane().removeAll();
-        MenuPrincipal menu = new MenuPrincipal(this);
-        setContentPane(menu);
-        revalidate();
-        repaint();
+        cambiarPantalla(new MenuPrincipal(this));
     }
     
     public void mostrarSimulacion(JPanel simulacion) {
-        getContentPane().removeAll();
-        setContentPane(simulacion);
+        cambiarPantalla(simulacion);
+    }
+    
+    /**
+     * Cierra la pantalla actual y abre una sesión nueva con la siguiente
+     * Lo que siga corriendo de la pantalla cerrada se avisa como fuga.
+     */
+    private void cambiarPantalla(JPanel nueva) {
+        Container anterior = getContentPane();
+        if (anterior instanceof CicloVida) {
+            ((CicloVida) anterior).alOcultar();
+        }
+        PlanificadorFotogramas.getInstancia().cancelarDentroDe(anterior);
+        if (anterior instanceof CicloVida) {
+            ((CicloVida) anterior).liberar();
+        }
+        anterior.removeAll();
+        
+        DetectorFugas.abrirSesion(nueva.getClass().getSimpleName());
+        setContentPane(nueva);
         revalidate();
         repaint();
+        if (nueva instanceof CicloVida) {
+            ((CicloVida) nueva).alMostrar();
+        }
+        DetectorFugas.comprobar();
     }
     
     public static void main(String[] args) {
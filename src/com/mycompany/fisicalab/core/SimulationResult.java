@@ -1,5 +1,7 @@
 package com.mycompany.fisicalab.core;
 
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+
 /**
  * Clase que encapsula los resultados de una simulación.
  * Esto permite pasar múltiples valores (tiempo, posición, velocidad, etc.)
@@ -9,13 +11,20 @@ public class SimulationResult {
     private double finalTime;
     private double finalPosition;
     private double averageVelocity;
+    private ContextoFisico contexto; // constantes físicas con las que se simuló
     // Puedes añadir más campos según sea necesario para otras simulaciones
     // Por ejemplo: finalHeight, maxVelocity, etc.
 
     public SimulationResult(double finalTime, double finalPosition, double averageVelocity) {
+        this(finalTime, finalPosition, averageVelocity, ContextoFisico.TIERRA);
+    }
+
+    public SimulationResult(double finalTime, double finalPosition, double averageVelocity,
+                            ContextoFisico contexto) {
         this.finalTime = finalTime;
         this.finalPosition = finalPosition;
         this.averageVelocity = averageVelocity;
+        this.contexto = contexto;
     }
 
     public double getFinalTime() {
@@ -29,4 +38,8 @@ public class SimulationResult {
     public double getAverageVelocity() {
         return averageVelocity;
     }
+
+    public ContextoFisico getContexto() {
+        return contexto;
+    }
 }
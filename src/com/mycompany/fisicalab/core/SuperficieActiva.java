@@ -0,0 +1,55 @@
+package com.mycompany.fisicalab.core;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Canvas con BufferStrategy para el dibujo activo de un Escenario
+ * El planificador de fotogramas llama a presentar() en cada fotograma: pinta
+ * el fotograma completo en el búfer trasero y lo vuelca en ese momento, sin
+ * pasar por el RepaintManager. No toma el foco, para que los atajos de
+ * teclado de la simulación (WHEN_IN_FOCUSED_WINDOW) sigan llegando a Swing.
+ */
+final class SuperficieActiva extends Canvas {
+
+    private static final int BUFERES = 2;
+
+    private final Escenario escenario;
+
+    SuperficieActiva(Escenario escenario) {
+        this.escenario = escenario;
+        // Los repintados del sistema se ignoran: el siguiente fotograma los cubre
+        setIgnoreRepaint(true);
+        setFocusable(false);
+        setBackground(escenario.getBackground());
+    }
+
+    /**
+     * Dibuja y vuelca un fotograma (en el EDT)
+     */
+    void presentar() {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) return;
+
+        BufferStrategy estrategia = getBufferStrategy();
+        if (estrategia == null) {
+            createBufferStrategy(BUFERES);
+            estrategia = getBufferStrategy();
+        }
+        // Si el sistema descarta la memoria de vídeo a mitad, se repite el fotograma
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) estrategia.getDrawGraphics();
+                try {
+                    escenario.renderizar(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (estrategia.contentsRestored());
+            estrategia.show();
+        } while (estrategia.contentsLost());
+        // En X11 el volcado espera en la cola del servidor; sync() lo envía ya
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
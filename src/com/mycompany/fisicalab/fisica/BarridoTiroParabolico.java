@@ -0,0 +1,139 @@
+package com.mycompany.fisicalab.fisica;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Barrido de parámetros del tiro parabólico
+ * Evalúa alcance, tiempo de vuelo y altura máxima sobre toda la rejilla
+ * velocidad × ángulo × altura × gravedad en un ForkJoinPool, con la fórmula
+ * cerrada y sin crear objetos por punto. Sirve para generar hojas de
+ * respuestas y curvas de dificultad de las misiones.
+ */
+public final class BarridoTiroParabolico {
+
+    // Puntos por tarea: por debajo de esto no compensa dividir
+    private static final int UMBRAL_SECUENCIAL = 2048;
+
+    /**
+     * Rango equiespaciado [inicio, fin] con un número fijo de valores
+     */
+    public static final class Rango {
+        private final double inicio;
+        private final double fin;
+        private final int valores;
+
+        public Rango(double inicio, double fin, int valores) {
+            if (valores < 1) {
+                throw new IllegalArgumentException("El rango necesita al menos un valor: " + valores);
+            }
+            this.inicio = inicio;
+            this.fin = fin;
+            this.valores = valores;
+        }
+
+        public static Rango fijo(double valor) {
+            return new Rango(valor, valor, 1);
+        }
+
+        public double valor(int i) {
+            return valores == 1 ? inicio : inicio + (fin - inicio) * i / (valores - 1);
+        }
+
+        public int getValores() { return valores; }
+        public double getInicio() { return inicio; }
+        public double getFin() { return fin; }
+    }
+
+    private BarridoTiroParabolico() {
+    }
+
+    public static ResultadoBarrido ejecutar(Rango velocidades, Rango angulos,
+                                            Rango alturas, Rango gravedades) {
+        return ejecutar(velocidades, angulos, alturas, gravedades, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evalúa toda la rejilla en el pool indicado
+     *
+     * @param velocidades velocidad inicial en m/s
+     * @param angulos ángulo de lanzamiento en grados
+     * @param alturas altura inicial en metros (no negativa)
+     * @param gravedades gravedad en m/s² (positiva)
+     */
+    public static ResultadoBarrido ejecutar(Rango velocidades, Rango angulos, Rango alturas,
+                                            Rango gravedades, ForkJoinPool pool) {
+        if (Math.min(gravedades.getInicio(), gravedades.getFin()) <= 0) {
+            throw new IllegalArgumentException("La gravedad del barrido debe ser positiva");
+        }
+        if (Math.min(alturas.getInicio(), alturas.getFin()) < 0) {
+            throw new IllegalArgumentException("La altura inicial del barrido no puede ser negativa");
+        }
+        long total = (long) velocidades.getValores() * angulos.getValores()
+                   * alturas.getValores() * gravedades.getValores();
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Rejilla demasiado grande: " + total + " puntos");
+        }
+
+        ResultadoBarrido resultado = new ResultadoBarrido(velocidades, angulos, alturas, gravedades);
+        pool.invoke(new TareaBarrido(resultado, 0, (int) total));
+        return resultado;
+    }
+
+    /**
+     * Divide el índice plano de la rejilla en mitades hasta el umbral
+     */
+    private static final class TareaBarrido extends RecursiveAction {
+        private final ResultadoBarrido r;
+        private final int desde;
+        private final int hasta;
+
+        TareaBarrido(ResultadoBarrido r, int desde, int hasta) {
+            this.r = r;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_SECUENCIAL) {
+                calcular(r, desde, hasta);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new TareaBarrido(r, desde, medio), new TareaBarrido(r, medio, hasta));
+        }
+    }
+
+    private static void calcular(ResultadoBarrido r, int desde, int hasta) {
+        int nA = r.getAngulos().getValores();
+        int nH = r.getAlturas().getValores();
+        int nG = r.getGravedades().getValores();
+        double[] alcance = r.alcance;
+        double[] tiempoVuelo = r.tiempoVuelo;
+        double[] alturaMaxima = r.alturaMaxima;
+
+        for (int i = desde; i < hasta; i++) {
+            // Índice plano -> (velocidad, ángulo, altura, gravedad), la gravedad varía más rápido
+            int resto = i;
+            int iG = resto % nG; resto /= nG;
+            int iH = resto % nH; resto /= nH;
+            int iA = resto % nA; resto /= nA;
+            int iV = resto;
+
+            double v0 = r.getVelocidades().valor(iV);
+            double rad = Math.toRadians(r.getAngulos().valor(iA));
+            double h0 = r.getAlturas().valor(iH);
+            double g = r.getGravedades().valor(iG);
+
+            double vx = v0 * Math.cos(rad);
+            double vy = v0 * Math.sin(rad);
+            // Raíz positiva de h0 + vy·t - ½gt² = 0
+            double t = (vy + Math.sqrt(vy * vy + 2 * g * h0)) / g;
+
+            tiempoVuelo[i] = t;
+            alcance[i] = vx * t;
+            alturaMaxima[i] = vy > 0 ? h0 + vy * vy / (2 * g) : h0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Historial circular de los últimos instantes de una simulación, para
+ * poder volver atrás
+ * Capacidad fija decidida al crearlo (40 bytes por instante): cuando se
+ * llena, cada muestra nueva pisa la más antigua. Los arrays se reservan una
+ * sola vez, así que agregar y leer no crean objetos.
+ */
+public class BufferRebobinado {
+
+    public static final int BYTES_POR_INSTANTE = 5 * 8;
+
+    private final int capacidad;
+    private final double[] tiempos;
+    private final double[] posX;
+    private final double[] posY;
+    private final double[] velX;
+    private final double[] velY;
+    private int inicio; // posición física de la muestra más antigua
+    private int tamano;
+
+    public BufferRebobinado(int capacidad) {
+        if (capacidad < 2) {
+            throw new IllegalArgumentException("El historial necesita al menos dos instantes: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        tiempos = new double[capacidad];
+        posX = new double[capacidad];
+        posY = new double[capacidad];
+        velX = new double[capacidad];
+        velY = new double[capacidad];
+    }
+
+    /**
+     * Capacidad para cubrir una duración con un paso dado
+     */
+    public static int capacidadPara(double segundos, double paso) {
+        return Math.max(2, (int) Math.ceil(segundos / paso) + 1);
+    }
+
+    /**
+     * Añade un instante. Un tiempo anterior al último indica una ejecución
+     * nueva y vacía el historial; uno repetido se ignora.
+     */
+    public void agregar(double t, double x, double y, double vx, double vy) {
+        if (tamano > 0) {
+            double ultimo = tiempos[fisico(tamano - 1)];
+            if (t == ultimo) return;
+            if (t < ultimo) limpiar();
+        }
+        int i;
+        if (tamano < capacidad) {
+            i = fisico(tamano);
+            tamano++;
+        } else {
+            i = inicio;
+            inicio = (inicio + 1) % capacidad;
+        }
+        tiempos[i] = t;
+        posX[i] = x;
+        posY[i] = y;
+        velX[i] = vx;
+        velY[i] = vy;
+    }
+
+    public void agregar(ModeloFisico modelo) {
+        agregar(modelo.getTiempo(), modelo.getPosX(), modelo.getPosY(),
+                modelo.getVelX(), modelo.getVelY());
+    }
+
+    public void limpiar() {
+        inicio = 0;
+        tamano = 0;
+    }
+
+    /**
+     * Descarta los instantes posteriores a t (al continuar desde un punto rebobinado)
+     */
+    public void truncar(double t) {
+        tamano = indiceEnTiempo(t) + 1;
+    }
+
+    /**
+     * Índice lógico (0 = más antiguo) del último instante con tiempo ≤ t,
+     * -1 si t es anterior a todos
+     */
+    public int indiceEnTiempo(double t) {
+        int bajo = 0;
+        int alto = tamano - 1;
+        int encontrado = -1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (tiempos[fisico(medio)] <= t) {
+                encontrado = medio;
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return encontrado;
+    }
+
+    /**
+     * Estado interpolado en el instante t (acotado al historial disponible)
+     *
+     * @param estado recibe x, y, vx, vy
+     * @return el instante realmente leído
+     */
+    public double leer(double t, double[] estado) {
+        if (tamano == 0) {
+            throw new IllegalStateException("El historial está vacío");
+        }
+        t = Math.max(getTiempoInicial(), Math.min(t, getTiempoFinal()));
+        int i = Math.max(0, indiceEnTiempo(t));
+        int a = fisico(i);
+        if (i == tamano - 1) {
+            estado[0] = posX[a];
+            estado[1] = posY[a];
+            estado[2] = velX[a];
+            estado[3] = velY[a];
+            return t;
+        }
+        int b = fisico(i + 1);
+        double f = (t - tiempos[a]) / (tiempos[b] - tiempos[a]);
+        estado[0] = posX[a] + (posX[b] - posX[a]) * f;
+        estado[1] = posY[a] + (posY[b] - posY[a]) * f;
+        estado[2] = velX[a] + (velX[b] - velX[a]) * f;
+        estado[3] = velY[a] + (velY[b] - velY[a]) * f;
+        return t;
+    }
+
+    private int fisico(int logico) {
+        int i = inicio + logico;
+        return i < capacidad ? i : i - capacidad;
+    }
+
+    public int getTamano() { return tamano; }
+    public int getCapacidad() { return capacidad; }
+    public long getBytes() { return (long) BYTES_POR_INSTANTE * capacidad; }
+    public double getTiempoInicial() { return tiempos[inicio]; }
+    public double getTiempoFinal() { return tiempos[fisico(Math.max(0, tamano - 1))]; }
+    public double getTiempo(int i) { return tiempos[fisico(i)]; }
+    public double getPosX(int i) { return posX[fisico(i)]; }
+    public double getPosY(int i) { return posY[fisico(i)]; }
+    public double getVelX(int i) { return velX[fisico(i)]; }
+    public double getVelY(int i) { return velY[fisico(i)]; }
+}
@@ -0,0 +1,193 @@
+package com.mycompany.fisicalab.fisica;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caché LRU de trayectorias calculadas, limitada por memoria
+ * La clave son los parámetros de lanzamiento cuantizados, de modo que
+ * relanzar con los mismos controles, repetir o previsualizar no vuelve a
+ * simular. Las trayectorias guardadas son compartidas: no deben modificarse.
+ * Es segura entre hilos (todos los accesos se sincronizan sobre la caché).
+ */
+public class CacheTrayectorias {
+    
+    // Resolución de la cuantización de cada parámetro
+    public static final double PASO_VELOCIDAD = 0.01; // m/s
+    public static final double PASO_ANGULO = 0.01;    // grados
+    public static final double PASO_ALTURA = 0.01;    // m
+    public static final double PASO_GRAVEDAD = 0.001; // m/s²
+    
+    // Paso con el que se simulan las trayectorias que se guardan
+    public static final double DT_TRAYECTORIA = 0.01;
+    
+    private final long bytesMaximos;
+    private long bytesUsados;
+    private final LinkedHashMap<Clave, ResultadoTrayectoria> entradas =
+        new LinkedHashMap<>(64, 0.75f, true); // orden de acceso = LRU
+    
+    // Métricas
+    private long aciertos;
+    private long fallos;
+    private long expulsiones;
+    
+    public CacheTrayectorias(long bytesMaximos) {
+        if (bytesMaximos <= 0) {
+            throw new IllegalArgumentException("El límite de memoria debe ser positivo: " + bytesMaximos);
+        }
+        this.bytesMaximos = bytesMaximos;
+    }
+    
+    /**
+     * Parámetros de un tiro parabólico, cuantizados
+     */
+    public static final class Clave {
+        private final long velocidad;
+        private final long angulo;
+        private final long altura;
+        private final long gravedad;
+        private final long densidadAire;
+        private final ModeloArrastre arrastre; // null = vacío
+        private final long masa;
+        
+        public Clave(double velocidadInicial, double angulo, double alturaInicial,
+                     ContextoFisico contexto, ModeloArrastre arrastre, double masa) {
+            this.velocidad = Math.round(velocidadInicial / PASO_VELOCIDAD);
+            this.angulo = Math.round(angulo / PASO_ANGULO);
+            this.altura = Math.round(alturaInicial / PASO_ALTURA);
+            this.gravedad = Math.round(contexto.getGravedad() / PASO_GRAVEDAD);
+            this.arrastre = arrastre;
+            // Sin arrastre la densidad y la masa no influyen: no deben separar entradas
+            this.densidadAire = arrastre != null ? Double.doubleToLongBits(contexto.getDensidadAire()) : 0;
+            this.masa = arrastre != null ? Double.doubleToLongBits(masa) : 0;
+        }
+        
+        // Valores representativos de la celda, los que se simulan
+        public double getVelocidadInicial() { return velocidad * PASO_VELOCIDAD; }
+        public double getAngulo() { return angulo * PASO_ANGULO; }
+        public double getAlturaInicial() { return altura * PASO_ALTURA; }
+        public double getGravedad() { return gravedad * PASO_GRAVEDAD; }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Clave)) return false;
+            Clave c = (Clave) o;
+            return velocidad == c.velocidad && angulo == c.angulo && altura == c.altura
+                && gravedad == c.gravedad && densidadAire == c.densidadAire
+                && masa == c.masa && arrastre == c.arrastre;
+        }
+        
+        @Override
+        public int hashCode() {
+            long h = velocidad;
+            h = 31 * h + angulo;
+            h = 31 * h + altura;
+            h = 31 * h + gravedad;
+            h = 31 * h + densidadAire;
+            h = 31 * h + masa;
+            h = 31 * h + System.identityHashCode(arrastre);
+            return Long.hashCode(h);
+        }
+    }
+    
+    /**
+     * Trayectoria de un tiro parabólico; la simula con MotorHeadless si no está
+     * en la caché
+     */
+    public ResultadoTrayectoria obtenerTiro(double velocidadInicial, double angulo, double alturaInicial,
+                                            ContextoFisico contexto, ModeloArrastre arrastre, double masa) {
+        return obtenerTiro(velocidadInicial, angulo, alturaInicial, contexto, arrastre, masa, () -> false);
+    }
+    
+    /**
+     * Como obtenerTiro, pero la simulación se abandona (CancellationException,
+     * sin guardar nada) si cancelado pasa a devolver true
+     */
+    public ResultadoTrayectoria obtenerTiro(double velocidadInicial, double angulo, double alturaInicial,
+                                            ContextoFisico contexto, ModeloArrastre arrastre, double masa,
+                                            BooleanSupplier cancelado) {
+        Clave clave = new Clave(velocidadInicial, angulo, alturaInicial, contexto, arrastre, masa);
+        return obtener(clave, () -> {
+            ContextoFisico ctx = contexto.cambiarGravedad(clave.getGravedad());
+            ModeloTiroParabolico modelo = new ModeloTiroParabolico(
+                clave.getVelocidadInicial(), clave.getAngulo(), clave.getAlturaInicial(), ctx);
+            modelo.setArrastre(arrastre);
+            modelo.setMasa(masa);
+            return MotorHeadless.ejecutar(modelo, DT_TRAYECTORIA, MotorHeadless.TIEMPO_MAXIMO_POR_DEFECTO,
+                                          cancelado);
+        });
+    }
+    
+    /**
+     * Devuelve la entrada de la clave o la calcula y la guarda
+     * El cálculo se hace fuera del bloqueo; si dos hilos fallan a la vez con
+     * la misma clave, ambos calculan y se queda el primero.
+     */
+    public ResultadoTrayectoria obtener(Clave clave, Supplier<ResultadoTrayectoria> calculo) {
+        synchronized (this) {
+            ResultadoTrayectoria r = entradas.get(clave);
+            if (r != null) {
+                aciertos++;
+                return r;
+            }
+            fallos++;
+        }
+        
+        ResultadoTrayectoria nuevo = calculo.get();
+        nuevo.getTrayectoria().recortar();
+        
+        synchronized (this) {
+            ResultadoTrayectoria existente = entradas.get(clave);
+            if (existente != null) {
+                return existente;
+            }
+            long bytes = nuevo.getTrayectoria().getBytes();
+            if (bytes > bytesMaximos) {
+                return nuevo; // no cabe ni sola: se devuelve sin guardar
+            }
+            entradas.put(clave, nuevo);
+            bytesUsados += bytes;
+            expulsarHasta(bytesMaximos);
+            return nuevo;
+        }
+    }
+    
+    private void expulsarHasta(long limite) {
+        Iterator<Map.Entry<Clave, ResultadoTrayectoria>> it = entradas.entrySet().iterator();
+        while (bytesUsados > limite && it.hasNext()) {
+            Map.Entry<Clave, ResultadoTrayectoria> masAntigua = it.next();
+            bytesUsados -= masAntigua.getValue().getTrayectoria().getBytes();
+            it.remove();
+            expulsiones++;
+        }
+    }
+    
+    public synchronized void limpiar() {
+        entradas.clear();
+        bytesUsados = 0;
+    }
+    
+    // Métricas
+    public synchronized long getAciertos() { return aciertos; }
+    public synchronized long getFallos() { return fallos; }
+    public synchronized long getExpulsiones() { return expulsiones; }
+    public synchronized int getEntradas() { return entradas.size(); }
+    public synchronized long getBytesUsados() { return bytesUsados; }
+    public long getBytesMaximos() { return bytesMaximos; }
+    
+    public synchronized double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total > 0 ? (double) aciertos / total : 0;
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("CacheTrayectorias[%d entradas, %.1f/%.1f KB, aciertos %d, fallos %d (%.0f%%), expulsiones %d]",
+                             entradas.size(), bytesUsados / 1024.0, bytesMaximos / 1024.0,
+                             aciertos, fallos, getTasaAciertos() * 100, expulsiones);
+    }
+}
@@ -0,0 +1,11 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Aceleración que actúa sobre un cuerpo en función de su estado
+ * El estado es {x, y, vx, vy}; la salida es {ax, ay}.
+ */
+@FunctionalInterface
+public interface CampoAceleracion {
+    
+    void calcular(double tiempo, double[] estado, double[] aceleracion);
+}
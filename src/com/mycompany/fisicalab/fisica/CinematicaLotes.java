@@ -0,0 +1,133 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Versiones por lotes de las fórmulas cinemáticas de MotorSimulacion
+ * Reciben arrays y escriben en un array de salida (que puede ser uno de los
+ * de entrada). Los bucles son sencillos a propósito: sin ramas, sin
+ * llamadas y con accesos consecutivos, para que el compilador JIT los
+ * convierta en instrucciones SIMD con el ancho que tenga la máquina.
+ *
+ * Hay dos formas de cada fórmula: elemento a elemento (un movimiento por
+ * posición del array) y sobre un array de tiempos con parámetros fijos
+ * (muestrear un mismo movimiento).
+ */
+public final class CinematicaLotes {
+
+    private CinematicaLotes() {
+    }
+
+    /**
+     * x = x0 + v·t, elemento a elemento
+     */
+    public static void posicionMRU(double[] posicionInicial, double[] velocidad, double[] tiempo,
+                                   double[] salida) {
+        int n = comprobar(salida, posicionInicial, velocidad, tiempo);
+        for (int i = 0; i < n; i++) {
+            salida[i] = posicionInicial[i] + velocidad[i] * tiempo[i];
+        }
+    }
+
+    /**
+     * x = x0 + v·t para cada instante del array
+     */
+    public static void posicionMRU(double posicionInicial, double velocidad, double[] tiempo,
+                                   double[] salida) {
+        int n = comprobar(salida, tiempo);
+        for (int i = 0; i < n; i++) {
+            salida[i] = posicionInicial + velocidad * tiempo[i];
+        }
+    }
+
+    /**
+     * x = x0 + v0·t + ½·a·t², elemento a elemento
+     */
+    public static void posicionMRUV(double[] posicionInicial, double[] velocidadInicial,
+                                    double[] aceleracion, double[] tiempo, double[] salida) {
+        int n = comprobar(salida, posicionInicial, velocidadInicial, aceleracion, tiempo);
+        for (int i = 0; i < n; i++) {
+            double t = tiempo[i];
+            salida[i] = posicionInicial[i] + velocidadInicial[i] * t + 0.5 * aceleracion[i] * t * t;
+        }
+    }
+
+    /**
+     * x = x0 + v0·t + ½·a·t² para cada instante del array
+     */
+    public static void posicionMRUV(double posicionInicial, double velocidadInicial, double aceleracion,
+                                    double[] tiempo, double[] salida) {
+        int n = comprobar(salida, tiempo);
+        double mitadA = 0.5 * aceleracion;
+        for (int i = 0; i < n; i++) {
+            double t = tiempo[i];
+            salida[i] = posicionInicial + velocidadInicial * t + mitadA * t * t;
+        }
+    }
+
+    /**
+     * v = v0 + a·t, elemento a elemento
+     */
+    public static void velocidadMRUV(double[] velocidadInicial, double[] aceleracion, double[] tiempo,
+                                     double[] salida) {
+        int n = comprobar(salida, velocidadInicial, aceleracion, tiempo);
+        for (int i = 0; i < n; i++) {
+            salida[i] = velocidadInicial[i] + aceleracion[i] * tiempo[i];
+        }
+    }
+
+    /**
+     * v = v0 + a·t para cada instante del array
+     */
+    public static void velocidadMRUV(double velocidadInicial, double aceleracion, double[] tiempo,
+                                     double[] salida) {
+        int n = comprobar(salida, tiempo);
+        for (int i = 0; i < n; i++) {
+            salida[i] = velocidadInicial + aceleracion * tiempo[i];
+        }
+    }
+
+    /**
+     * Componente horizontal del tiro parabólico: x = x0 + vx·t (igual que MRU)
+     */
+    public static void posicionHorizontal(double[] x0, double[] velocidadX, double[] tiempo, double[] salida) {
+        posicionMRU(x0, velocidadX, tiempo, salida);
+    }
+
+    public static void posicionHorizontal(double x0, double velocidadX, double[] tiempo, double[] salida) {
+        posicionMRU(x0, velocidadX, tiempo, salida);
+    }
+
+    /**
+     * Componente vertical del tiro parabólico: y = y0 + vy·t - ½·g·t², elemento a elemento
+     */
+    public static void posicionVertical(double[] y0, double[] velocidadY, double gravedad, double[] tiempo,
+                                        double[] salida) {
+        int n = comprobar(salida, y0, velocidadY, tiempo);
+        double mitadG = 0.5 * gravedad;
+        for (int i = 0; i < n; i++) {
+            double t = tiempo[i];
+            salida[i] = y0[i] + velocidadY[i] * t - mitadG * t * t;
+        }
+    }
+
+    /**
+     * y = y0 + vy·t - ½·g·t² para cada instante del array
+     */
+    public static void posicionVertical(double y0, double velocidadY, double gravedad, double[] tiempo,
+                                        double[] salida) {
+        posicionMRUV(y0, velocidadY, -gravedad, tiempo, salida);
+    }
+
+    /**
+     * Todos los arrays deben tener la longitud de la salida
+     */
+    private static int comprobar(double[] salida, double[]... entradas) {
+        int n = salida.length;
+        for (double[] entrada : entradas) {
+            if (entrada.length != n) {
+                throw new IllegalArgumentException("Longitudes distintas: salida " + n
+                                                   + ", entrada " + entrada.length);
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,77 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Constantes físicas de una ejecución (gravedad, densidad del aire...)
+ * Es inmutable: cada simulación recibe el suyo y pueden ejecutarse varias
+ * a la vez, en distintos hilos, sin interferir entre ellas.
+ */
+public final class ContextoFisico {
+    
+    public static final double GRAVEDAD_TIERRA = 9.8;          // m/s²
+    public static final double DENSIDAD_AIRE_NIVEL_MAR = 1.225; // kg/m³
+    
+    public static final ContextoFisico TIERRA =
+        new ContextoFisico(GRAVEDAD_TIERRA, DENSIDAD_AIRE_NIVEL_MAR);
+    
+    private final double gravedad;
+    private final double densidadAire;
+    
+    public ContextoFisico(double gravedad, double densidadAire) {
+        if (gravedad <= 0 || Double.isNaN(gravedad) || Double.isInfinite(gravedad)) {
+            throw new IllegalArgumentException("La gravedad debe ser positiva: " + gravedad);
+        }
+        if (densidadAire < 0 || Double.isNaN(densidadAire) || Double.isInfinite(densidadAire)) {
+            throw new IllegalArgumentException("La densidad del aire no puede ser negativa: " + densidadAire);
+        }
+        this.gravedad = gravedad;
+        this.densidadAire = densidadAire;
+    }
+    
+    /**
+     * Contexto terrestre con otra gravedad (Luna, Marte...)
+     */
+    public static ContextoFisico conGravedad(double gravedad) {
+        return gravedad == GRAVEDAD_TIERRA ? TIERRA : new ContextoFisico(gravedad, DENSIDAD_AIRE_NIVEL_MAR);
+    }
+    
+    /**
+     * Copia de este contexto con otra gravedad
+     */
+    public ContextoFisico cambiarGravedad(double gravedad) {
+        return new ContextoFisico(gravedad, densidadAire);
+    }
+    
+    /**
+     * Copia de este contexto con otra densidad del aire (0 = vacío)
+     */
+    public ContextoFisico cambiarDensidadAire(double densidadAire) {
+        return new ContextoFisico(gravedad, densidadAire);
+    }
+    
+    public double getGravedad() {
+        return gravedad;
+    }
+    
+    public double getDensidadAire() {
+        return densidadAire;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ContextoFisico)) return false;
+        ContextoFisico otro = (ContextoFisico) o;
+        return Double.compare(gravedad, otro.gravedad) == 0
+            && Double.compare(densidadAire, otro.densidadAire) == 0;
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(gravedad) + Double.hashCode(densidadAire);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("g=%.2f m/s², ρ aire=%.3f kg/m³", gravedad, densidadAire);
+    }
+}
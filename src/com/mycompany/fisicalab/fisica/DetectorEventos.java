@@ -0,0 +1,75 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Localización exacta de cruces entre dos pasos de simulación
+ * Cuando existe fórmula cerrada se usa la raíz analítica; si el movimiento
+ * se integra numéricamente, se acota el cruce entre el paso anterior y el
+ * actual y se refina con regula falsi (variante Illinois).
+ */
+public final class DetectorEventos {
+    
+    // Precisión temporal del cruce (s); muy por debajo de cualquier tick
+    public static final double TOLERANCIA_TIEMPO = 1e-9;
+    private static final int MAX_ITERACIONES = 60;
+    
+    /**
+     * Función escalar del tiempo cuyo cambio de signo marca el evento
+     */
+    @FunctionalInterface
+    public interface Funcion {
+        double valor(double t);
+    }
+    
+    private DetectorEventos() {
+    }
+    
+    /**
+     * Primer instante t > 0 en que y0 + vy0·t - ½g·t² = 0
+     * 
+     * @return tiempo de impacto, o infinito si nunca llega al suelo
+     */
+    public static double tiempoImpacto(double y0, double vy0, double gravedad) {
+        if (gravedad <= 0) {
+            return vy0 < 0 ? -y0 / vy0 : Double.POSITIVE_INFINITY;
+        }
+        double discriminante = vy0 * vy0 + 2 * gravedad * y0;
+        if (discriminante < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.max(0, (vy0 + Math.sqrt(discriminante)) / gravedad);
+    }
+    
+    /**
+     * Raíz de f en [a, b] sabiendo que f(a) y f(b) tienen signos opuestos
+     * (o que f(b) es 0)
+     */
+    public static double buscarCruce(Funcion f, double a, double fa, double b, double fb) {
+        if (fb == 0) return b;
+        if (fa == 0) return a;
+        if (Math.signum(fa) == Math.signum(fb)) {
+            throw new IllegalArgumentException("El intervalo no contiene un cruce: f(" + a + ")="
+                                               + fa + ", f(" + b + ")=" + fb);
+        }
+        
+        int ladoRepetido = 0;
+        double c = b;
+        for (int i = 0; i < MAX_ITERACIONES && (b - a) > TOLERANCIA_TIEMPO; i++) {
+            c = (a * fb - b * fa) / (fb - fa);
+            double fc = f.valor(c);
+            if (fc == 0) return c;
+            
+            if (Math.signum(fc) == Math.signum(fb)) {
+                b = c;
+                fb = fc;
+                if (ladoRepetido == -1) fa *= 0.5; // Illinois: evita que un extremo se quede fijo
+                ladoRepetido = -1;
+            } else {
+                a = c;
+                fa = fc;
+                if (ladoRepetido == 1) fb *= 0.5;
+                ladoRepetido = 1;
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,111 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Mide el coste por paso y el error de los integradores usando como
+ * referencia la fórmula cerrada del tiro parabólico en el vacío.
+ * Sirve para elegir el integrador más barato que cumple una tolerancia
+ * antes de añadir fuerzas sin solución analítica.
+ */
+public final class EvaluadorIntegradores {
+    
+    // Pasos mínimos cronometrados para que la medida de tiempo sea estable
+    private static final int PASOS_MINIMOS_CRONOMETRO = 200_000;
+    
+    private EvaluadorIntegradores() {
+    }
+    
+    /**
+     * Integra un tiro parabólico completo y lo compara con la solución exacta
+     */
+    public static InformeIntegrador evaluar(Integrador integrador, double velocidadInicial, double angulo,
+                                            double alturaInicial, double gravedad, double dt) {
+        if (dt <= 0) {
+            throw new IllegalArgumentException("El paso de tiempo debe ser positivo: " + dt);
+        }
+        
+        double rad = Math.toRadians(angulo);
+        double vx0 = velocidadInicial * Math.cos(rad);
+        double vy0 = velocidadInicial * Math.sin(rad);
+        double tiempoVuelo = (vy0 + Math.sqrt(vy0 * vy0 + 2 * gravedad * alturaInicial)) / gravedad;
+        int pasos = Math.max(1, (int) Math.ceil(tiempoVuelo / dt));
+        
+        CampoAceleracion campo = (t, s, a) -> {
+            a[0] = 0;
+            a[1] = -gravedad;
+        };
+        double[] estado = new double[4];
+        
+        // 1) Cronometrar solo la integración, repitiendo el vuelo varias veces
+        //    (la primera ronda sirve de calentamiento para el JIT y se descarta)
+        int repeticiones = Math.max(1, PASOS_MINIMOS_CRONOMETRO / pasos);
+        double nanosPorPaso = 0;
+        for (int ronda = 0; ronda < 2; ronda++) {
+            long inicio = System.nanoTime();
+            for (int r = 0; r < repeticiones; r++) {
+                estado[0] = 0;
+                estado[1] = alturaInicial;
+                estado[2] = vx0;
+                estado[3] = vy0;
+                for (int k = 0; k < pasos; k++) {
+                    integrador.paso(k * dt, estado, dt, campo);
+                }
+            }
+            nanosPorPaso = (double) (System.nanoTime() - inicio) / ((long) repeticiones * pasos);
+        }
+        
+        // 2) Medir el error paso a paso frente a la fórmula cerrada
+        estado[0] = 0;
+        estado[1] = alturaInicial;
+        estado[2] = vx0;
+        estado[3] = vy0;
+        double errorMaxPos = 0;
+        double errorMaxVel = 0;
+        double errorPos = 0;
+        for (int k = 0; k < pasos; k++) {
+            integrador.paso(k * dt, estado, dt, campo);
+            double t = (k + 1) * dt;
+            double x = vx0 * t;
+            double y = alturaInicial + vy0 * t - 0.5 * gravedad * t * t;
+            double vy = vy0 - gravedad * t;
+            
+            errorPos = Math.hypot(estado[0] - x, estado[1] - y);
+            double errorVel = Math.hypot(estado[2] - vx0, estado[3] - vy);
+            errorMaxPos = Math.max(errorMaxPos, errorPos);
+            errorMaxVel = Math.max(errorMaxVel, errorVel);
+        }
+        
+        return new InformeIntegrador(integrador.getNombre(), dt, pasos, nanosPorPaso,
+                                     errorMaxPos, errorPos, errorMaxVel);
+    }
+    
+    /**
+     * Evalúa todos los integradores disponibles con los mismos parámetros
+     */
+    public static InformeIntegrador[] compararTodos(double velocidadInicial, double angulo,
+                                                    double alturaInicial, double gravedad, double dt) {
+        Integrador[] integradores = Integradores.todos();
+        InformeIntegrador[] informes = new InformeIntegrador[integradores.length];
+        for (int i = 0; i < integradores.length; i++) {
+            informes[i] = evaluar(integradores[i], velocidadInicial, angulo, alturaInicial, gravedad, dt);
+        }
+        return informes;
+    }
+    
+    /**
+     * Devuelve el integrador con menor coste por paso cuyo error máximo de
+     * posición no supera la tolerancia, o null si ninguno la cumple
+     */
+    public static Integrador elegirMasBarato(double tolerancia, double velocidadInicial, double angulo,
+                                             double alturaInicial, double gravedad, double dt) {
+        Integrador mejor = null;
+        double menorCoste = Double.MAX_VALUE;
+        for (Integrador integrador : Integradores.todos()) {
+            InformeIntegrador informe = evaluar(integrador, velocidadInicial, angulo, alturaInicial, gravedad, dt);
+            if (informe.getErrorMaximoPosicion() <= tolerancia && informe.getNanosPorPaso() < menorCoste) {
+                menorCoste = informe.getNanosPorPaso();
+                mejor = integrador;
+            }
+        }
+        return mejor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Suceso discreto de una simulación (impacto, meta alcanzada...)
+ * Se detecta en el instante exacto en que ocurre, no en el tick en que se
+ * descubre, así que el resultado no depende de la frecuencia del motor.
+ */
+public final class EventoFisico {
+    
+    public enum Tipo {
+        IMPACTO_SUELO,   // y cruza 0 bajando
+        META_ALCANZADA,  // MRU recorre la distancia objetivo
+        TIEMPO_AGOTADO   // MRU llega al tiempo límite
+    }
+    
+    private final Tipo tipo;
+    private final double tiempo;
+    private final double posX;
+    private final double posY;
+    private final double velX;
+    private final double velY;
+    
+    public EventoFisico(Tipo tipo, double tiempo, double posX, double posY, double velX, double velY) {
+        this.tipo = tipo;
+        this.tiempo = tiempo;
+        this.posX = posX;
+        this.posY = posY;
+        this.velX = velX;
+        this.velY = velY;
+    }
+    
+    public Tipo getTipo() { return tipo; }
+    public double getTiempo() { return tiempo; }
+    public double getPosX() { return posX; }
+    public double getPosY() { return posY; }
+    public double getVelX() { return velX; }
+    public double getVelY() { return velY; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s en t=%.4f s (x=%.3f, y=%.3f)", tipo, tiempo, posX, posY);
+    }
+}
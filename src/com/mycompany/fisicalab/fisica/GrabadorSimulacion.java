@@ -0,0 +1,123 @@
+package com.mycompany.fisicalab.fisica;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Graba el estado de cada tick (tiempo, posición y velocidad) en un formato
+ * binario compacto para reproducirlo después sin volver a simular
+ *
+ * Cada magnitud se cuantiza a un entero (microsegundos, décimas de
+ * milímetro y décimas de mm/s) y se guarda la segunda diferencia respecto
+ * a las muestras anteriores como varint en zigzag. En un movimiento con
+ * aceleración constante la segunda diferencia es casi nula, así que cada
+ * muestra ocupa del orden de 5 a 10 bytes en lugar de 40.
+ *
+ * Formato del archivo:
+ * <pre>
+ *   int   MAGIA ("FLRG")
+ *   byte  VERSION
+ *   UTF   tipo de simulación
+ *   long  fecha (ms desde 1970)
+ *   int   número de muestras
+ *   int   bytes de datos
+ *   byte[] datos: por muestra, 5 varints (t, x, y, vx, vy)
+ * </pre>
+ */
+public class GrabadorSimulacion {
+
+    static final int MAGIA = 0x464C5247; // "FLRG"
+    static final byte VERSION = 1;
+    static final int CANALES = 5;
+    // Resolución de cada canal: t, x, y, vx, vy
+    static final double[] CUANTOS = { 1e-6, 1e-4, 1e-4, 1e-4, 1e-4 };
+
+    private final String tipo;
+    private final long fecha;
+    private byte[] datos = new byte[256];
+    private int bytes;
+    private int muestras;
+    private double ultimoTiempo;
+
+    // Valor cuantizado y primera diferencia anteriores de cada canal
+    private final long[] anterior = new long[CANALES];
+    private final long[] deltaAnterior = new long[CANALES];
+
+    public GrabadorSimulacion(String tipo) {
+        this.tipo = tipo;
+        this.fecha = System.currentTimeMillis();
+    }
+
+    /**
+     * Añade una muestra; se ignora si no avanza en el tiempo (pausas,
+     * ticks repetidos tras terminar)
+     */
+    public void agregar(double t, double x, double y, double vx, double vy) {
+        if (muestras > 0 && t <= ultimoTiempo) return;
+        ultimoTiempo = t;
+        codificar(0, t);
+        codificar(1, x);
+        codificar(2, y);
+        codificar(3, vx);
+        codificar(4, vy);
+        muestras++;
+    }
+
+    public void agregar(ModeloFisico modelo) {
+        agregar(modelo.getTiempo(), modelo.getPosX(), modelo.getPosY(),
+                modelo.getVelX(), modelo.getVelY());
+    }
+
+    private void codificar(int canal, double valor) {
+        long q = Math.round(valor / CUANTOS[canal]);
+        long delta = q - anterior[canal];
+        long segunda = delta - deltaAnterior[canal];
+        anterior[canal] = q;
+        deltaAnterior[canal] = delta;
+        escribirVarint((segunda << 1) ^ (segunda >> 63)); // zigzag: los negativos pequeños ocupan poco
+    }
+
+    private void escribirVarint(long v) {
+        if (bytes + 10 > datos.length) {
+            datos = Arrays.copyOf(datos, datos.length * 2);
+        }
+        while ((v & ~0x7FL) != 0) {
+            datos[bytes++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        datos[bytes++] = (byte) v;
+    }
+
+    public void escribir(OutputStream salida) throws IOException {
+        DataOutputStream out = new DataOutputStream(salida);
+        out.writeInt(MAGIA);
+        out.writeByte(VERSION);
+        out.writeUTF(tipo);
+        out.writeLong(fecha);
+        out.writeInt(muestras);
+        out.writeInt(bytes);
+        out.write(datos, 0, bytes);
+        out.flush();
+    }
+
+    public void guardar(File archivo) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(archivo))) {
+            escribir(out);
+        }
+    }
+
+    public String getTipo() { return tipo; }
+    public long getFecha() { return fecha; }
+    public int getMuestras() { return muestras; }
+    public double getDuracion() { return muestras > 0 ? ultimoTiempo : 0; }
+
+    /**
+     * Tamaño de los datos codificados (sin la cabecera)
+     */
+    public int getBytes() { return bytes; }
+}
@@ -0,0 +1,43 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Coste y precisión de un integrador medidos en una ejecución
+ * El error se mide frente a la fórmula cerrada del mismo movimiento.
+ */
+public class InformeIntegrador {
+    
+    private final String nombre;
+    private final double dt;
+    private final int pasos;
+    private final double nanosPorPaso;
+    private final double errorMaximoPosicion;
+    private final double errorFinalPosicion;
+    private final double errorMaximoVelocidad;
+    
+    public InformeIntegrador(String nombre, double dt, int pasos, double nanosPorPaso,
+                             double errorMaximoPosicion, double errorFinalPosicion,
+                             double errorMaximoVelocidad) {
+        this.nombre = nombre;
+        this.dt = dt;
+        this.pasos = pasos;
+        this.nanosPorPaso = nanosPorPaso;
+        this.errorMaximoPosicion = errorMaximoPosicion;
+        this.errorFinalPosicion = errorFinalPosicion;
+        this.errorMaximoVelocidad = errorMaximoVelocidad;
+    }
+    
+    public String getNombre() { return nombre; }
+    public double getDt() { return dt; }
+    public int getPasos() { return pasos; }
+    public double getNanosPorPaso() { return nanosPorPaso; }
+    public double getErrorMaximoPosicion() { return errorMaximoPosicion; }
+    public double getErrorFinalPosicion() { return errorFinalPosicion; }
+    public double getErrorMaximoVelocidad() { return errorMaximoVelocidad; }
+    
+    @Override
+    public String toString() {
+        return String.format("%s | dt=%.4f s | %d pasos | %.1f ns/paso | error pos máx %.2e m (final %.2e m) | error vel máx %.2e m/s",
+                             nombre, dt, pasos, nanosPorPaso,
+                             errorMaximoPosicion, errorFinalPosicion, errorMaximoVelocidad);
+    }
+}
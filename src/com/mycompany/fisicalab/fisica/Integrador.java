@@ -0,0 +1,25 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Integrador numérico de las ecuaciones de movimiento
+ * Permite simular fuerzas que no tienen solución cerrada (rozamiento, muelles...).
+ * Las implementaciones reutilizan sus buffers internos, así que una instancia
+ * no debe compartirse entre hilos.
+ */
+public interface Integrador {
+    
+    /**
+     * Avanza el estado {x, y, vx, vy} un paso de tiempo, modificándolo in situ
+     * 
+     * @param tiempo instante al comienzo del paso (s)
+     * @param estado estado del cuerpo, se sobrescribe con el nuevo estado
+     * @param dt duración del paso (s)
+     * @param campo aceleración que actúa sobre el cuerpo
+     */
+    void paso(double tiempo, double[] estado, double dt, CampoAceleracion campo);
+    
+    /**
+     * Nombre legible para informes y menús
+     */
+    String getNombre();
+}
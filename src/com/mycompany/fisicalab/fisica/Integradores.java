@@ -0,0 +1,196 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Integradores disponibles, de más barato a más preciso:
+ * Euler explícito, Euler semi-implícito, Verlet de velocidades y Runge-Kutta 4
+ */
+public final class Integradores {
+    
+    private Integradores() {
+    }
+    
+    public static Integrador eulerExplicito() {
+        return new EulerExplicito();
+    }
+    
+    public static Integrador eulerSemiImplicito() {
+        return new EulerSemiImplicito();
+    }
+    
+    public static Integrador verletVelocidad() {
+        return new VerletVelocidad();
+    }
+    
+    public static Integrador rungeKutta4() {
+        return new RungeKutta4();
+    }
+    
+    /**
+     * Una instancia nueva de cada integrador, ordenadas por coste
+     */
+    public static Integrador[] todos() {
+        return new Integrador[] {
+            eulerExplicito(), eulerSemiImplicito(), verletVelocidad(), rungeKutta4()
+        };
+    }
+    
+    /**
+     * Instancia nueva del integrador con ese nombre (los integradores guardan
+     * buffers propios y no se comparten entre hilos)
+     */
+    public static Integrador porNombre(String nombre) {
+        for (Integrador integrador : todos()) {
+            if (integrador.getNombre().equals(nombre)) {
+                return integrador;
+            }
+        }
+        throw new IllegalArgumentException("Integrador desconocido: " + nombre);
+    }
+    
+    /**
+     * Integra el estado desde un instante hasta otro en pasos de como mucho
+     * pasoMaximo (el último paso se acorta para terminar justo en 'hasta')
+     */
+    public static void integrar(Integrador integrador, CampoAceleracion campo, double[] estado,
+                                double desde, double hasta, double pasoMaximo) {
+        // Con un paso nulo o negativo el bucle no llegaría nunca a 'hasta'
+        validarPaso(pasoMaximo);
+        double t = desde;
+        while (hasta - t > 1e-12) {
+            double h = Math.min(pasoMaximo, hasta - t);
+            integrador.paso(t, estado, h, campo);
+            t += h;
+        }
+    }
+    
+    /**
+     * Comprueba que un paso de integración es positivo y finito
+     */
+    static void validarPaso(double paso) {
+        if (!(paso > 0) || Double.isInfinite(paso)) {
+            throw new IllegalArgumentException("El paso de integración debe ser positivo: " + paso);
+        }
+    }
+    
+    /**
+     * Euler explícito: posición y velocidad con los valores al inicio del paso. Orden 1.
+     */
+    private static class EulerExplicito implements Integrador {
+        private final double[] a = new double[2];
+        
+        @Override
+        public void paso(double tiempo, double[] s, double dt, CampoAceleracion campo) {
+            campo.calcular(tiempo, s, a);
+            s[0] += s[2] * dt;
+            s[1] += s[3] * dt;
+            s[2] += a[0] * dt;
+            s[3] += a[1] * dt;
+        }
+        
+        @Override
+        public String getNombre() {
+            return "Euler explícito";
+        }
+    }
+    
+    /**
+     * Euler semi-implícito (simpléctico): primero la velocidad, luego la posición
+     * con la velocidad nueva. Orden 1 pero conserva mejor la energía.
+     */
+    private static class EulerSemiImplicito implements Integrador {
+        private final double[] a = new double[2];
+        
+        @Override
+        public void paso(double tiempo, double[] s, double dt, CampoAceleracion campo) {
+            campo.calcular(tiempo, s, a);
+            s[2] += a[0] * dt;
+            s[3] += a[1] * dt;
+            s[0] += s[2] * dt;
+            s[1] += s[3] * dt;
+        }
+        
+        @Override
+        public String getNombre() {
+            return "Euler semi-implícito";
+        }
+    }
+    
+    /**
+     * Verlet de velocidades. Orden 2; exacto para aceleración constante.
+     * Con fuerzas que dependen de la velocidad se usa una velocidad predicha.
+     */
+    private static class VerletVelocidad implements Integrador {
+        private final double[] a0 = new double[2];
+        private final double[] a1 = new double[2];
+        private final double[] predicho = new double[4];
+        
+        @Override
+        public void paso(double tiempo, double[] s, double dt, CampoAceleracion campo) {
+            campo.calcular(tiempo, s, a0);
+            predicho[0] = s[0] + s[2] * dt + 0.5 * a0[0] * dt * dt;
+            predicho[1] = s[1] + s[3] * dt + 0.5 * a0[1] * dt * dt;
+            predicho[2] = s[2] + a0[0] * dt;
+            predicho[3] = s[3] + a0[1] * dt;
+            campo.calcular(tiempo + dt, predicho, a1);
+            
+            s[0] = predicho[0];
+            s[1] = predicho[1];
+            s[2] += 0.5 * (a0[0] + a1[0]) * dt;
+            s[3] += 0.5 * (a0[1] + a1[1]) * dt;
+        }
+        
+        @Override
+        public String getNombre() {
+            return "Verlet de velocidades";
+        }
+    }
+    
+    /**
+     * Runge-Kutta clásico de orden 4
+     */
+    private static class RungeKutta4 implements Integrador {
+        private final double[] k1 = new double[2];
+        private final double[] k2 = new double[2];
+        private final double[] k3 = new double[2];
+        private final double[] k4 = new double[2];
+        private final double[] s2 = new double[4];
+        private final double[] s3 = new double[4];
+        private final double[] s4 = new double[4];
+        
+        @Override
+        public void paso(double tiempo, double[] s, double dt, CampoAceleracion campo) {
+            double mitad = 0.5 * dt;
+            
+            campo.calcular(tiempo, s, k1);
+            
+            s2[0] = s[0] + s[2] * mitad;
+            s2[1] = s[1] + s[3] * mitad;
+            s2[2] = s[2] + k1[0] * mitad;
+            s2[3] = s[3] + k1[1] * mitad;
+            campo.calcular(tiempo + mitad, s2, k2);
+            
+            s3[0] = s[0] + s2[2] * mitad;
+            s3[1] = s[1] + s2[3] * mitad;
+            s3[2] = s[2] + k2[0] * mitad;
+            s3[3] = s[3] + k2[1] * mitad;
+            campo.calcular(tiempo + mitad, s3, k3);
+            
+            s4[0] = s[0] + s3[2] * dt;
+            s4[1] = s[1] + s3[3] * dt;
+            s4[2] = s[2] + k3[0] * dt;
+            s4[3] = s[3] + k3[1] * dt;
+            campo.calcular(tiempo + dt, s4, k4);
+            
+            double sexto = dt / 6.0;
+            s[0] += sexto * (s[2] + 2 * s2[2] + 2 * s3[2] + s4[2]);
+            s[1] += sexto * (s[3] + 2 * s2[3] + 2 * s3[3] + s4[3]);
+            s[2] += sexto * (k1[0] + 2 * k2[0] + 2 * k3[0] + k4[0]);
+            s[3] += sexto * (k1[1] + 2 * k2[1] + 2 * k3[1] + k4[1]);
+        }
+        
+        @Override
+        public String getNombre() {
+            return "Runge-Kutta 4";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Resistencia del aire cuadrática: F = ½·ρ·Cd·A·|v|·v, opuesta a la velocidad
+ * Describe la forma del cuerpo (coeficiente y sección); la densidad la pone
+ * el {@link ContextoFisico} y la masa el modelo, así que un mismo arrastre
+ * sirve para objetos de distinto peso y para otros planetas.
+ */
+public final class ModeloArrastre {
+    
+    public static final double CD_ESFERA = 0.47;
+    
+    // Balón de fútbol (radio 11 cm) y bola de 10 cm de radio
+    public static final ModeloArrastre BALON = esfera(0.11);
+    public static final ModeloArrastre ESFERA_10CM = esfera(0.10);
+    
+    private final double coeficiente;  // Cd, adimensional
+    private final double areaSeccion;  // A, m²
+    
+    public ModeloArrastre(double coeficiente, double areaSeccion) {
+        if (coeficiente < 0 || areaSeccion < 0) {
+            throw new IllegalArgumentException("Cd y área deben ser no negativos: Cd=" + coeficiente
+                                               + ", A=" + areaSeccion);
+        }
+        this.coeficiente = coeficiente;
+        this.areaSeccion = areaSeccion;
+    }
+    
+    public static ModeloArrastre esfera(double radio) {
+        return new ModeloArrastre(CD_ESFERA, Math.PI * radio * radio);
+    }
+    
+    /**
+     * k = ρ·Cd·A / (2m), de modo que a = -k·|v|·v. Se calcula una vez por
+     * lanzamiento; el paso de integración solo multiplica.
+     */
+    public double constante(ContextoFisico contexto, double masa) {
+        if (masa <= 0) {
+            throw new IllegalArgumentException("La masa debe ser positiva: " + masa);
+        }
+        return contexto.getDensidadAire() * coeficiente * areaSeccion / (2 * masa);
+    }
+    
+    /**
+     * Velocidad límite de caída: √(g/k) = √(2mg / ρCdA)
+     * 
+     * @return infinito si no hay aire o el cuerpo no ofrece sección
+     */
+    public double velocidadTerminal(ContextoFisico contexto, double masa) {
+        double k = constante(contexto, masa);
+        return k > 0 ? Math.sqrt(contexto.getGravedad() / k) : Double.POSITIVE_INFINITY;
+    }
+    
+    public double getCoeficiente() { return coeficiente; }
+    public double getAreaSeccion() { return areaSeccion; }
+}
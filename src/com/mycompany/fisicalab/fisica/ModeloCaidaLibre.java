@@ -0,0 +1,62 @@
+package com.mycompany.fisicalab.fisica;
+
+import com.mycompany.fisicalab.core.SimulationResult;
+
+/**
+ * Modelo de Caída Libre: y = h0 + v0*t - ½gt², v = v0 - gt
+ * El eje Y apunta hacia arriba y el suelo está en y = 0. Con resistencia
+ * del aire la masa influye y el movimiento se integra numéricamente.
+ */
+public class ModeloCaidaLibre extends ModeloVuelo {
+    
+    private double velocidadInicial; // positiva hacia arriba
+    
+    public ModeloCaidaLibre(double alturaInicial, double velocidadInicial, ContextoFisico contexto) {
+        super(alturaInicial, contexto, 1.0);
+        this.velocidadInicial = velocidadInicial;
+        reiniciar();
+    }
+    
+    @Override
+    protected double velocidadInicialX() {
+        return 0;
+    }
+    
+    @Override
+    protected double velocidadInicialY() {
+        return velocidadInicial;
+    }
+    
+    /**
+     * La posición final que evalúan las misiones es la altura máxima alcanzada
+     * (coincide con la altura de suelta cuando no hay lanzamiento hacia arriba)
+     */
+    @Override
+    public SimulationResult getResultado() {
+        double tiempo = getTiempo();
+        double velocidadMedia = (getPosY() - getAlturaInicial()) / (tiempo > 0 ? tiempo : 1);
+        return new SimulationResult(tiempo, getAlturaMaxima(), velocidadMedia, getContexto());
+    }
+    
+    public double getEnergiaPotencial() {
+        return getMasa() * getGravedad() * Math.max(0, getPosY());
+    }
+    
+    public double getEnergiaCinetica() {
+        double velY = getVelY();
+        return 0.5 * getMasa() * velY * velY;
+    }
+    
+    // Configuración
+    public void setVelocidadInicial(double v0) { this.velocidadInicial = v0; }
+    public double getVelocidadInicial() { return velocidadInicial; }
+    
+    // Estado
+    public boolean isEnSuelo() { return isImpacto(); }
+    
+    /**
+     * El evento de impacto lleva la velocidad con la que llega; después el
+     * objeto queda en reposo
+     */
+    @Override public double getVelY() { return isImpacto() ? 0 : super.getVelY(); }
+}
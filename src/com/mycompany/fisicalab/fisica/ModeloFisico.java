@@ -0,0 +1,51 @@
+package com.mycompany.fisicalab.fisica;
+
+import com.mycompany.fisicalab.core.SimulationResult;
+
+/**
+ * Modelo físico sin interfaz gráfica
+ * Contiene el estado cinemático de una simulación y sabe avanzarlo en el tiempo.
+ * No depende de AWT ni de Swing, así que puede ejecutarse en servidores sin pantalla.
+ */
+public interface ModeloFisico {
+    
+    /**
+     * Vuelve a las condiciones iniciales
+     */
+    void reiniciar();
+    
+    /**
+     * Lleva el modelo al instante indicado (segundos desde el inicio)
+     */
+    void actualizar(double tiempo);
+    
+    /**
+     * Indica si el movimiento terminó (meta alcanzada, impacto, tiempo límite...)
+     */
+    boolean isTerminado();
+    
+    double getTiempo();
+    
+    double getPosX();
+    
+    double getPosY();
+    
+    double getVelX();
+    
+    double getVelY();
+    
+    /**
+     * Registra quién recibe los eventos del modelo (null para ninguno)
+     */
+    void setOyenteEventos(OyenteEventos oyente);
+    
+    /**
+     * Evento que terminó el movimiento, o null si sigue en marcha
+     */
+    EventoFisico getEventoFinal();
+    
+    /**
+     * Resultado en el formato que evalúan las misiones
+     */
+    SimulationResult getResultado();
+}
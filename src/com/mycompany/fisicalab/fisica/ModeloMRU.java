@@ -0,0 +1,107 @@
+package com.mycompany.fisicalab.fisica;
+
+import com.mycompany.fisicalab.core.SimulationResult;
+
+/**
+ * Modelo de Movimiento Rectilíneo Uniforme: x = x0 + v*t
+ */
+public class ModeloMRU implements ModeloFisico {
+    
+    private double posicionInicial;
+    private double velocidad;
+    private double distanciaObjetivo; // 0 = sin meta
+    private double tiempoLimite;      // 0 = sin límite
+    private boolean modoInfinito;
+    
+    private double tiempo;
+    private double posX;
+    private boolean objetivoAlcanzado;
+    private boolean tiempoAgotado;
+    
+    private OyenteEventos oyente;
+    private EventoFisico eventoFinal;
+    
+    public ModeloMRU(double posicionInicial, double velocidad) {
+        this.posicionInicial = posicionInicial;
+        this.velocidad = velocidad;
+        reiniciar();
+    }
+    
+    @Override
+    public void reiniciar() {
+        tiempo = 0;
+        posX = posicionInicial;
+        objetivoAlcanzado = false;
+        tiempoAgotado = false;
+        eventoFinal = null;
+    }
+    
+    @Override
+    public void actualizar(double tiempo) {
+        if (isTerminado()) return;
+        
+        // Instantes exactos de meta y de límite; gana el que llegue antes
+        double tMeta = !modoInfinito && distanciaObjetivo > 0 && velocidad > 0
+                       ? distanciaObjetivo / velocidad : Double.POSITIVE_INFINITY;
+        double tLimite = tiempoLimite > 0 ? tiempoLimite : Double.POSITIVE_INFINITY;
+        
+        EventoFisico.Tipo tipo = null;
+        if (tiempo >= tMeta && tMeta <= tLimite) {
+            tiempo = tMeta;
+            objetivoAlcanzado = true;
+            tipo = EventoFisico.Tipo.META_ALCANZADA;
+        } else if (tiempo >= tLimite) {
+            tiempo = tLimite;
+            tiempoAgotado = true;
+            tipo = EventoFisico.Tipo.TIEMPO_AGOTADO;
+        }
+        
+        this.tiempo = tiempo;
+        posX = posicionInicial + velocidad * tiempo;
+        
+        if (tipo != null) {
+            eventoFinal = new EventoFisico(tipo, tiempo, posX, 0, velocidad, 0);
+            if (oyente != null) {
+                oyente.alOcurrir(eventoFinal);
+            }
+        }
+    }
+    
+    @Override
+    public boolean isTerminado() {
+        return objetivoAlcanzado || tiempoAgotado;
+    }
+    
+    public boolean isObjetivoAlcanzado() {
+        return objetivoAlcanzado;
+    }
+    
+    public boolean isTiempoAgotado() {
+        return tiempoAgotado;
+    }
+    
+    @Override
+    public SimulationResult getResultado() {
+        double velocidadMedia = (posX - posicionInicial) / (tiempo > 0 ? tiempo : 1);
+        return new SimulationResult(tiempo, posX, velocidadMedia);
+    }
+    
+    // Configuración
+    public void setPosicionInicial(double x0) { this.posicionInicial = x0; }
+    public void setVelocidad(double v) { this.velocidad = v; }
+    public void setDistanciaObjetivo(double d) { this.distanciaObjetivo = d; }
+    public void setTiempoLimite(double t) { this.tiempoLimite = t; }
+    public void setModoInfinito(boolean infinito) { this.modoInfinito = infinito; }
+    
+    public double getPosicionInicial() { return posicionInicial; }
+    public double getVelocidad() { return velocidad; }
+    
+    // Estado
+    @Override public double getTiempo() { return tiempo; }
+    @Override public double getPosX() { return posX; }
+    @Override public double getPosY() { return 0; }
+    @Override public double getVelX() { return velocidad; }
+    @Override public double getVelY() { return 0; }
+    @Override public EventoFisico getEventoFinal() { return eventoFinal; }
+    @Override public void setOyenteEventos(OyenteEventos oyente) { this.oyente = oyente; }
+}
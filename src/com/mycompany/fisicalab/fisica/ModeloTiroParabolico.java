@@ -0,0 +1,47 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Modelo de Tiro Parabólico, en el vacío o con resistencia del aire
+ * x = v0·cos(θ)·t, y = h0 + v0·sin(θ)·t - ½gt²
+ */
+public class ModeloTiroParabolico extends ModeloVuelo {
+    
+    private double velocidadInicial;
+    private double angulo; // en grados
+    
+    public ModeloTiroParabolico(double velocidadInicial, double angulo, double alturaInicial,
+                                ContextoFisico contexto) {
+        super(alturaInicial, contexto, 0.45); // kg, solo cuenta con resistencia del aire
+        this.velocidadInicial = velocidadInicial;
+        this.angulo = angulo;
+        reiniciar();
+    }
+    
+    @Override
+    protected double velocidadInicialX() {
+        return velocidadInicial * Math.cos(Math.toRadians(angulo));
+    }
+    
+    @Override
+    protected double velocidadInicialY() {
+        return velocidadInicial * Math.sin(Math.toRadians(angulo));
+    }
+    
+    /**
+     * La posición final es el alcance horizontal en el momento del impacto
+     */
+    @Override
+    public ResultadoTiroParabolico getResultado() {
+        double tiempo = getTiempo();
+        double velocidadMedia = getPosX() / (tiempo > 0 ? tiempo : 1);
+        return new ResultadoTiroParabolico(tiempo, getPosX(), velocidadMedia, getContexto(), velocidadInicial,
+                                           angulo, getAlturaInicial(), getAlturaMaxima(), getArrastre(), getMasa());
+    }
+    
+    // Configuración
+    public void setVelocidadInicial(double v0) { this.velocidadInicial = v0; }
+    public void setAngulo(double angulo) { this.angulo = angulo; }
+    
+    public double getVelocidadInicial() { return velocidadInicial; }
+    public double getAngulo() { return angulo; }
+}
@@ -0,0 +1,236 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Vuelo en el plano vertical hasta tocar el suelo (y = 0), en el vacío o
+ * con resistencia del aire
+ * Base de Tiro Parabólico y Caída Libre. En el vacío se usa la fórmula
+ * cerrada; con un integrador (RK4 si solo hay aire) se integra el estado
+ * {x, y, vx, vy} y la cumbre y el impacto se localizan dentro del último
+ * paso sobre el mismo integrador. Las subclases solo dan la velocidad
+ * inicial y el resultado.
+ */
+public abstract class ModeloVuelo implements ModeloFisico {
+    
+    private double alturaInicial;
+    private ContextoFisico contexto;
+    private double masa;
+    
+    private double velX0;
+    private double velY0;
+    
+    // Integración numérica opcional (null = fórmula cerrada)
+    private Integrador integrador;
+    private double pasoIntegracion = 0.01;
+    private final double[] estado = new double[4];
+    
+    // Resistencia del aire opcional (null = vacío); sin fórmula cerrada, se integra con RK4
+    private ModeloArrastre arrastre;
+    private double constanteArrastre;
+    private final Integrador rk4 = Integradores.rungeKutta4();
+    
+    private final CampoAceleracion campo = (t, s, a) -> {
+        double g = contexto.getGravedad();
+        if (constanteArrastre == 0) {
+            a[0] = 0;
+            a[1] = -g;
+            return;
+        }
+        double v = Math.sqrt(s[2] * s[2] + s[3] * s[3]);
+        a[0] = -constanteArrastre * v * s[2];
+        a[1] = -g - constanteArrastre * v * s[3];
+    };
+    
+    // Estado al inicio del último paso, para acotar el cruce con el suelo
+    private final double[] estadoAnterior = new double[4];
+    private final double[] estadoCruce = new double[4];
+    private double tiempoAnterior;
+    private final DetectorEventos.Funcion alturaEn = t -> {
+        integrarDesdeAnterior(t, estadoCruce);
+        return estadoCruce[1];
+    };
+    // La altura máxima se toma en el instante en que vy = 0, no en el tick más cercano
+    private final DetectorEventos.Funcion velocidadVerticalEn = t -> {
+        integrarDesdeAnterior(t, estadoCruce);
+        return estadoCruce[3];
+    };
+    
+    private OyenteEventos oyente;
+    private EventoFisico eventoFinal;
+    
+    private double tiempo;
+    private double posX;
+    private double posY;
+    private double velX;
+    private double velY;
+    private double alturaMaxima;
+    private boolean impacto;
+    
+    /**
+     * Las subclases llaman a reiniciar() al final de su constructor, cuando
+     * ya pueden dar su velocidad inicial
+     */
+    protected ModeloVuelo(double alturaInicial, ContextoFisico contexto, double masa) {
+        this.alturaInicial = alturaInicial;
+        this.contexto = contexto;
+        this.masa = masa;
+    }
+    
+    /**
+     * Componente horizontal de la velocidad de salida con la configuración actual
+     */
+    protected abstract double velocidadInicialX();
+    
+    /**
+     * Componente vertical de la velocidad de salida (positiva hacia arriba)
+     */
+    protected abstract double velocidadInicialY();
+    
+    @Override
+    public void reiniciar() {
+        velX0 = velocidadInicialX();
+        velY0 = velocidadInicialY();
+        constanteArrastre = arrastre != null ? arrastre.constante(contexto, masa) : 0;
+        
+        tiempo = 0;
+        posX = 0;
+        posY = alturaInicial;
+        velX = velX0;
+        velY = velY0;
+        estado[0] = posX;
+        estado[1] = posY;
+        estado[2] = velX;
+        estado[3] = velY;
+        alturaMaxima = alturaInicial;
+        impacto = false;
+        eventoFinal = null;
+    }
+    
+    @Override
+    public void actualizar(double tiempo) {
+        if (impacto) return;
+        
+        if (getIntegradorActivo() == null) {
+            double gravedad = contexto.getGravedad();
+            // El impacto se conoce de antemano: no se avanza más allá de él
+            double tImpacto = DetectorEventos.tiempoImpacto(alturaInicial, velY0, gravedad);
+            if (tiempo >= tImpacto) {
+                tiempo = tImpacto;
+                impacto = true;
+            }
+            posX = velX0 * tiempo;
+            posY = alturaInicial + velY0 * tiempo - 0.5 * gravedad * tiempo * tiempo;
+            velX = velX0;
+            velY = velY0 - gravedad * tiempo;
+            if (velY0 > 0 && gravedad > 0 && tiempo >= velY0 / gravedad) {
+                // Cumbre exacta: h0 + vy0²/2g, sin depender del tick en que se pasó
+                alturaMaxima = alturaInicial + velY0 * velY0 / (2 * gravedad);
+            }
+        } else {
+            System.arraycopy(estado, 0, estadoAnterior, 0, 4);
+            tiempoAnterior = this.tiempo;
+            Integradores.integrar(getIntegradorActivo(), campo, estado, tiempoAnterior, tiempo, pasoIntegracion);
+            if (estadoAnterior[3] > 0 && estado[3] <= 0) {
+                registrarCumbre(tiempo);
+            }
+            if (estado[1] <= 0) {
+                // Cruce entre el paso anterior y este: se refina sobre el mismo integrador
+                tiempo = DetectorEventos.buscarCruce(alturaEn, tiempoAnterior, estadoAnterior[1],
+                                                      tiempo, estado[1]);
+                integrarDesdeAnterior(tiempo, estado);
+                impacto = true;
+            }
+            posX = estado[0];
+            posY = estado[1];
+            velX = estado[2];
+            velY = estado[3];
+        }
+        this.tiempo = tiempo;
+        
+        if (impacto) {
+            posY = 0; // el error residual del cruce es del orden de la tolerancia
+            eventoFinal = new EventoFisico(EventoFisico.Tipo.IMPACTO_SUELO, tiempo, posX, 0, velX, velY);
+            if (oyente != null) {
+                oyente.alOcurrir(eventoFinal);
+            }
+        }
+        alturaMaxima = Math.max(alturaMaxima, posY);
+    }
+    
+    /**
+     * La velocidad vertical cambia de signo en el último paso: se localiza la
+     * cumbre igual que el impacto, sobre el mismo integrador
+     */
+    private void registrarCumbre(double tiempo) {
+        double tCumbre = DetectorEventos.buscarCruce(velocidadVerticalEn, tiempoAnterior, estadoAnterior[3],
+                                                     tiempo, estado[3]);
+        integrarDesdeAnterior(tCumbre, estadoCruce);
+        alturaMaxima = Math.max(alturaMaxima, estadoCruce[1]);
+    }
+    
+    private void integrarDesdeAnterior(double hasta, double[] destino) {
+        System.arraycopy(estadoAnterior, 0, destino, 0, 4);
+        Integradores.integrar(getIntegradorActivo(), campo, destino, tiempoAnterior, hasta, pasoIntegracion);
+    }
+    
+    /**
+     * Integrador que se usa realmente: el elegido, RK4 si hay arrastre, o null
+     * para la fórmula cerrada del vacío
+     */
+    private Integrador getIntegradorActivo() {
+        if (integrador != null) return integrador;
+        return arrastre != null ? rk4 : null;
+    }
+    
+    @Override
+    public boolean isTerminado() {
+        return impacto;
+    }
+    
+    // Configuración
+    public void setAlturaInicial(double h0) { this.alturaInicial = h0; }
+    public void setContexto(ContextoFisico contexto) { this.contexto = contexto; }
+    public void setMasa(double masa) { this.masa = masa; }
+    
+    /**
+     * Usa un integrador numérico en lugar de la fórmula cerrada (null la restaura)
+     */
+    public void setIntegrador(Integrador integrador) { this.integrador = integrador; }
+    public Integrador getIntegrador() { return integrador; }
+    
+    /**
+     * Paso máximo del integrador, en segundos (positivo y finito)
+     */
+    public void setPasoIntegracion(double dt) {
+        Integradores.validarPaso(dt);
+        this.pasoIntegracion = dt;
+    }
+    
+    /**
+     * Activa la resistencia del aire (null vuelve al vacío)
+     */
+    public void setArrastre(ModeloArrastre arrastre) { this.arrastre = arrastre; }
+    public ModeloArrastre getArrastre() { return arrastre; }
+    
+    /**
+     * Velocidad límite con el arrastre y la masa actuales (infinito en el vacío)
+     */
+    public double getVelocidadTerminal() {
+        return arrastre != null ? arrastre.velocidadTerminal(contexto, masa) : Double.POSITIVE_INFINITY;
+    }
+    
+    public double getAlturaInicial() { return alturaInicial; }
+    public double getGravedad() { return contexto.getGravedad(); }
+    public ContextoFisico getContexto() { return contexto; }
+    public double getMasa() { return masa; }
+    
+    // Estado
+    public boolean isImpacto() { return impacto; }
+    @Override public EventoFisico getEventoFinal() { return eventoFinal; }
+    @Override public void setOyenteEventos(OyenteEventos oyente) { this.oyente = oyente; }
+    public double getAlturaMaxima() { return alturaMaxima; }
+    @Override public double getTiempo() { return tiempo; }
+    @Override public double getPosX() { return posX; }
+    @Override public double getPosY() { return posY; }
+    @Override public double getVelX() { return velX; }
+    @Override public double getVelY() { return velY; }
+}
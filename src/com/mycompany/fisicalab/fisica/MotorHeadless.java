@@ -0,0 +1,107 @@
+package com.mycompany.fisicalab.fisica;
+
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Motor de simulación sin interfaz gráfica
+ * Ejecuta los mismos modelos que las escenas Swing, paso a paso y lo más
+ * rápido posible, sin cargar clases de AWT. Pensado para corregir miles de
+ * escenarios en servidores sin pantalla.
+ */
+public final class MotorHeadless {
+    
+    // Mismo paso que el Timer de 30 ms de las simulaciones gráficas
+    public static final double DT_POR_DEFECTO = 0.03;
+    // Tope de seguridad para modelos que nunca terminan (p. ej. MRU sin meta)
+    public static final double TIEMPO_MAXIMO_POR_DEFECTO = 600.0;
+    // Cada cuántos pasos se consulta si el cálculo se ha cancelado
+    private static final int PASOS_ENTRE_COMPROBACIONES = 64;
+    
+    private MotorHeadless() {
+    }
+    
+    /**
+     * Ejecuta un modelo desde sus condiciones iniciales hasta que termina
+     * o se alcanza el tiempo máximo
+     * 
+     * @param modelo modelo a simular (se reinicia antes de empezar)
+     * @param dt paso de tiempo en segundos
+     * @param tiempoMaximo tiempo simulado máximo en segundos
+     * @return resultado para misiones y trayectoria completa
+     */
+    public static ResultadoTrayectoria ejecutar(ModeloFisico modelo, double dt, double tiempoMaximo) {
+        return ejecutar(modelo, dt, tiempoMaximo, () -> false);
+    }
+    
+    /**
+     * Igual que ejecutar, pero abandona en cuanto cancelado devuelva true
+     * (cálculos en segundo plano que una petición más reciente deja obsoletos)
+     * 
+     * @throws CancellationException si se canceló antes de terminar
+     */
+    public static ResultadoTrayectoria ejecutar(ModeloFisico modelo, double dt, double tiempoMaximo,
+                                                BooleanSupplier cancelado) {
+        if (dt <= 0) {
+            throw new IllegalArgumentException("El paso de tiempo debe ser positivo: " + dt);
+        }
+        
+        modelo.reiniciar();
+        int pasosMaximos = (int) Math.ceil(tiempoMaximo / dt);
+        Trayectoria trayectoria = new Trayectoria(Math.min(pasosMaximos + 1, 1024));
+        trayectoria.agregar(modelo);
+        
+        for (int paso = 1; paso <= pasosMaximos && !modelo.isTerminado(); paso++) {
+            if (paso % PASOS_ENTRE_COMPROBACIONES == 0 && cancelado.getAsBoolean()) {
+                throw new CancellationException("Simulación cancelada en t = " + modelo.getTiempo());
+            }
+            modelo.actualizar(paso * dt);
+            trayectoria.agregar(modelo);
+        }
+        
+        return new ResultadoTrayectoria(modelo.getResultado(), trayectoria);
+    }
+    
+    public static ResultadoTrayectoria ejecutar(ModeloFisico modelo) {
+        return ejecutar(modelo, DT_POR_DEFECTO, TIEMPO_MAXIMO_POR_DEFECTO);
+    }
+    
+    /**
+     * MRU hasta recorrer la distancia objetivo o agotar el tiempo límite
+     * (0 desactiva cualquiera de los dos)
+     */
+    public static ResultadoTrayectoria simularMRU(double posicionInicial, double velocidad,
+                                                  double distanciaObjetivo, double tiempoLimite) {
+        ModeloMRU modelo = new ModeloMRU(posicionInicial, velocidad);
+        modelo.setDistanciaObjetivo(distanciaObjetivo);
+        modelo.setTiempoLimite(tiempoLimite);
+        return ejecutar(modelo);
+    }
+    
+    /**
+     * Caída libre hasta tocar el suelo
+     */
+    public static ResultadoTrayectoria simularCaidaLibre(double alturaInicial, double velocidadInicial,
+                                                         ContextoFisico contexto) {
+        return ejecutar(new ModeloCaidaLibre(alturaInicial, velocidadInicial, contexto));
+    }
+    
+    public static ResultadoTrayectoria simularCaidaLibre(double alturaInicial, double velocidadInicial,
+                                                         double gravedad) {
+        return simularCaidaLibre(alturaInicial, velocidadInicial, ContextoFisico.conGravedad(gravedad));
+    }
+    
+    /**
+     * Tiro parabólico hasta el impacto con el suelo
+     */
+    public static ResultadoTrayectoria simularTiroParabolico(double velocidadInicial, double angulo,
+                                                             double alturaInicial, ContextoFisico contexto) {
+        return ejecutar(new ModeloTiroParabolico(velocidadInicial, angulo, alturaInicial, contexto));
+    }
+    
+    public static ResultadoTrayectoria simularTiroParabolico(double velocidadInicial, double angulo,
+                                                             double alturaInicial, double gravedad) {
+        return simularTiroParabolico(velocidadInicial, angulo, alturaInicial,
+                                     ContextoFisico.conGravedad(gravedad));
+    }
+}
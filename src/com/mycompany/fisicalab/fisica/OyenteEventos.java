@@ -0,0 +1,11 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Recibe los eventos que produce un modelo físico
+ * Se invoca en el hilo que avanza el modelo (el de física en modo paso fijo).
+ */
+@FunctionalInterface
+public interface OyenteEventos {
+    
+    void alOcurrir(EventoFisico evento);
+}
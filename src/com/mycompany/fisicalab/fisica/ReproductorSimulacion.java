@@ -0,0 +1,158 @@
+package com.mycompany.fisicalab.fisica;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reproduce una grabación de GrabadorSimulacion sin volver a simular
+ * La grabación se decodifica una vez a una Trayectoria; a partir de ahí
+ * avanzar o saltar a cualquier instante es una búsqueda binaria y una
+ * interpolación lineal entre las dos muestras vecinas, a cualquier
+ * velocidad de reproducción.
+ */
+public class ReproductorSimulacion {
+
+    private final String tipo;
+    private final long fecha;
+    private final Trayectoria trayectoria;
+
+    private double tiempo;
+    private double velocidad = 1.0; // factor sobre el tiempo real
+
+    // Estado interpolado en el instante actual
+    private double posX;
+    private double posY;
+    private double velX;
+    private double velY;
+
+    public ReproductorSimulacion(String tipo, long fecha, Trayectoria trayectoria) {
+        if (trayectoria.getTamano() == 0) {
+            throw new IllegalArgumentException("La grabación no tiene muestras");
+        }
+        this.tipo = tipo;
+        this.fecha = fecha;
+        this.trayectoria = trayectoria;
+        posicionar(trayectoria.getTiempo(0));
+    }
+
+    public static ReproductorSimulacion cargar(File archivo) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(archivo))) {
+            return leer(in);
+        }
+    }
+
+    public static ReproductorSimulacion leer(InputStream entrada) throws IOException {
+        DataInputStream in = new DataInputStream(entrada);
+        if (in.readInt() != GrabadorSimulacion.MAGIA) {
+            throw new IOException("No es una grabación de FisicaLab");
+        }
+        byte version = in.readByte();
+        if (version != GrabadorSimulacion.VERSION) {
+            throw new IOException("Versión de grabación no soportada: " + version);
+        }
+        String tipo = in.readUTF();
+        long fecha = in.readLong();
+        int muestras = in.readInt();
+        int bytes = in.readInt();
+        if (muestras < 0 || bytes < 0) {
+            throw new IOException("Cabecera de grabación corrupta");
+        }
+        byte[] datos = new byte[bytes];
+        in.readFully(datos);
+        return new ReproductorSimulacion(tipo, fecha, decodificar(datos, muestras));
+    }
+
+    /**
+     * Deshace la segunda diferencia canal a canal
+     */
+    private static Trayectoria decodificar(byte[] datos, int muestras) throws IOException {
+        int canales = GrabadorSimulacion.CANALES;
+        long[] anterior = new long[canales];
+        long[] deltaAnterior = new long[canales];
+        double[] valor = new double[canales];
+        Trayectoria trayectoria = new Trayectoria(muestras);
+        int pos = 0;
+        for (int i = 0; i < muestras; i++) {
+            for (int c = 0; c < canales; c++) {
+                long v = 0;
+                int desplazamiento = 0;
+                byte b;
+                do {
+                    if (pos == datos.length || desplazamiento > 63) {
+                        throw new IOException("Grabación truncada en la muestra " + i);
+                    }
+                    b = datos[pos++];
+                    v |= (long) (b & 0x7F) << desplazamiento;
+                    desplazamiento += 7;
+                } while ((b & 0x80) != 0);
+                long segunda = (v >>> 1) ^ -(v & 1);
+                long delta = deltaAnterior[c] + segunda;
+                anterior[c] += delta;
+                deltaAnterior[c] = delta;
+                valor[c] = anterior[c] * GrabadorSimulacion.CUANTOS[c];
+            }
+            trayectoria.agregar(valor[0], valor[1], valor[2], valor[3], valor[4]);
+        }
+        return trayectoria;
+    }
+
+    /**
+     * Avanza la reproducción un intervalo de tiempo real, escalado por la velocidad
+     */
+    public void avanzar(double dtReal) {
+        posicionar(tiempo + dtReal * velocidad);
+    }
+
+    /**
+     * Salta a un instante cualquiera de la grabación (se acota a su duración)
+     */
+    public void posicionar(double t) {
+        int ultimo = trayectoria.getTamano() - 1;
+        t = Math.max(trayectoria.getTiempo(0), Math.min(t, trayectoria.getTiempo(ultimo)));
+        tiempo = t;
+
+        int i = Math.max(0, trayectoria.indiceEnTiempo(t));
+        if (i == ultimo) {
+            posX = trayectoria.getPosX(i);
+            posY = trayectoria.getPosY(i);
+            velX = trayectoria.getVelX(i);
+            velY = trayectoria.getVelY(i);
+            return;
+        }
+        double t0 = trayectoria.getTiempo(i);
+        double f = (t - t0) / (trayectoria.getTiempo(i + 1) - t0);
+        posX = trayectoria.getPosX(i) + (trayectoria.getPosX(i + 1) - trayectoria.getPosX(i)) * f;
+        posY = trayectoria.getPosY(i) + (trayectoria.getPosY(i + 1) - trayectoria.getPosY(i)) * f;
+        velX = trayectoria.getVelX(i) + (trayectoria.getVelX(i + 1) - trayectoria.getVelX(i)) * f;
+        velY = trayectoria.getVelY(i) + (trayectoria.getVelY(i + 1) - trayectoria.getVelY(i)) * f;
+    }
+
+    public void reiniciar() {
+        posicionar(trayectoria.getTiempo(0));
+    }
+
+    public boolean isTerminado() {
+        return tiempo >= getDuracion();
+    }
+
+    /**
+     * Factor de reproducción: 1 = tiempo real, 0.5 = cámara lenta, negativo = hacia atrás
+     */
+    public void setVelocidad(double velocidad) { this.velocidad = velocidad; }
+    public double getVelocidad() { return velocidad; }
+
+    public String getTipo() { return tipo; }
+    public long getFecha() { return fecha; }
+    public Trayectoria getTrayectoria() { return trayectoria; }
+    public double getDuracion() { return trayectoria.getTiempo(trayectoria.getTamano() - 1); }
+
+    public double getTiempo() { return tiempo; }
+    public double getPosX() { return posX; }
+    public double getPosY() { return posY; }
+    public double getVelX() { return velX; }
+    public double getVelY() { return velY; }
+}
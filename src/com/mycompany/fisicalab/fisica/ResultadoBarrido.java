@@ -0,0 +1,56 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Resultado de un barrido de tiro parabólico
+ * Tres arrays planos del mismo tamaño que la rejilla; el índice de cada
+ * punto se obtiene con {@link #indice(int, int, int, int)}.
+ */
+public final class ResultadoBarrido {
+
+    private final BarridoTiroParabolico.Rango velocidades;
+    private final BarridoTiroParabolico.Rango angulos;
+    private final BarridoTiroParabolico.Rango alturas;
+    private final BarridoTiroParabolico.Rango gravedades;
+
+    // Rellenados por BarridoTiroParabolico, cada tarea en su tramo
+    final double[] alcance;
+    final double[] tiempoVuelo;
+    final double[] alturaMaxima;
+
+    ResultadoBarrido(BarridoTiroParabolico.Rango velocidades, BarridoTiroParabolico.Rango angulos,
+                     BarridoTiroParabolico.Rango alturas, BarridoTiroParabolico.Rango gravedades) {
+        this.velocidades = velocidades;
+        this.angulos = angulos;
+        this.alturas = alturas;
+        this.gravedades = gravedades;
+        int total = velocidades.getValores() * angulos.getValores()
+                  * alturas.getValores() * gravedades.getValores();
+        this.alcance = new double[total];
+        this.tiempoVuelo = new double[total];
+        this.alturaMaxima = new double[total];
+    }
+
+    /**
+     * Posición en los arrays del punto (velocidad, ángulo, altura, gravedad)
+     */
+    public int indice(int iVelocidad, int iAngulo, int iAltura, int iGravedad) {
+        return ((iVelocidad * angulos.getValores() + iAngulo) * alturas.getValores() + iAltura)
+               * gravedades.getValores() + iGravedad;
+    }
+
+    public int getTamano() { return alcance.length; }
+
+    public double getAlcance(int i) { return alcance[i]; }
+    public double getTiempoVuelo(int i) { return tiempoVuelo[i]; }
+    public double getAlturaMaxima(int i) { return alturaMaxima[i]; }
+
+    // Copias para no exponer los arrays internos
+    public double[] getAlcances() { return alcance.clone(); }
+    public double[] getTiemposVuelo() { return tiempoVuelo.clone(); }
+    public double[] getAlturasMaximas() { return alturaMaxima.clone(); }
+
+    public BarridoTiroParabolico.Rango getVelocidades() { return velocidades; }
+    public BarridoTiroParabolico.Rango getAngulos() { return angulos; }
+    public BarridoTiroParabolico.Rango getAlturas() { return alturas; }
+    public BarridoTiroParabolico.Rango getGravedades() { return gravedades; }
+}
@@ -0,0 +1,44 @@
+package com.mycompany.fisicalab.fisica;
+
+import com.mycompany.fisicalab.core.SimulationResult;
+
+/**
+ * Resultado de un tiro parabólico: además del alcance, las condiciones de
+ * lanzamiento, para que las misiones puedan comparar el ángulo o la
+ * velocidad elegidos con los de la solución
+ */
+public class ResultadoTiroParabolico extends SimulationResult {
+
+    private final double velocidadInicial;
+    private final double angulo; // en grados
+    private final double alturaInicial;
+    private final double alturaMaxima;
+    private final ModeloArrastre arrastre; // null = vacío
+    private final double masa;
+
+    public ResultadoTiroParabolico(double tiempo, double alcance, double velocidadMedia, ContextoFisico contexto,
+                                   double velocidadInicial, double angulo, double alturaInicial,
+                                   double alturaMaxima, ModeloArrastre arrastre, double masa) {
+        super(tiempo, alcance, velocidadMedia, contexto);
+        this.velocidadInicial = velocidadInicial;
+        this.angulo = angulo;
+        this.alturaInicial = alturaInicial;
+        this.alturaMaxima = alturaMaxima;
+        this.arrastre = arrastre;
+        this.masa = masa;
+    }
+
+    /**
+     * Solucionador con la misma física con la que se lanzó
+     */
+    public SolucionadorTiro crearSolucionador() {
+        return new SolucionadorTiro(getContexto(), arrastre, masa);
+    }
+
+    public double getVelocidadInicial() { return velocidadInicial; }
+    public double getAngulo() { return angulo; }
+    public double getAlturaInicial() { return alturaInicial; }
+    public double getAlturaMaxima() { return alturaMaxima; }
+    public ModeloArrastre getArrastre() { return arrastre; }
+    public double getMasa() { return masa; }
+}
@@ -0,0 +1,26 @@
+package com.mycompany.fisicalab.fisica;
+
+import com.mycompany.fisicalab.core.SimulationResult;
+
+/**
+ * Resultado de una ejecución sin interfaz: el SimulationResult que
+ * evalúan las misiones más la trayectoria completa
+ */
+public class ResultadoTrayectoria {
+    
+    private final SimulationResult resultado;
+    private final Trayectoria trayectoria;
+    
+    public ResultadoTrayectoria(SimulationResult resultado, Trayectoria trayectoria) {
+        this.resultado = resultado;
+        this.trayectoria = trayectoria;
+    }
+    
+    public SimulationResult getResultado() {
+        return resultado;
+    }
+    
+    public Trayectoria getTrayectoria() {
+        return trayectoria;
+    }
+}
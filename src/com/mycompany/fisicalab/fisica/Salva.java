@@ -0,0 +1,233 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Salva de muchos proyectiles lanzados a la vez desde el mismo punto
+ * El estado se guarda por columnas (un array primitivo por magnitud) y se
+ * avanza en un bucle sin reservar memoria, para poder mover miles de
+ * proyectiles por fotograma. En el vacío cada paso es exacto; con
+ * resistencia del aire se subdivide con Euler semi-implícito.
+ */
+public class Salva {
+
+    // Subpaso máximo con arrastre (s)
+    private static final double SUBPASO_ARRASTRE = 0.005;
+
+    private final int capacidad;
+    private int tamano;
+
+    // Condiciones iniciales
+    private final double[] velocidadInicial;
+    private final double[] angulo; // grados
+    private double alturaInicial;
+    private ContextoFisico contexto;
+    private ModeloArrastre arrastre; // común a toda la salva (null = vacío)
+    private double masa;
+    private double constanteArrastre;
+
+    // Estado por proyectil
+    private final double[] x;
+    private final double[] y;
+    private final double[] vx;
+    private final double[] vy;
+    private final double[] tiempoImpacto; // NaN mientras vuela
+    private final boolean[] enVuelo;
+
+    private double tiempo;
+    private int enVueloTotal;
+    private double alcanceMaximo;
+    private double alturaMaxima;
+
+    public Salva(int capacidad, double alturaInicial, ContextoFisico contexto) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La salva necesita al menos un proyectil: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.alturaInicial = alturaInicial;
+        this.contexto = contexto;
+        velocidadInicial = new double[capacidad];
+        angulo = new double[capacidad];
+        x = new double[capacidad];
+        y = new double[capacidad];
+        vx = new double[capacidad];
+        vy = new double[capacidad];
+        tiempoImpacto = new double[capacidad];
+        enVuelo = new boolean[capacidad];
+    }
+
+    /**
+     * Añade un proyectil; devuelve false si la salva está llena
+     */
+    public boolean agregar(double velocidad, double anguloGrados) {
+        if (tamano == capacidad) return false;
+        velocidadInicial[tamano] = velocidad;
+        angulo[tamano] = anguloGrados;
+        tamano++;
+        return true;
+    }
+
+    /**
+     * Rellena la salva con la rejilla velocidades × ángulos (hasta la capacidad)
+     */
+    public void llenar(BarridoTiroParabolico.Rango velocidades, BarridoTiroParabolico.Rango angulos) {
+        tamano = 0;
+        for (int i = 0; i < velocidades.getValores(); i++) {
+            for (int j = 0; j < angulos.getValores(); j++) {
+                if (!agregar(velocidades.valor(i), angulos.valor(j))) return;
+            }
+        }
+    }
+
+    public void vaciar() {
+        tamano = 0;
+        reiniciar();
+    }
+
+    /**
+     * Todos los proyectiles vuelven al cañón con su velocidad inicial
+     */
+    public void reiniciar() {
+        constanteArrastre = arrastre != null ? arrastre.constante(contexto, masa) : 0;
+        tiempo = 0;
+        enVueloTotal = tamano;
+        alcanceMaximo = 0;
+        alturaMaxima = alturaInicial;
+        for (int i = 0; i < tamano; i++) {
+            double rad = Math.toRadians(angulo[i]);
+            x[i] = 0;
+            y[i] = alturaInicial;
+            vx[i] = velocidadInicial[i] * Math.cos(rad);
+            vy[i] = velocidadInicial[i] * Math.sin(rad);
+            tiempoImpacto[i] = Double.NaN;
+            enVuelo[i] = true;
+        }
+    }
+
+    /**
+     * Avanza toda la salva hasta el instante indicado
+     */
+    public void actualizar(double tiempo) {
+        double dt = tiempo - this.tiempo;
+        if (dt <= 0 || enVueloTotal == 0) return;
+
+        double g = contexto.getGravedad();
+        if (constanteArrastre == 0) {
+            avanzarVacio(this.tiempo, dt, g);
+        } else {
+            int subpasos = (int) Math.ceil(dt / SUBPASO_ARRASTRE);
+            double h = dt / subpasos;
+            for (int s = 0; s < subpasos; s++) {
+                avanzarArrastre(this.tiempo + s * h, h, g);
+            }
+        }
+        this.tiempo = tiempo;
+    }
+
+    /**
+     * Paso balístico exacto; el impacto se resuelve con la raíz de la parábola
+     * dentro del paso
+     */
+    private void avanzarVacio(double t0, double dt, double g) {
+        double mitadG = 0.5 * g;
+        for (int i = 0; i < tamano; i++) {
+            if (!enVuelo[i]) continue;
+            double vy0 = vy[i];
+            double y1 = y[i] + vy0 * dt - mitadG * dt * dt;
+            if (y1 <= 0) {
+                double tc = DetectorEventos.tiempoImpacto(y[i], vy0, g);
+                aterrizar(i, t0 + tc, x[i] + vx[i] * tc, vy0 - g * tc);
+            } else {
+                x[i] += vx[i] * dt;
+                y[i] = y1;
+                vy[i] = vy0 - g * dt;
+                if (y1 > alturaMaxima) alturaMaxima = y1;
+            }
+        }
+    }
+
+    /**
+     * Subpaso con arrastre cuadrático; el impacto se interpola linealmente
+     * dentro del subpaso (error del orden de milímetros)
+     */
+    private void avanzarArrastre(double t0, double h, double g) {
+        double k = constanteArrastre;
+        for (int i = 0; i < tamano; i++) {
+            if (!enVuelo[i]) continue;
+            double v = Math.sqrt(vx[i] * vx[i] + vy[i] * vy[i]);
+            double nvx = vx[i] - k * v * vx[i] * h;
+            double nvy = vy[i] - (g + k * v * vy[i]) * h;
+            double nx = x[i] + nvx * h;
+            double ny = y[i] + nvy * h;
+            if (ny <= 0) {
+                double f = y[i] / (y[i] - ny);
+                aterrizar(i, t0 + f * h, x[i] + f * (nx - x[i]), nvy);
+            } else {
+                vx[i] = nvx;
+                vy[i] = nvy;
+                x[i] = nx;
+                y[i] = ny;
+                if (ny > alturaMaxima) alturaMaxima = ny;
+            }
+        }
+    }
+
+    private void aterrizar(int i, double t, double xImpacto, double vyImpacto) {
+        x[i] = xImpacto;
+        y[i] = 0;
+        vy[i] = vyImpacto;
+        tiempoImpacto[i] = t;
+        enVuelo[i] = false;
+        enVueloTotal--;
+        if (xImpacto > alcanceMaximo) alcanceMaximo = xImpacto;
+    }
+
+    /**
+     * Envolvente de seguridad en el vacío: ningún proyectil con rapidez v
+     * pasa por encima de y = h0 + v²/2g - g·x²/2v²
+     */
+    public static double alturaEnvolvente(double x, double velocidad, double alturaInicial, double gravedad) {
+        double v2 = velocidad * velocidad;
+        return alturaInicial + v2 / (2 * gravedad) - gravedad * x * x / (2 * v2);
+    }
+
+    /**
+     * Copia las posiciones actuales en los arrays dados (al menos getTamano()
+     * elementos), para entregarlas a otro hilo sin compartir el estado vivo
+     */
+    public void copiarPosiciones(double[] destinoX, double[] destinoY) {
+        System.arraycopy(x, 0, destinoX, 0, tamano);
+        System.arraycopy(y, 0, destinoY, 0, tamano);
+    }
+
+    // Configuración
+    public void setAlturaInicial(double h0) { this.alturaInicial = h0; }
+    public void setContexto(ContextoFisico contexto) { this.contexto = contexto; }
+
+    /**
+     * Arrastre común a toda la salva (null = vacío); se aplica en el próximo reiniciar
+     */
+    public void setArrastre(ModeloArrastre arrastre, double masa) {
+        this.arrastre = arrastre;
+        this.masa = masa;
+    }
+
+    public double getAlturaInicial() { return alturaInicial; }
+    public ContextoFisico getContexto() { return contexto; }
+
+    // Estado
+    public int getTamano() { return tamano; }
+    public int getCapacidad() { return capacidad; }
+    public int getEnVuelo() { return enVueloTotal; }
+    public boolean isTerminada() { return enVueloTotal == 0; }
+    public double getTiempo() { return tiempo; }
+    public double getAlcanceMaximo() { return alcanceMaximo; }
+    public double getAlturaMaxima() { return alturaMaxima; }
+
+    public double getX(int i) { return x[i]; }
+    public double getY(int i) { return y[i]; }
+    public double getVelX(int i) { return vx[i]; }
+    public double getVelY(int i) { return vy[i]; }
+    public boolean isEnVuelo(int i) { return enVuelo[i]; }
+    public double getTiempoImpacto(int i) { return tiempoImpacto[i]; }
+    public double getVelocidadInicial(int i) { return velocidadInicial[i]; }
+    public double getAngulo(int i) { return angulo[i]; }
+}
@@ -0,0 +1,315 @@
+package com.mycompany.fisicalab.fisica;
+
+/**
+ * Problema inverso del tiro parabólico: qué ángulo o qué velocidad hacen
+ * caer el proyectil a una distancia dada desde una altura dada
+ * En el vacío todo tiene fórmula cerrada. Con resistencia del aire se
+ * simula el alcance y se acotan las raíces en una rejilla gruesa antes de
+ * refinarlas con regula falsi, de modo que cada consulta cuesta unas pocas
+ * decenas de simulaciones cortas.
+ *
+ * No es seguro entre hilos (reutiliza un modelo interno); para consultas en
+ * paralelo se crea un solucionador por hilo.
+ */
+public class SolucionadorTiro {
+
+    // Ángulos válidos de lanzamiento (grados) y rejilla para acotar raíces
+    private static final double ANGULO_MINIMO = 0.1;
+    private static final double ANGULO_MAXIMO = 89.9;
+    private static final int DIVISIONES_ANGULO = 45;
+    // Paso de las simulaciones con arrastre (el impacto se localiza exacto)
+    private static final double DT_ALCANCE = 0.05;
+    private static final double TIEMPO_MAXIMO = 600;
+    private static final double VELOCIDAD_MAXIMA = 1e4; // m/s, tope de búsqueda
+    private static final double ALTURA_MAXIMA = 1e4; // m, tope de búsqueda de la altura de lanzamiento
+    private static final double RAZON_AUREA = (Math.sqrt(5) - 1) / 2;
+    // Cerca del óptimo la velocidad apenas cambia con el ángulo: basta una milésima de grado
+    private static final double TOLERANCIA_ANGULO = 1e-3;
+
+    private static final double[] SIN_SOLUCION = new double[0];
+
+    private final ContextoFisico contexto;
+    private final ModeloArrastre arrastre; // null = vacío
+    private final double masa;
+    private final ModeloTiroParabolico modelo;
+
+    public SolucionadorTiro(ContextoFisico contexto) {
+        this(contexto, null, 1.0);
+    }
+
+    public SolucionadorTiro(ContextoFisico contexto, ModeloArrastre arrastre, double masa) {
+        this.contexto = contexto;
+        this.arrastre = arrastre;
+        this.masa = masa;
+        this.modelo = new ModeloTiroParabolico(0, 0, 0, contexto);
+        modelo.setArrastre(arrastre);
+        modelo.setMasa(masa);
+    }
+
+    /**
+     * Alcance horizontal al volver al suelo (y = 0)
+     */
+    public double alcance(double velocidad, double angulo, double alturaInicial) {
+        if (arrastre == null) {
+            return alcanceVacio(velocidad, angulo, alturaInicial, contexto.getGravedad());
+        }
+        modelo.setVelocidadInicial(velocidad);
+        modelo.setAngulo(angulo);
+        modelo.setAlturaInicial(alturaInicial);
+        modelo.reiniciar();
+        for (int paso = 1; !modelo.isTerminado() && paso * DT_ALCANCE <= TIEMPO_MAXIMO; paso++) {
+            modelo.actualizar(paso * DT_ALCANCE);
+        }
+        return modelo.getPosX();
+    }
+
+    /**
+     * Ángulos (grados, de menor a mayor) con los que la velocidad dada cae a la
+     * distancia x; vacío si no llega
+     */
+    public double[] angulosParaAlcance(double velocidad, double x, double alturaInicial) {
+        if (arrastre == null) {
+            return angulosVacio(velocidad, x, alturaInicial, contexto.getGravedad());
+        }
+
+        // Rejilla de ángulos: cada cambio de signo de alcance - x encierra una solución
+        double[] encontrados = new double[2];
+        int n = 0;
+        double a0 = ANGULO_MINIMO;
+        double f0 = alcance(velocidad, a0, alturaInicial) - x;
+        for (int i = 1; i <= DIVISIONES_ANGULO && n < 2; i++) {
+            double a1 = ANGULO_MINIMO + (ANGULO_MAXIMO - ANGULO_MINIMO) * i / DIVISIONES_ANGULO;
+            double f1 = alcance(velocidad, a1, alturaInicial) - x;
+            if (f0 == 0 || Math.signum(f0) != Math.signum(f1)) {
+                encontrados[n++] = DetectorEventos.buscarCruce(
+                    a -> alcance(velocidad, a, alturaInicial) - x, a0, f0, a1, f1);
+            }
+            a0 = a1;
+            f0 = f1;
+        }
+        return n == 2 ? encontrados : n == 1 ? new double[] { encontrados[0] } : SIN_SOLUCION;
+    }
+
+    /**
+     * Velocidad necesaria para caer a la distancia x con el ángulo dado
+     * (NaN si con ese ángulo es imposible)
+     */
+    public double velocidadParaAlcance(double angulo, double x, double alturaInicial) {
+        if (arrastre == null) {
+            return velocidadVacio(angulo, x, alturaInicial, contexto.getGravedad());
+        }
+        // El alcance crece con la velocidad: se dobla hasta pasarse y se refina
+        double v0 = 0;
+        double f0 = alcance(0, angulo, alturaInicial) - x;
+        if (f0 >= 0) return 0;
+        double v1 = 1;
+        double f1 = alcance(v1, angulo, alturaInicial) - x;
+        while (f1 < 0) {
+            if (v1 >= VELOCIDAD_MAXIMA) return Double.NaN;
+            v0 = v1;
+            f0 = f1;
+            v1 *= 2;
+            f1 = alcance(v1, angulo, alturaInicial) - x;
+        }
+        return DetectorEventos.buscarCruce(v -> alcance(v, angulo, alturaInicial) - x, v0, f0, v1, f1);
+    }
+
+    /**
+     * Menor velocidad con la que se puede llegar a x desde esa altura
+     */
+    public double velocidadMinima(double x, double alturaInicial) {
+        if (arrastre == null) {
+            return velocidadMinimaVacio(x, alturaInicial, contexto.getGravedad());
+        }
+        double angulo = anguloVelocidadMinima(x, alturaInicial);
+        return velocidadParaAlcance(angulo, x, alturaInicial);
+    }
+
+    /**
+     * Ángulo con el que se consigue la velocidad mínima
+     */
+    public double anguloVelocidadMinima(double x, double alturaInicial) {
+        if (arrastre == null) {
+            double g = contexto.getGravedad();
+            double v = velocidadMinimaVacio(x, alturaInicial, g);
+            return Math.toDegrees(Math.atan2(v * v, g * x));
+        }
+        return minimizar(a -> {
+            double v = velocidadParaAlcance(a, x, alturaInicial);
+            return Double.isNaN(v) ? Double.MAX_VALUE : v;
+        }, ANGULO_MINIMO, ANGULO_MAXIMO);
+    }
+
+    /**
+     * Ángulo de máximo alcance para esa velocidad y altura. Con arrastre se
+     * busca por sección áurea sobre el alcance simulado (unas 25
+     * simulaciones cortas): cae por debajo de 45° al crecer el rozamiento
+     */
+    public double anguloOptimo(double velocidad, double alturaInicial) {
+        if (arrastre == null) {
+            return anguloOptimoVacio(velocidad, alturaInicial, contexto.getGravedad());
+        }
+        return minimizar(a -> -alcance(velocidad, a, alturaInicial), ANGULO_MINIMO, ANGULO_MAXIMO);
+    }
+    
+    /**
+     * Alcance con el ángulo óptimo
+     */
+    public double alcanceMaximo(double velocidad, double alturaInicial) {
+        return alcance(velocidad, anguloOptimo(velocidad, alturaInicial), alturaInicial);
+    }
+    
+    /**
+     * Altura de lanzamiento mínima para que la velocidad dada llegue a x
+     * (0 si ya llega desde el suelo, NaN si ni desde ALTURA_MAXIMA)
+     */
+    public double alturaMinima(double velocidad, double x) {
+        return alturaMinima(velocidad, x, ALTURA_MAXIMA);
+    }
+    
+    /**
+     * Igual, pero sin buscar por encima de alturaMaxima (NaN si desde ahí
+     * tampoco llega); con arrastre, cada altura más es una caída más larga
+     */
+    public double alturaMinima(double velocidad, double x, double alturaMaxima) {
+        if (arrastre == null) {
+            double h = alturaMinimaVacio(velocidad, x, contexto.getGravedad());
+            return h <= alturaMaxima ? h : Double.NaN;
+        }
+        double h0 = 0;
+        double f0 = velocidadMinima(x, 0) - velocidad;
+        if (f0 <= 0) return 0;
+        double h1 = Math.min(Math.max(1, x), alturaMaxima);
+        double f1 = velocidadMinima(x, h1) - velocidad;
+        while (f1 > 0) {
+            if (h1 >= alturaMaxima) return Double.NaN;
+            h0 = h1;
+            f0 = f1;
+            h1 = Math.min(h1 * 2, alturaMaxima);
+            f1 = velocidadMinima(x, h1) - velocidad;
+        }
+        return DetectorEventos.buscarCruce(h -> velocidadMinima(x, h) - velocidad, h0, f0, h1, f1);
+    }
+
+    // Consultas en bloque: una por distancia, misma velocidad/ángulo y altura
+
+    /**
+     * Ángulo bajo y alto para cada distancia (NaN donde no hay solución; si solo
+     * hay una, aparece en los dos)
+     */
+    public void angulosParaAlcance(double velocidad, double[] distancias, double alturaInicial,
+                                   double[] bajos, double[] altos) {
+        for (int i = 0; i < distancias.length; i++) {
+            double[] s = angulosParaAlcance(velocidad, distancias[i], alturaInicial);
+            bajos[i] = s.length > 0 ? s[0] : Double.NaN;
+            altos[i] = s.length > 0 ? s[s.length - 1] : Double.NaN;
+        }
+    }
+
+    public void velocidadesMinimas(double[] distancias, double alturaInicial, double[] salida) {
+        for (int i = 0; i < distancias.length; i++) {
+            salida[i] = velocidadMinima(distancias[i], alturaInicial);
+        }
+    }
+
+    public void velocidadesParaAlcance(double angulo, double[] distancias, double alturaInicial,
+                                       double[] salida) {
+        for (int i = 0; i < distancias.length; i++) {
+            salida[i] = velocidadParaAlcance(angulo, distancias[i], alturaInicial);
+        }
+    }
+
+    // Fórmulas cerradas en el vacío (el destino está h0 por debajo del cañón)
+
+    public static double alcanceVacio(double velocidad, double angulo, double alturaInicial, double g) {
+        double rad = Math.toRadians(angulo);
+        double vx = velocidad * Math.cos(rad);
+        double vy = velocidad * Math.sin(rad);
+        return vx * DetectorEventos.tiempoImpacto(alturaInicial, vy, g);
+    }
+
+    /**
+     * tan θ = (v² ± √(v⁴ - g(g·x² - 2·h0·v²))) / (g·x)
+     */
+    public static double[] angulosVacio(double velocidad, double x, double alturaInicial, double g) {
+        if (x <= 0) return SIN_SOLUCION;
+        double v2 = velocidad * velocidad;
+        double discriminante = v2 * v2 - g * (g * x * x - 2 * alturaInicial * v2);
+        if (discriminante < 0) return SIN_SOLUCION;
+        double raiz = Math.sqrt(discriminante);
+        double bajo = Math.toDegrees(Math.atan((v2 - raiz) / (g * x)));
+        double alto = Math.toDegrees(Math.atan((v2 + raiz) / (g * x)));
+        // Desde altura, la raíz baja puede salir negativa: tiro hacia abajo
+        if (bajo < 0) return new double[] { alto };
+        return raiz == 0 ? new double[] { bajo } : new double[] { bajo, alto };
+    }
+
+    /**
+     * v² = g·x² / (2·cos²θ·(x·tan θ + h0))
+     */
+    public static double velocidadVacio(double angulo, double x, double alturaInicial, double g) {
+        double rad = Math.toRadians(angulo);
+        double cos = Math.cos(rad);
+        double denominador = 2 * cos * cos * (x * Math.tan(rad) + alturaInicial);
+        if (denominador <= 0) return Double.NaN;
+        return Math.sqrt(g * x * x / denominador);
+    }
+
+    /**
+     * sin θ = v / √(2v² + 2g·h0): 45° desde el suelo, menos cuanto más alto
+     */
+    public static double anguloOptimoVacio(double velocidad, double alturaInicial, double g) {
+        if (velocidad <= 0) return 45;
+        double v2 = velocidad * velocidad;
+        return Math.toDegrees(Math.asin(velocidad / Math.sqrt(2 * v2 + 2 * g * alturaInicial)));
+    }
+    
+    /**
+     * v² = g·(√(x² + h0²) - h0)
+     */
+    public static double velocidadMinimaVacio(double x, double alturaInicial, double g) {
+        return Math.sqrt(g * (Math.hypot(x, alturaInicial) - alturaInicial));
+    }
+
+    /**
+     * Despejando h0 de la velocidad mínima: h0 = g·x² / (2v²) - v² / (2g)
+     */
+    public static double alturaMinimaVacio(double velocidad, double x, double g) {
+        double v2 = velocidad * velocidad;
+        return Math.max(0, g * x * x / (2 * v2) - v2 / (2 * g));
+    }
+
+    /**
+     * Mínimo de una función unimodal en [a, b] por sección áurea
+     */
+    static double minimizar(DetectorEventos.Funcion f, double a, double b) {
+        return minimizar(f, a, b, TOLERANCIA_ANGULO);
+    }
+    
+    static double minimizar(DetectorEventos.Funcion f, double a, double b, double tolerancia) {
+        double c = b - RAZON_AUREA * (b - a);
+        double d = a + RAZON_AUREA * (b - a);
+        double fc = f.valor(c);
+        double fd = f.valor(d);
+        while (b - a > tolerancia) {
+            if (fc < fd) {
+                b = d;
+                d = c;
+                fd = fc;
+                c = b - RAZON_AUREA * (b - a);
+                fc = f.valor(c);
+            } else {
+                a = c;
+                c = d;
+                fc = fd;
+                d = a + RAZON_AUREA * (b - a);
+                fd = f.valor(d);
+            }
+        }
+        return (a + b) / 2;
+    }
+
+    public ContextoFisico getContexto() { return contexto; }
+    public ModeloArrastre getArrastre() { return arrastre; }
+    public double getMasa() { return masa; }
+}
@@ -0,0 +1,115 @@
+package com.mycompany.fisicalab.fisica;
+
+import java.util.Arrays;
+
+/**
+ * Trayectoria completa de una simulación guardada en arrays primitivos
+ * (tiempo, posición y velocidad de cada paso), sin objetos por muestra.
+ */
+public class Trayectoria {
+    
+    private double[] tiempos;
+    private double[] posX;
+    private double[] posY;
+    private double[] velX;
+    private double[] velY;
+    private int tamano;
+    
+    public Trayectoria() {
+        this(64);
+    }
+    
+    public Trayectoria(int capacidadInicial) {
+        int capacidad = Math.max(1, capacidadInicial);
+        tiempos = new double[capacidad];
+        posX = new double[capacidad];
+        posY = new double[capacidad];
+        velX = new double[capacidad];
+        velY = new double[capacidad];
+    }
+    
+    /**
+     * Añade una muestra al final de la trayectoria
+     */
+    public void agregar(double t, double x, double y, double vx, double vy) {
+        if (tamano == tiempos.length) {
+            int nuevaCapacidad = tamano * 2;
+            tiempos = Arrays.copyOf(tiempos, nuevaCapacidad);
+            posX = Arrays.copyOf(posX, nuevaCapacidad);
+            posY = Arrays.copyOf(posY, nuevaCapacidad);
+            velX = Arrays.copyOf(velX, nuevaCapacidad);
+            velY = Arrays.copyOf(velY, nuevaCapacidad);
+        }
+        tiempos[tamano] = t;
+        posX[tamano] = x;
+        posY[tamano] = y;
+        velX[tamano] = vx;
+        velY[tamano] = vy;
+        tamano++;
+    }
+    
+    /**
+     * Añade el estado actual de un modelo
+     */
+    public void agregar(ModeloFisico modelo) {
+        agregar(modelo.getTiempo(), modelo.getPosX(), modelo.getPosY(),
+                modelo.getVelX(), modelo.getVelY());
+    }
+    
+    public void limpiar() {
+        tamano = 0;
+    }
+    
+    /**
+     * Libera la capacidad sobrante (p. ej. antes de guardarla en una caché)
+     */
+    public void recortar() {
+        if (tamano == tiempos.length || tamano == 0) return;
+        tiempos = Arrays.copyOf(tiempos, tamano);
+        posX = Arrays.copyOf(posX, tamano);
+        posY = Arrays.copyOf(posY, tamano);
+        velX = Arrays.copyOf(velX, tamano);
+        velY = Arrays.copyOf(velY, tamano);
+    }
+    
+    /**
+     * Índice de la última muestra con tiempo ≤ t (-1 si t es anterior a todas)
+     * Búsqueda binaria: los tiempos se añaden en orden creciente.
+     */
+    public int indiceEnTiempo(double t) {
+        int bajo = 0;
+        int alto = tamano - 1;
+        int encontrado = -1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (tiempos[medio] <= t) {
+                encontrado = medio;
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return encontrado;
+    }
+    
+    /**
+     * Memoria ocupada por los cinco arrays, en bytes
+     */
+    public long getBytes() {
+        return 5L * 8 * tiempos.length;
+    }
+    
+    public int getTamano() { return tamano; }
+    public double getTiempo(int i) { return tiempos[i]; }
+    public double getPosX(int i) { return posX[i]; }
+    public double getPosY(int i) { return posY[i]; }
+    public double getVelX(int i) { return velX[i]; }
+    public double getVelY(int i) { return velY[i]; }
+    
+    // Copias ajustadas al tamaño, para exportar o procesar en bloque
+    public double[] getTiempos() { return Arrays.copyOf(tiempos, tamano); }
+    public double[] getPosicionesX() { return Arrays.copyOf(posX, tamano); }
+    public double[] getPosicionesY() { return Arrays.copyOf(posY, tamano); }
+    public double[] getVelocidadesX() { return Arrays.copyOf(velX, tamano); }
+    public double[] getVelocidadesY() { return Arrays.copyOf(velY, tamano); }
+}
@@ -95,7 +95,15 @@ public abstract class Mision implements Serializable {
      * @return Precisión (0.0 a 1.0)
      */
     protected double calcularPrecision(double valorObtenido) {
-        double diferencia = Math.abs(valorObtenido - valorObjetivo);
+        return calcularPrecision(valorObtenido, valorObjetivo);
+    }
+    
+    /**
+     * Precisión respecto a una referencia calculada en cada intento
+     * (por ejemplo, el ángulo óptimo para la velocidad usada)
+     */
+    protected double calcularPrecision(double valorObtenido, double referencia) {
+        double diferencia = Math.abs(valorObtenido - referencia);
         // Evitar división por cero si tolerancia y valorObjetivo son 0
         double divisor = (tolerancia > 0) ? tolerancia : ((valorObjetivo != 0) ? Math.abs(valorObjetivo) : 1.0);
         double precision = 1.0 - (diferencia / divisor);
@@ -135,6 +143,7 @@ public abstract class Mision implements Serializable {
     public String getObjetivo() { return objetivo; }
     public String[] getRestricciones() { return restricciones; }
     public double getValorObjetivo() { return valorObjetivo; } // Nuevo getter
+    public double getTolerancia() { return tolerancia; }
     
     /**
      * Retorna un String con las estrellas visuales
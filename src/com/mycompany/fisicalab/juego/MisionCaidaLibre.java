@@ -1,6 +1,5 @@
 package com.mycompany.fisicalab.juego;
 
-import com.mycompany.fisicalab.core.MotorSimulacion; // Necesario para getGravedad()
 import com.mycompany.fisicalab.core.SimulationResult; // Importar SimulationResult
 import java.util.ArrayList;
 import java.util.List;
@@ -87,11 +86,8 @@ public class MisionCaidaLibre extends Mision {
                 return diferencia <= tolerancia;
                 
             case GRAVEDAD_DIFERENTE:
-                // Esta misión es más compleja, ya que el "resultado" no es un valor directo de SimulationResult.
-                // Podría requerir que la simulación pase la gravedad usada, o que la misión acceda a MotorSimulacion.getGravedad().
-                // Para simplificar, si la simulación llega a este punto, asumimos que la gravedad fue configurada.
-                // Esto es un placeholder y necesitaría una implementación más robusta si la gravedad es un resultado a evaluar.
-                return Math.abs(MotorSimulacion.getGravedad() - valorObjetivo) <= tolerancia; // Evaluar la gravedad configurada
+                // El resultado trae el contexto físico con el que se simuló
+                return Math.abs(result.getContexto().getGravedad() - valorObjetivo) <= tolerancia;
                 
             case PREDICCION_TIEMPO:
                 valorEvaluado = result.getFinalTime();
@@ -123,7 +119,7 @@ public class MisionCaidaLibre extends Mision {
                     valorParaPrecision = result.getFinalTime();
                     break;
                 case GRAVEDAD_DIFERENTE:
-                    valorParaPrecision = MotorSimulacion.getGravedad(); // Asumiendo que la gravedad es el valor a comparar
+                    valorParaPrecision = result.getContexto().getGravedad();
                     break;
                 case ENERGIA_CONSERVADA:
                     valorParaPrecision = 1.0; // Si es true, la precisión es 1.0 (placeholder)
@@ -1,6 +1,10 @@
 package com.mycompany.fisicalab.juego;
 
 import com.mycompany.fisicalab.core.SimulationResult; // Importar SimulationResult
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+import com.mycompany.fisicalab.fisica.ModeloArrastre;
+import com.mycompany.fisicalab.fisica.ResultadoTiroParabolico;
+import com.mycompany.fisicalab.fisica.SolucionadorTiro;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,6 +15,18 @@ import java.util.List;
 public class MisionTiroParabolico extends Mision {
     
     private TipoMisionTiro tipoMision;
+    private double velocidadMaxima; // m/s, 0 = sin límite (TIRO_LIMITADO)
+    private double velocidadFija; // m/s, 0 = libre (ANGULO_OPTIMO)
+    private RachaDianas racha; // DIANAS_MULTIPLES: se alimenta tiro a tiro
+    
+    // Último ángulo óptimo y las condiciones para las que se calculó: evaluar() y
+    // registrarResultado() lo piden para el mismo intento, y con aire son ~26 simulaciones
+    private transient ContextoFisico optimoContexto; // null = aún sin calcular
+    private transient ModeloArrastre optimoArrastre;
+    private transient double optimoVelocidad;
+    private transient double optimoAltura;
+    private transient double optimoMasa;
+    private transient double anguloOptimo;
     
     public enum TipoMisionTiro {
         LANZAMIENTO_SIMPLE,    // Lanzamiento básico
@@ -78,6 +94,9 @@ public class MisionTiroParabolico extends Mision {
         double valorEvaluado;
         double diferencia;
 
+        if (!respetaVelocidadMaxima(result)) {
+            return false;
+        }
         switch (tipoMision) {
             case LANZAMIENTO_SIMPLE:
                 valorEvaluado = result.getFinalPosition(); // Asumiendo que la posición final es el alcance
@@ -90,16 +109,14 @@ public class MisionTiroParabolico extends Mision {
                 return diferencia <= tolerancia;
                 
             case ANGULO_OPTIMO:
-                // Esta misión es más compleja, ya que el "resultado" no es un valor directo de SimulationResult.
-                // Debería evaluar si el ángulo usado en la simulación está dentro de la tolerancia del ángulo óptimo.
-                // Por ahora, asumiremos que el valorObjetivo es el ángulo óptimo y que la simulación lo configuró.
-                // Esto es un placeholder y necesitaría una implementación más robusta.
-                return true; // Placeholder, necesita lógica real
+                // El ángulo usado debe quedar dentro de la tolerancia del óptimo real
+                if (!(result instanceof ResultadoTiroParabolico)) return false;
+                ResultadoTiroParabolico tiro = (ResultadoTiroParabolico) result;
+                return Math.abs(tiro.getAngulo() - calcularAnguloOptimo(tiro)) <= tolerancia;
                 
             case DIANAS_MULTIPLES:
-                // Esta misión requiere un manejo de estado más complejo (cuántas dianas se han acertado).
-                // SimulationResult solo da el resultado de un tiro.
-                return false; // Placeholder, necesita lógica real
+                // Cada tiro ya se ha contado con registrarTiro(): aquí solo se mira la racha
+                return racha != null && racha.isCompletada();
                 
             default:
                 return false;
@@ -111,25 +128,26 @@ public class MisionTiroParabolico extends Mision {
         boolean exito = evaluar(result);
         
         if (exito) {
-            double valorParaPrecision;
+            double precision;
             switch (tipoMision) {
                 case LANZAMIENTO_SIMPLE:
                 case DIANA_FIJA:
                 case TIRO_LIMITADO:
-                    valorParaPrecision = result.getFinalPosition();
+                    precision = calcularPrecision(result.getFinalPosition());
                     break;
                 case ANGULO_OPTIMO:
-                    // Necesitaríamos el ángulo usado en la simulación para calcular la precisión
-                    valorParaPrecision = valorObjetivo; // Placeholder
+                    // evaluar() ya garantiza que es un ResultadoTiroParabolico
+                    ResultadoTiroParabolico tiro = (ResultadoTiroParabolico) result;
+                    precision = calcularPrecision(tiro.getAngulo(), calcularAnguloOptimo(tiro));
                     break;
                 case DIANAS_MULTIPLES:
-                    valorParaPrecision = result.getFinalPosition(); // Placeholder
+                    // Error medio de la serie ganadora frente a un acierto perfecto
+                    precision = calcularPrecision(racha.getErrorMedio(), 0);
                     break;
                 default:
-                    valorParaPrecision = 0; // Fallback
+                    precision = 0; // Fallback
             }
 
-            double precision = calcularPrecision(valorParaPrecision);
             int estrellas = calcularEstrellas(precision);
             int puntos = calcularPuntos(estrellas);
             
@@ -190,6 +208,8 @@ public class MisionTiroParabolico extends Mision {
             45.0,  // Ángulo óptimo
             3.0    // Tolerancia: ±3°
         );
+        // El óptimo se calcula en cada intento: 45° solo desde el suelo y sin aire
+        m3.setVelocidadFija(20.0);
         misiones.add(m3);
         
         // Misión 4: Francotirador (Difícil)
@@ -200,8 +220,9 @@ public class MisionTiroParabolico extends Mision {
             4,
             TipoMisionTiro.DIANAS_MULTIPLES,
             3.0,   // 3 dianas
-            0.0
+            2.0    // Tolerancia por diana: ±2m
         );
+        m4.setDianas(15.0, 30.0, 45.0);
         misiones.add(m4);
         
         // Misión 5: Tiro Imposible (Muy Difícil)
@@ -214,12 +235,161 @@ public class MisionTiroParabolico extends Mision {
             80.0,  // Objetivo: 80m
             3.0    // Tolerancia: ±3m
         );
+        // Desde el suelo harían falta 28 m/s: hay que lanzar desde ~18.3 m de altura
+        m5.setVelocidadMaxima(25.0);
         misiones.add(m5);
         
         return misiones;
     }
     
+    /**
+     * Con velocidad máxima, el tiro tiene que demostrar que no la supera
+     */
+    private boolean respetaVelocidadMaxima(SimulationResult result) {
+        if (velocidadMaxima <= 0) return true;
+        return result instanceof ResultadoTiroParabolico
+            && ((ResultadoTiroParabolico) result).getVelocidadInicial() <= velocidadMaxima;
+    }
+    
+    /**
+     * Comprueba con el solucionador que la misión tiene solución desde esa
+     * altura y con la velocidad máxima permitida; la gravedad, el aire y la
+     * masa son los del solucionador
+     */
+    public boolean esResoluble(double alturaInicial, SolucionadorTiro solucionador) {
+        if (tipoMision != TipoMisionTiro.DIANA_FIJA && tipoMision != TipoMisionTiro.TIRO_LIMITADO
+            && tipoMision != TipoMisionTiro.LANZAMIENTO_SIMPLE) {
+            return true;
+        }
+        if (velocidadMaxima <= 0) return true;
+        // NaN si ni a la velocidad tope de búsqueda llega: tampoco es resoluble
+        return solucionador.velocidadMinima(valorObjetivo, alturaInicial) <= velocidadMaxima;
+    }
+    
+    /**
+     * Dianas de DIANAS_MULTIPLES, en el orden en que hay que acertarlas
+     */
+    public void setDianas(double... distancias) {
+        racha = new RachaDianas(distancias, tolerancia, (int) valorObjetivo);
+        StringBuilder sb = new StringBuilder("• Dianas:");
+        for (double d : distancias) {
+            sb.append(' ').append(d).append('m');
+        }
+        this.restricciones = new String[]{
+            sb.toString(),
+            "• Margen: ±" + tolerancia + "m por diana",
+            "• Un fallo reinicia la racha"
+        };
+    }
+    
+    /**
+     * Cuenta un tiro de una sesión con varias dianas; la interfaz lo llama en
+     * cada impacto sin recrear la misión
+     * @return true si el tiro acertó la diana que tocaba
+     */
+    public boolean registrarTiro(SimulationResult result) {
+        return racha != null && racha.registrar(result.getFinalPosition());
+    }
+    
+    /**
+     * Distancia a la que hay que acertar ahora (NaN si la misión no tiene diana)
+     */
+    public double getDianaActual() {
+        switch (tipoMision) {
+            case DIANAS_MULTIPLES:
+                return racha != null ? racha.getDianaActual() : Double.NaN;
+            case DIANA_FIJA:
+            case TIRO_LIMITADO:
+                return valorObjetivo;
+            default:
+                return Double.NaN;
+        }
+    }
+    
+    public RachaDianas getRacha() {
+        return racha;
+    }
+    
+    /**
+     * Ángulo de máximo alcance con la velocidad, altura y física del tiro
+     * evaluado (sección áurea sobre el simulador si había aire); solo se
+     * recalcula si cambia alguna de esas condiciones
+     */
+    public double calcularAnguloOptimo(ResultadoTiroParabolico tiro) {
+        if (optimoContexto == null || !optimoContexto.equals(tiro.getContexto())
+            || optimoArrastre != tiro.getArrastre()
+            || optimoVelocidad != tiro.getVelocidadInicial()
+            || optimoAltura != tiro.getAlturaInicial()
+            || optimoMasa != tiro.getMasa()) {
+            anguloOptimo = tiro.crearSolucionador().anguloOptimo(tiro.getVelocidadInicial(), tiro.getAlturaInicial());
+            optimoContexto = tiro.getContexto();
+            optimoArrastre = tiro.getArrastre();
+            optimoVelocidad = tiro.getVelocidadInicial();
+            optimoAltura = tiro.getAlturaInicial();
+            optimoMasa = tiro.getMasa();
+        }
+        return anguloOptimo;
+    }
+    
+    /**
+     * Pista para los controles actuales con la física del solucionador (con
+     * aire simula unas cuantas trayectorias cortas: fuera del EDT); solo
+     * propone alturas hasta alturaMaxima, la más alta que permite el lanzador
+     * (null si la misión no admite pistas de ángulo/velocidad)
+     */
+    public String getPista(double velocidad, double alturaInicial, double alturaMaxima,
+                           SolucionadorTiro solucionador) {
+        if (tipoMision == TipoMisionTiro.ANGULO_OPTIMO) {
+            return null;
+        }
+        double x = tipoMision == TipoMisionTiro.LANZAMIENTO_SIMPLE ? valorObjetivo : getDianaActual();
+        if (Double.isNaN(x)) return null;
+        double anguloMinimo = solucionador.anguloVelocidadMinima(x, alturaInicial);
+        double vMin = solucionador.velocidadParaAlcance(anguloMinimo, x, alturaInicial);
+        
+        if (velocidadMaxima > 0 && !(vMin <= velocidadMaxima)) {
+            double hMin = solucionador.alturaMinima(velocidadMaxima, x, alturaMaxima);
+            if (Double.isNaN(hMin)) {
+                return String.format("Con %.0f m/s no se llega a %.0f m ni desde %.0f m",
+                                     velocidadMaxima, x, alturaMaxima);
+            }
+            return String.format("Con %.0f m/s no llegas desde %.1f m: sube a %.1f m o más",
+                                 velocidadMaxima, alturaInicial, hMin);
+        }
+        if (Double.isNaN(vMin)) return null;
+        if (velocidad < vMin) {
+            return String.format("Necesitas al menos %.1f m/s (a %.1f°)", vMin, anguloMinimo);
+        }
+        if (tipoMision == TipoMisionTiro.LANZAMIENTO_SIMPLE) {
+            return String.format("Con %.1f m/s basta un ángulo cercano a %.0f°", velocidad,
+                                 solucionador.anguloOptimo(velocidad, alturaInicial));
+        }
+        double[] angulos = solucionador.angulosParaAlcance(velocidad, x, alturaInicial);
+        if (angulos.length == 2) {
+            return String.format("Con %.1f m/s prueba %.1f° o %.1f°", velocidad, angulos[0], angulos[1]);
+        }
+        return angulos.length == 1
+            ? String.format("Con %.1f m/s prueba %.1f°", velocidad, angulos[0])
+            : null;
+    }
+    
     public TipoMisionTiro getTipoMision() {
         return tipoMision;
     }
+    
+    public double getVelocidadMaxima() {
+        return velocidadMaxima;
+    }
+    
+    public void setVelocidadMaxima(double velocidadMaxima) {
+        this.velocidadMaxima = velocidadMaxima;
+    }
+    
+    public double getVelocidadFija() {
+        return velocidadFija;
+    }
+    
+    public void setVelocidadFija(double velocidadFija) {
+        this.velocidadFija = velocidadFija;
+    }
 }
@@ -185,8 +185,7 @@ public class PanelMision extends JPanel {
                 simulacionPanel = new SimulacionCaidaLibre(frame); 
                 break;
             case "TIRO_PARABOLICO":
-                // TODO: Crear constructor similar en SimulacionTiroParabolico
-                simulacionPanel = new SimulacionTiroParabolico(frame);
+                simulacionPanel = new SimulacionTiroParabolico(frame, mision, onSimulationEndCallback);
                 break;
         }
         
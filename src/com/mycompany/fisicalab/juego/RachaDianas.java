@@ -0,0 +1,85 @@
+package com.mycompany.fisicalab.juego;
+
+import java.io.Serializable;
+
+/**
+ * Racha de dianas consecutivas evaluada tiro a tiro
+ * Solo guarda contadores y la suma de errores de la serie en curso, así que
+ * ocupa lo mismo tras tres tiros que tras mil. Las dianas se recorren en
+ * orden (volviendo a empezar si hacen falta más aciertos que dianas) y un
+ * fallo devuelve la serie a la primera.
+ */
+public class RachaDianas implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] distancias;
+    private final double tolerancia;
+    private final int aciertosNecesarios;
+
+    private int racha;           // aciertos seguidos de la serie en curso
+    private int mejorRacha;
+    private int tiros;
+    private double sumaErrores;  // de la serie en curso, para la precisión
+
+    public RachaDianas(double[] distancias, double tolerancia, int aciertosNecesarios) {
+        if (distancias.length == 0) {
+            throw new IllegalArgumentException("La racha necesita al menos una diana");
+        }
+        if (aciertosNecesarios < 1) {
+            throw new IllegalArgumentException("Aciertos necesarios no válidos: " + aciertosNecesarios);
+        }
+        this.distancias = distancias.clone();
+        this.tolerancia = tolerancia;
+        this.aciertosNecesarios = aciertosNecesarios;
+    }
+
+    /**
+     * Procesa el punto de impacto de un tiro
+     * @return true si acertó la diana que tocaba
+     */
+    public boolean registrar(double alcance) {
+        if (isCompletada()) {
+            return false; // la serie ya está cerrada hasta reiniciar()
+        }
+        tiros++;
+        double error = Math.abs(alcance - getDianaActual());
+        if (error <= tolerancia) {
+            racha++;
+            sumaErrores += error;
+            mejorRacha = Math.max(mejorRacha, racha);
+            return true;
+        }
+        racha = 0;
+        sumaErrores = 0;
+        return false;
+    }
+
+    public void reiniciar() {
+        racha = 0;
+        mejorRacha = 0;
+        tiros = 0;
+        sumaErrores = 0;
+    }
+
+    public double getDianaActual() {
+        return distancias[racha % distancias.length];
+    }
+
+    public boolean isCompletada() {
+        return racha >= aciertosNecesarios;
+    }
+
+    /**
+     * Error medio de los aciertos de la serie en curso (0 si aún no hay)
+     */
+    public double getErrorMedio() {
+        return racha > 0 ? sumaErrores / racha : 0;
+    }
+
+    public int getRacha() { return racha; }
+    public int getMejorRacha() { return mejorRacha; }
+    public int getTiros() { return tiros; }
+    public int getAciertosNecesarios() { return aciertosNecesarios; }
+    public double getTolerancia() { return tolerancia; }
+}
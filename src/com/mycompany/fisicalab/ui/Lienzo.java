@@ -0,0 +1,30 @@
+package com.mycompany.fisicalab.ui;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.util.function.Consumer;
+import javax.swing.JPanel;
+
+/**
+ * Panel auxiliar de una simulación (gráfica, energía) que delega su dibujo
+ * Como Escenario.renderizar(), renderizar() pinta sin pasar por Swing, para
+ * poder medirlo fuera de paintComponent.
+ */
+public class Lienzo extends JPanel {
+
+    private final Consumer<Graphics2D> dibujo;
+
+    public Lienzo(Consumer<Graphics2D> dibujo) {
+        this.dibujo = dibujo;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        renderizar((Graphics2D) g);
+    }
+
+    public void renderizar(Graphics2D g2d) {
+        dibujo.accept(g2d);
+    }
+}
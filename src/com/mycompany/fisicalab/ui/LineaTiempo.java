@@ -0,0 +1,120 @@
+package com.mycompany.fisicalab.ui;
+
+import com.mycompany.fisicalab.core.Escenario;
+import com.mycompany.fisicalab.core.MotorSimulacion;
+import com.mycompany.fisicalab.core.PlanificadorFotogramas;
+import com.mycompany.fisicalab.fisica.BufferRebobinado;
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.function.Supplier;
+
+/**
+ * Barra para recorrer hacia atrás y hacia delante el historial de una escena
+ * Solo se activa con el motor en pausa o detenido; al reanudar, el panel
+ * llama a continuarDesdeRevision() para seguir desde el instante elegido.
+ */
+public class LineaTiempo extends JPanel {
+
+    // Historial por defecto: unos 2 minutos a 30 ms por paso, 160 KB
+    public static final int CAPACIDAD_POR_DEFECTO = 4096;
+    
+    // Posiciones del deslizador y frecuencia con la que se mira el estado del motor
+    private static final int RESOLUCION = 1000;
+    private static final int PERIODO_SONDEO_MS = 100;
+
+    private final Escenario escenario;
+    private final Supplier<MotorSimulacion> motor; // cada lanzamiento crea uno nuevo
+    private final JSlider slider;
+    private final JLabel etiqueta;
+    private final DecimalFormat df = new DecimalFormat("0.00");
+    private PlanificadorFotogramas.Suscripcion sondeo;
+    private double tiempoInicial;
+    private double tiempoFinal;
+    private boolean ajustando; // el propio componente mueve el deslizador
+
+    public LineaTiempo(Escenario escenario, Supplier<MotorSimulacion> motor, Color colorTexto) {
+        this.escenario = escenario;
+        this.motor = motor;
+        setLayout(new BorderLayout(8, 0));
+        setOpaque(false);
+
+        JLabel titulo = new JLabel("⏪ Línea de tiempo");
+        titulo.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+        titulo.setForeground(colorTexto);
+        slider = new JSlider(0, RESOLUCION, RESOLUCION);
+        slider.setOpaque(false);
+        slider.setEnabled(false);
+        slider.setToolTipText("Pausa la simulación y arrastra para volver atrás");
+        etiqueta = new JLabel("-", SwingConstants.RIGHT);
+        etiqueta.setFont(new Font("Consolas", Font.BOLD, 12));
+        etiqueta.setForeground(colorTexto);
+        etiqueta.setPreferredSize(new Dimension(110, 20));
+
+        add(titulo, BorderLayout.WEST);
+        add(slider, BorderLayout.CENTER);
+        add(etiqueta, BorderLayout.EAST);
+
+        slider.addChangeListener(e -> {
+            if (ajustando || !slider.isEnabled()) return;
+            double t = tiempoInicial + (tiempoFinal - tiempoInicial) * slider.getValue() / RESOLUCION;
+            escenario.revisar(t);
+            etiqueta.setText(df.format(escenario.getTiempoRevision()) + " / " + df.format(tiempoFinal) + " s");
+        });
+    }
+
+    /**
+     * Si se estaba revisando, deja escena y motor en el instante elegido
+     * (llamar justo antes de reanudar el motor)
+     */
+    public void continuarDesdeRevision() {
+        double t = escenario.rebobinar();
+        if (!Double.isNaN(t)) {
+            motor.get().posicionar(t);
+        }
+        sincronizar();
+    }
+
+    /**
+     * Activa la barra cuando el motor se para con historial disponible y
+     * congela su rango hasta que vuelva a correr
+     */
+    private void sincronizar() {
+        MotorSimulacion m = motor.get();
+        BufferRebobinado historial = escenario.getHistorial();
+        boolean disponible = m != null && !m.isEnEjecucion() && historial != null && historial.getTamano() > 1;
+        // Una ejecución más corta que el sondeo no llega a desactivar la barra: se mira también el rango
+        boolean rangoNuevo = disponible && (historial.getTiempoInicial() != tiempoInicial
+                                            || historial.getTiempoFinal() != tiempoFinal);
+        if (disponible == slider.isEnabled() && !rangoNuevo) return;
+
+        slider.setEnabled(disponible);
+        ajustando = true;
+        try {
+            if (disponible) {
+                tiempoInicial = historial.getTiempoInicial();
+                tiempoFinal = historial.getTiempoFinal();
+                slider.setValue(RESOLUCION);
+                etiqueta.setText(df.format(tiempoFinal) + " / " + df.format(tiempoFinal) + " s");
+            } else {
+                slider.setValue(RESOLUCION);
+                etiqueta.setText("-");
+            }
+        } finally {
+            ajustando = false;
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // Se vuelve a dar de alta si el panel regresa a pantalla
+        sondeo = PlanificadorFotogramas.getInstancia().registrar(this, PERIODO_SONDEO_MS, this::sincronizar);
+    }
+
+    @Override
+    public void removeNotify() {
+        sondeo.cancelar();
+        super.removeNotify();
+    }
+}
@@ -1,5 +1,7 @@
 package com.mycompany.fisicalab.ui;
 
+import com.mycompany.fisicalab.core.CicloVida;
+import com.mycompany.fisicalab.core.PlanificadorFotogramas;
 import com.mycompany.fisicalab.core.SimuladorFrame;
 import com.mycompany.fisicalab.utils.UIHelper;
 import javax.swing.*;
@@ -14,10 +16,10 @@ import java.util.Random;
  * Menú principal de la aplicación con fondo animado
  * Versión 2.5
  */
-public class MenuPrincipal extends JPanel {
+public class MenuPrincipal extends JPanel implements CicloVida {
     
     private SimuladorFrame frame;
-    private Timer animacionTimer;
+    private PlanificadorFotogramas.Suscripcion animacion;
     private List<PapelFlotante> papeles;
     private Random random;
     
@@ -100,7 +102,6 @@ public class MenuPrincipal extends JPanel {
         
         inicializarPapeles();
         inicializarComponentes();
-        iniciarAnimacion();
     }
     
     private void inicializarPapeles() {
@@ -113,13 +114,12 @@ public class MenuPrincipal extends JPanel {
     }
     
     private void iniciarAnimacion() {
-        animacionTimer = new Timer(30, e -> {
+        animacion = PlanificadorFotogramas.getInstancia().registrar(this, 30, () -> {
             for (PapelFlotante papel : papeles) {
                 papel.actualizar(getWidth(), getHeight());
             }
             repaint();
         });
-        animacionTimer.start();
     }
     
     @Override
@@ -183,7 +183,7 @@ public class MenuPrincipal extends JPanel {
         // Botón Salir
         JButton btnSalir = crearBotonMenu("🚪 Salir", UIHelper.COLOR_PELIGRO);
         btnSalir.addActionListener(e -> {
-            animacionTimer.stop();
+            animacion.cancelar();
             System.exit(0);
         });
         
@@ -308,8 +308,6 @@ public class MenuPrincipal extends JPanel {
     }
     
     private void abrirSimulacion(String tipo) {
-        animacionTimer.stop(); // Detener animación al salir del menú
-        
         JPanel simulacion = null;
         
         switch (tipo) {
@@ -330,7 +328,6 @@ public class MenuPrincipal extends JPanel {
     }
     
     private void abrirSeleccionModo() {
-        animacionTimer.stop();
         com.mycompany.fisicalab.modos.SeleccionModo seleccion = 
             new com.mycompany.fisicalab.modos.SeleccionModo(frame);
         frame.mostrarSimulacion(seleccion);
@@ -338,8 +335,20 @@ public class MenuPrincipal extends JPanel {
     
     // Reiniciar animación cuando se vuelve al menú
     public void reiniciarAnimacion() {
-        if (animacionTimer != null && !animacionTimer.isRunning()) {
-            animacionTimer.start();
+        if (animacion == null || animacion.isCancelada()) {
+            iniciarAnimacion();
+        }
+    }
+    
+    @Override
+    public void alMostrar() {
+        reiniciarAnimacion();
+    }
+    
+    @Override
+    public void alOcultar() {
+        if (animacion != null) {
+            animacion.cancelar(); // Detener animación al salir del menú
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.mycompany.fisicalab.ui;
+
+import com.mycompany.fisicalab.fisica.CacheTrayectorias;
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+import com.mycompany.fisicalab.fisica.ModeloArrastre;
+import com.mycompany.fisicalab.fisica.SolucionadorTiro;
+import com.mycompany.fisicalab.fisica.Trayectoria;
+import com.mycompany.fisicalab.juego.MisionTiroParabolico;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Calcula en segundo plano la trayectoria prevista mientras se mueven los
+ * controles del cañón
+ * Las peticiones se agrupan: solo se calcula la última recibida, como mucho
+ * una vez cada RETARDO_MS. Un cálculo en curso se abandona en cuanto llega
+ * otra petición, y el resultado se entrega en el EDT solo si sigue vigente.
+ * El cálculo pasa por la caché de trayectorias, así que lanzar justo después
+ * con los mismos valores ya no vuelve a simular. Con una misión asignada, la
+ * previsión lleva también su pista para los mismos controles.
+ */
+public class PrevisualizadorTiro {
+
+    // Espera para agrupar los eventos seguidos de un deslizador (~30 previsiones por segundo)
+    private static final long RETARDO_MS = 33;
+
+    // Hilo compartido por todos los paneles; nunca toca componentes Swing
+    private static final ScheduledExecutorService HILO_PREVISION =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "FisicaLab-Prevision");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+    private final CacheTrayectorias cache;
+    private final Consumer<Prevision> destino; // se llama en el EDT
+    private final AtomicReference<Solicitud> ultima = new AtomicReference<>();
+    private final AtomicBoolean programada = new AtomicBoolean();
+    private volatile MisionTiroParabolico mision; // null = sin pistas
+    private volatile double alturaMaxima; // del lanzador, tope de las alturas que propone la pista
+
+    public PrevisualizadorTiro(CacheTrayectorias cache, Consumer<Prevision> destino) {
+        this.cache = cache;
+        this.destino = destino;
+    }
+
+    /**
+     * Pide la previsión para unos parámetros (desde cualquier hilo)
+     */
+    public void solicitar(double velocidadInicial, double angulo, double alturaInicial,
+                          ContextoFisico contexto, ModeloArrastre arrastre, double masa) {
+        ultima.set(new Solicitud(velocidadInicial, angulo, alturaInicial, contexto, arrastre, masa));
+        if (programada.compareAndSet(false, true)) {
+            HILO_PREVISION.schedule(this::calcular, RETARDO_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Misión cuyas pistas acompañan a cada previsión (null las quita)
+     */
+    public void setMision(MisionTiroParabolico mision, double alturaMaxima) {
+        this.alturaMaxima = alturaMaxima;
+        this.mision = mision;
+    }
+    
+    /**
+     * Descarta la petición pendiente y la que se esté calculando
+     */
+    public void cancelar() {
+        ultima.set(null);
+    }
+
+    private void calcular() {
+        // A partir de aquí otra petición programa su propio cálculo
+        programada.set(false);
+        Solicitud s = ultima.get();
+        if (s == null) return;
+        try {
+            Trayectoria t = cache.obtenerTiro(s.velocidadInicial, s.angulo, s.alturaInicial,
+                                              s.contexto, s.arrastre, s.masa,
+                                              () -> ultima.get() != s).getTrayectoria();
+            MisionTiroParabolico m = mision;
+            String pista = null;
+            if (m != null) {
+                if (ultima.get() != s) return; // la pista con aire cuesta más que la trayectoria
+                // El solucionador reutiliza un modelo: uno por cálculo, solo en este hilo
+                pista = m.getPista(s.velocidadInicial, s.alturaInicial, alturaMaxima,
+                                   new SolucionadorTiro(s.contexto, s.arrastre, s.masa));
+            }
+            Prevision prevision = new Prevision(t.getPosicionesX(), t.getPosicionesY(), pista);
+            SwingUtilities.invokeLater(() -> {
+                if (ultima.get() == s) {
+                    destino.accept(prevision);
+                }
+            });
+        } catch (CancellationException e) {
+            // Llegó otra petición durante el cálculo: ya tiene el suyo programado
+        } catch (RuntimeException e) {
+            // Una excepción no capturada dejaría sin previsión al resto de paneles
+            e.printStackTrace();
+        }
+    }
+
+    private static final class Solicitud {
+        final double velocidadInicial;
+        final double angulo;
+        final double alturaInicial;
+        final ContextoFisico contexto;
+        final ModeloArrastre arrastre;
+        final double masa;
+
+        Solicitud(double velocidadInicial, double angulo, double alturaInicial,
+                  ContextoFisico contexto, ModeloArrastre arrastre, double masa) {
+            this.velocidadInicial = velocidadInicial;
+            this.angulo = angulo;
+            this.alturaInicial = alturaInicial;
+            this.contexto = contexto;
+            this.arrastre = arrastre;
+            this.masa = masa;
+        }
+    }
+
+    /**
+     * Polilínea inmutable de la trayectoria prevista, en metros
+     * Se puede leer desde cualquier hilo sin bloqueos.
+     */
+    public static final class Prevision {
+        private final double[] x;
+        private final double[] y;
+        private final String pista;
+
+        private Prevision(double[] x, double[] y, String pista) {
+            this.x = x;
+            this.y = y;
+            this.pista = pista;
+        }
+
+        public int getTamano() { return x.length; }
+        public double getX(int i) { return x[i]; }
+        public double getY(int i) { return y[i]; }
+        public double getAlcance() { return x[x.length - 1]; }
+
+        /**
+         * Pista de la misión para estos controles (null si no hay)
+         */
+        public String getPista() { return pista; }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycompany.fisicalab.ui;
+
+import com.mycompany.fisicalab.core.MotorSimulacion;
+import javax.swing.*;
+import java.awt.*;
+import java.text.DecimalFormat;
+import java.util.function.Supplier;
+
+/**
+ * Deslizador de cámara lenta / rápida (de 0.1x a 100x) común a las simulaciones
+ * La escala se reparte en décimas de potencia de 10, así cada posición
+ * multiplica la anterior por el mismo factor. Los cambios se aplican al
+ * motor en marcha; al crear un motor nuevo hay que pasarle getEscala().
+ */
+public class SelectorEscalaTiempo extends JPanel {
+
+    private static final int DIVISIONES_POR_DECADA = 10;
+
+    private final Supplier<MotorSimulacion> motor; // cada lanzamiento crea uno nuevo
+    private final JSlider slider;
+    private final JLabel etiqueta;
+    private final DecimalFormat df = new DecimalFormat("0.##");
+    private double escala = 1.0;
+
+    /**
+     * @param titulo texto a la izquierda del deslizador, o null para no mostrarlo
+     */
+    public SelectorEscalaTiempo(String titulo, Supplier<MotorSimulacion> motor, Color colorTexto) {
+        this.motor = motor;
+        setLayout(new BorderLayout(8, 0));
+        setOpaque(false);
+
+        int min = (int) Math.round(Math.log10(MotorSimulacion.ESCALA_MINIMA) * DIVISIONES_POR_DECADA);
+        int max = (int) Math.round(Math.log10(MotorSimulacion.ESCALA_MAXIMA) * DIVISIONES_POR_DECADA);
+        slider = new JSlider(min, max, 0);
+        slider.setOpaque(false);
+        // Estrecho por defecto: tiene que caber en los paneles laterales
+        slider.setPreferredSize(new Dimension(140, slider.getPreferredSize().height));
+        slider.setToolTipText("Velocidad de reproducción (no cambia la precisión de la física)");
+        etiqueta = new JLabel(formatear(escala), SwingConstants.RIGHT);
+        etiqueta.setFont(new Font("Consolas", Font.BOLD, 12));
+        etiqueta.setForeground(colorTexto);
+        etiqueta.setPreferredSize(new Dimension(52, 20));
+
+        if (titulo != null) {
+            JLabel label = new JLabel(titulo);
+            label.setFont(new Font("Segoe UI", Font.PLAIN, 11));
+            label.setForeground(colorTexto);
+            add(label, BorderLayout.WEST);
+        }
+        add(slider, BorderLayout.CENTER);
+        add(etiqueta, BorderLayout.EAST);
+
+        slider.addChangeListener(e -> {
+            escala = Math.pow(10, (double) slider.getValue() / DIVISIONES_POR_DECADA);
+            etiqueta.setText(formatear(escala));
+            MotorSimulacion m = motor.get();
+            if (m != null) {
+                m.setEscalaTiempo(escala);
+            }
+        });
+    }
+
+    private String formatear(double valor) {
+        // Dos cifras significativas bastan: 0.13x, 1.3x, 13x
+        double redondeo = valor < 1 ? 100 : valor < 10 ? 10 : 1;
+        return df.format(Math.round(valor * redondeo) / redondeo) + "x";
+    }
+
+    public double getEscala() {
+        return escala;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        slider.setEnabled(enabled);
+    }
+}
@@ -1,8 +1,17 @@
 package com.mycompany.fisicalab.ui;
 
+import com.mycompany.fisicalab.core.CicloVida;
 import com.mycompany.fisicalab.core.Escenario;
+import com.mycompany.fisicalab.core.Fotograma;
 import com.mycompany.fisicalab.core.MotorSimulacion;
+import com.mycompany.fisicalab.core.PlanificadorFotogramas;
 import com.mycompany.fisicalab.core.SimuladorFrame;
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+import com.mycompany.fisicalab.fisica.ModeloArrastre;
+import com.mycompany.fisicalab.fisica.ModeloCaidaLibre;
+import com.mycompany.fisicalab.utils.ArchivoGrabaciones;
+import com.mycompany.fisicalab.utils.LineaTexto;
+import com.mycompany.fisicalab.utils.TextoFijo;
 import com.mycompany.fisicalab.utils.UIHelper;
 import javax.swing.*;
 import java.awt.*;
@@ -16,7 +25,7 @@ import java.util.List;
  * Simulación de Caída Libre v4.0
  * MEJORAS: Sin bugs, parámetros en tiempo real, sin congelamiento, interfaz profesional
  */
-public class SimulacionCaidaLibre extends JPanel {
+public class SimulacionCaidaLibre extends JPanel implements CicloVida {
     
     private SimuladorFrame frame;
     private EscenarioCaidaLibre escenario;
@@ -25,20 +34,27 @@ public class SimulacionCaidaLibre extends JPanel {
     
     // UI
     private JButton btnSoltar, btnPausar, btnReiniciar, btnVolver;
-    private JSlider sliderAltura, sliderGravedad, sliderVelocidadSim, sliderMasa;
-    private JLabel labelAltura, labelGravedad, labelVelocidadSim, labelMasa;
+    private JSlider sliderAltura, sliderGravedad, sliderMasa;
+    private JLabel labelAltura, labelGravedad, labelMasa;
     private JSpinner spinnerVelocidadInicial;
-    private JCheckBox chkMostrarVectores, chkMostrarEnergia;
+    private JCheckBox chkMostrarVectores, chkMostrarEnergia, chkResistenciaAire;
     private JPanel panelEnergia;
+    private LineaTiempo lineaTiempo;
+    private SelectorEscalaTiempo selectorEscala;
     
     // Parámetros
     private double alturaInicial = 50.0;
     private double velocidadInicial = 0.0;
     private double gravedad = 9.8;
+    private ContextoFisico contexto = ContextoFisico.TIERRA; // constantes de la próxima ejecución
     private double masa = 1.0;
-    private int velocidadSimulacion = 30;
     private boolean mostrarVectores = true;
     private boolean mostrarEnergia = false;
+    private boolean resistenciaAire = false; // con aire la masa sí importa
+    private boolean pasoFijo = true; // física en hilo propio con paso fijo
+    
+    // Paso de la física; la velocidad de reproducción la da la escala de tiempo
+    private static final int PASO_FISICA_MS = 30;
     
     public SimulacionCaidaLibre(SimuladorFrame frame) {
         this.frame = frame;
@@ -46,8 +62,10 @@ public class SimulacionCaidaLibre extends JPanel {
         setBackground(UIHelper.COLOR_FONDO);
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        motor = new MotorSimulacion(velocidadSimulacion);
+        motor = new MotorSimulacion(PASO_FISICA_MS);
         escenario = new EscenarioCaidaLibre(900, 600);
+        escenario.setDestinoGrabacion(ArchivoGrabaciones::guardar);
+        escenario.setCapacidadHistorial(LineaTiempo.CAPACIDAD_POR_DEFECTO);
         
         inicializarComponentes();
         configurarTeclado();
@@ -81,7 +99,7 @@ public class SimulacionCaidaLibre extends JPanel {
         actionMap.put("toggleVectores", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                chkMostrarVectores.setSelected(!chkMostrarVectores.isSelected());
+                chkMostrarVectores.doClick();
             }
         });
         
@@ -89,7 +107,7 @@ public class SimulacionCaidaLibre extends JPanel {
         actionMap.put("toggleEnergia", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                chkMostrarEnergia.setSelected(!chkMostrarEnergia.isSelected());
+                chkMostrarEnergia.doClick();
             }
         });
     }
@@ -125,17 +143,16 @@ public class SimulacionCaidaLibre extends JPanel {
         JPanel panelCentral = new JPanel(new BorderLayout());
         panelCentral.setOpaque(false);
         panelCentral.add(escenario, BorderLayout.CENTER);
+        lineaTiempo = new LineaTiempo(escenario, () -> motor, new Color(52, 73, 94));
+        lineaTiempo.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+        panelCentral.add(lineaTiempo, BorderLayout.NORTH);
         
         // Panel de energía
-        panelEnergia = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (mostrarEnergia) {
-                    escenario.dibujarPanelEnergia((Graphics2D) g);
-                }
+        panelEnergia = new Lienzo(g2d -> {
+            if (mostrarEnergia) {
+                escenario.dibujarPanelEnergia(g2d);
             }
-        };
+        });
         panelEnergia.setPreferredSize(new Dimension(900, 120));
         panelEnergia.setBackground(Color.WHITE);
         panelEnergia.setBorder(BorderFactory.createTitledBorder("Análisis de Energía"));
@@ -218,7 +235,8 @@ public class SimulacionCaidaLibre extends JPanel {
         sliderGravedad.addChangeListener(e -> {
             gravedad = sliderGravedad.getValue() / 10.0;
             labelGravedad.setText(df.format(gravedad) + " m/s²");
-            MotorSimulacion.setGravedad(gravedad);
+            contexto = contexto.cambiarGravedad(gravedad);
+            escenario.setContexto(contexto);
         });
         labelGravedad = new JLabel(df.format(gravedad) + " m/s²");
         labelGravedad.setFont(new Font("Monospaced", Font.BOLD, 13));
@@ -229,21 +247,25 @@ public class SimulacionCaidaLibre extends JPanel {
         infoGrav.setFont(new Font("Arial", Font.ITALIC, 9));
         infoGrav.setForeground(Color.GRAY);
         panel.add(infoGrav);
+        panel.add(Box.createRigidArea(new Dimension(0, 8)));
+        
+        // Resistencia del aire
+        chkResistenciaAire = new JCheckBox("Resistencia del aire", false);
+        estilizarCheckBox(chkResistenciaAire);
+        chkResistenciaAire.addActionListener(e -> {
+            resistenciaAire = chkResistenciaAire.isSelected();
+            escenario.setResistenciaAire(resistenciaAire);
+            escenario.repaint();
+        });
+        panel.add(chkResistenciaAire);
         panel.add(Box.createRigidArea(new Dimension(0, 12)));
         
-        // Velocidad simulación
+        // Velocidad simulación (cámara lenta / rápida)
         panel.add(crearEtiqueta("Velocidad Simulación:"));
-        sliderVelocidadSim = crearSlider(10, 100, 30);
-        sliderVelocidadSim.addChangeListener(e -> {
-            velocidadSimulacion = sliderVelocidadSim.getValue();
-            String vel = velocidadSimulacion < 30 ? "⚡ Rápida" : 
-                        velocidadSimulacion > 50 ? "🐌 Lenta" : "⚙️ Normal";
-            labelVelocidadSim.setText(vel);
-        });
-        labelVelocidadSim = new JLabel("⚙️ Normal");
-        labelVelocidadSim.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        panel.add(sliderVelocidadSim);
-        panel.add(labelVelocidadSim);
+        selectorEscala = new SelectorEscalaTiempo(null, () -> motor, new Color(44, 62, 80));
+        selectorEscala.setMaximumSize(selectorEscala.getPreferredSize());
+        selectorEscala.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(selectorEscala);
         panel.add(Box.createRigidArea(new Dimension(0, 15)));
         
         // OPCIONES VISUALES
@@ -324,16 +346,20 @@ public class SimulacionCaidaLibre extends JPanel {
         escenario.setAlturaInicial(alturaInicial);
         escenario.setVelocidadInicial(velocidadInicial);
         escenario.setMasa(masa);
-        escenario.reiniciar();
         
-        motor = new MotorSimulacion(velocidadSimulacion);
-        motor.iniciar(e -> {
-            escenario.actualizar();
-            escenario.repaint();
-            if (mostrarEnergia) {
-                panelEnergia.repaint();
-            }
-        });
+        motor = new MotorSimulacion(PASO_FISICA_MS, contexto);
+        motor.setEscalaTiempo(selectorEscala.getEscala());
+        escenario.setMotor(motor);
+        escenario.iniciarGrabacion("CAIDA_LIBRE");
+        escenario.reiniciar();
+        if (pasoFijo) {
+            motor.iniciarPasoFijo(e -> escenario.actualizar(), this::repintarEscena);
+        } else {
+            motor.iniciar(e -> {
+                escenario.actualizar();
+                repintarEscena();
+            });
+        }
         
         btnSoltar.setEnabled(false);
         btnPausar.setEnabled(true);
@@ -341,6 +367,24 @@ public class SimulacionCaidaLibre extends JPanel {
         spinnerVelocidadInicial.setEnabled(false);
         sliderMasa.setEnabled(false);
         sliderGravedad.setEnabled(false);
+        chkResistenciaAire.setEnabled(false);
+    }
+    
+    private void repintarEscena() {
+        // Desde el hilo de física o el EDT: se repinta en el próximo fotograma, una vez
+        PlanificadorFotogramas planificador = PlanificadorFotogramas.getInstancia();
+        planificador.solicitarRepintado(escenario);
+        if (mostrarEnergia) {
+            planificador.solicitarRepintado(panelEnergia);
+        }
+    }
+    
+    /**
+     * Elige entre el motor de paso fijo (hilo propio) y el Timer de Swing
+     * para los próximos lanzamientos
+     */
+    public void setPasoFijo(boolean pasoFijo) {
+        this.pasoFijo = pasoFijo;
     }
     
     private void pausarSimulacion() {
@@ -348,6 +392,7 @@ public class SimulacionCaidaLibre extends JPanel {
             motor.pausar();
             btnPausar.setText("▶️ Reanudar");
         } else {
+            lineaTiempo.continuarDesdeRevision();
             motor.reanudar();
             btnPausar.setText("⏸️ Pausar");
         }
@@ -358,6 +403,7 @@ public class SimulacionCaidaLibre extends JPanel {
             motor.detener();
             motor.reiniciar();
         }
+        escenario.cancelarGrabacion();
         escenario.reiniciar();
         escenario.repaint();
         panelEnergia.repaint();
@@ -369,14 +415,24 @@ public class SimulacionCaidaLibre extends JPanel {
         spinnerVelocidadInicial.setEnabled(true);
         sliderMasa.setEnabled(true);
         sliderGravedad.setEnabled(true);
+        chkResistenciaAire.setEnabled(true);
     }
     
     private void volverAlMenu() {
+        // El marco llama a alOcultar() y liberar() al cambiar de pantalla
+        frame.mostrarMenuPrincipal();
+    }
+    
+    @Override
+    public void alOcultar() {
         if (motor != null) {
             motor.detener();
-            MotorSimulacion.resetGravedad();
         }
-        frame.mostrarMenuPrincipal();
+    }
+    
+    @Override
+    public void liberar() {
+        escenario.liberar();
     }
     
     private JLabel crearSeccion(String texto) {
@@ -417,91 +473,151 @@ public class SimulacionCaidaLibre extends JPanel {
     
     // Escenario interno
     private class EscenarioCaidaLibre extends Escenario {
-        private double posY, velY, h0, v0, m, tiempo;
-        private boolean enSuelo, mostrarVect;
+        // El pintado solo lee el Fotograma publicado; esto es estado del hilo de física
+        private volatile boolean enSuelo;
+        private double h0, v0, m;
+        private boolean mostrarVect;
         private double energiaInicial;
+        private final ModeloCaidaLibre modelo = new ModeloCaidaLibre(0, 0, ContextoFisico.TIERRA);
+        
+        // Recursos del pintado, compartidos a través de UIHelper y creados una sola vez
+        private final Color colorCayendo = UIHelper.color(231, 76, 60);
+        private final Color colorEnSuelo = UIHelper.color(46, 204, 113);
+        private final Color bordeCayendo = colorCayendo.darker();
+        private final Color bordeEnSuelo = colorEnSuelo.darker();
+        private final Color colorSombra = UIHelper.color(0, 0, 0, 50);
+        private final Color colorBrillo = UIHelper.color(255, 255, 255, 120);
+        private final Color colorVelocidad = UIHelper.color(39, 174, 96);
+        private final Color colorGravedad = UIHelper.color(155, 89, 182);
+        private final Color colorPotencial = UIHelper.color(41, 128, 185);
+        private final Color colorBordeBarra = UIHelper.color(189, 195, 199);
+        private final Color colorFondoInfo = UIHelper.color(255, 255, 255, 240);
+        private final Color colorVersion = UIHelper.color(127, 140, 141);
+        private final BasicStroke trazoBorde = UIHelper.trazo(2f);
+        private final BasicStroke trazoVelocidad = UIHelper.trazo(3f);
+        private final BasicStroke trazoGravedad = UIHelper.trazoDiscontinuo(2f, BasicStroke.JOIN_BEVEL, 5f);
+        private final Font fuenteRotulo = UIHelper.fuente("Arial", Font.BOLD, 12);
+        private final Font fuenteDatos = UIHelper.fuente("Monospaced", Font.PLAIN, 11);
+        private final Font fuenteVersion = UIHelper.fuente("Arial", Font.ITALIC, 11);
+        // Las etiquetas con emojis no pasan por la vía rápida de drawString
+        private final TextoFijo[] etiquetasInfo = {
+            new TextoFijo("⏱️ Tiempo: ", fuenteDatos),
+            new TextoFijo("📍 Altura: ", fuenteDatos),
+            new TextoFijo("⬇️ Velocidad: ", fuenteDatos),
+            new TextoFijo("⚡ Aceleración: ", fuenteDatos),
+            new TextoFijo("⚖️ Masa: ", fuenteDatos),
+            new TextoFijo("🔋 Eₚ: ", fuenteDatos),
+            new TextoFijo("⚡ Eₖ: ", fuenteDatos),
+            new TextoFijo("💯 E total: ", fuenteDatos)
+        };
+        private final TextoFijo estadoEnSuelo = new TextoFijo("✓ EN SUELO", fuenteDatos);
+        private final TextoFijo estadoCayendo = new TextoFijo("⬇️ CAYENDO", fuenteDatos);
+        private final TextoFijo estadoSubiendo = new TextoFijo("⬆️ SUBIENDO", fuenteDatos);
         
         public EscenarioCaidaLibre(int w, int h) {
             super(w, h);
             this.motor = SimulacionCaidaLibre.this.motor;
             this.mostrarVect = true;
+            modelo.setOyenteEventos(evento -> {
+                enSuelo = true;
+                motor.detener();
+            });
             reiniciar();
         }
         
-        public void setAlturaInicial(double h) { this.h0 = h; }
-        public void setVelocidadInicial(double v) { this.v0 = v; }
-        public void setMasa(double masa) { this.m = masa; }
+        public void setAlturaInicial(double h) {
+            this.h0 = h;
+            modelo.setAlturaInicial(h);
+            invalidarCapaFija(); // la línea de altura inicial está en la capa fija
+        }
+        public void setVelocidadInicial(double v) { this.v0 = v; modelo.setVelocidadInicial(v); }
+        public void setMasa(double masa) { this.m = masa; modelo.setMasa(masa); }
+        public void setContexto(ContextoFisico c) { modelo.setContexto(c); }
+        public void setResistenciaAire(boolean aire) { modelo.setArrastre(aire ? ModeloArrastre.ESFERA_10CM : null); }
         public void setMostrarVectores(boolean m) { this.mostrarVect = m; }
         
         public void reiniciar() {
-            posY = h0;
-            velY = v0;
-            tiempo = 0;
+            modelo.setContexto(contexto);
+            modelo.setIntegrador(motor != null ? motor.getIntegrador() : null);
+            modelo.reiniciar();
             enSuelo = false;
-            energiaInicial = m * MotorSimulacion.getGravedad() * h0 + 0.5 * m * v0 * v0;
+            publicar(Fotograma.fijo(modelo, false));
+            energiaInicial = m * modelo.getGravedad() * h0 + 0.5 * m * v0 * v0;
+            grabarMuestra(modelo);
         }
         
         public void dibujarPanelEnergia(Graphics2D g2d) {
             int w = panelEnergia.getWidth();
             int h = panelEnergia.getHeight();
+            Fotograma f = getFotograma();
             
-            double ep = m * MotorSimulacion.getGravedad() * Math.max(0, posY);
-            double ek = 0.5 * m * velY * velY;
+            double ep = m * modelo.getGravedad() * Math.max(0, f.getPosY());
+            double ek = 0.5 * m * f.getVelY() * f.getVelY();
             double eTotal = ep + ek;
             double propEp = energiaInicial > 0 ? ep / energiaInicial : 0;
             double propEk = energiaInicial > 0 ? ek / energiaInicial : 0;
             
-            g2d.setFont(new Font("Arial", Font.BOLD, 12));
+            g2d.setFont(fuenteRotulo);
             g2d.setColor(Color.BLACK);
             g2d.drawString("Energía Potencial", 20, 30);
             g2d.drawString("Energía Cinética", 20 + 200, 30);
             g2d.drawString("Energía Total", 20 + 400, 30);
             
             // Barras de energía
-            g2d.setColor(new Color(41, 128, 185));
+            g2d.setColor(colorPotencial);
             g2d.fillRect(20, 40, (int)(180 * propEp), 40);
-            g2d.setColor(new Color(231, 76, 60));
+            g2d.setColor(colorCayendo);
             g2d.fillRect(220, 40, (int)(180 * propEk), 40);
-            g2d.setColor(new Color(46, 204, 113));
+            g2d.setColor(colorEnSuelo);
             g2d.fillRect(420, 40, 180, 40);
             
-            g2d.setColor(new Color(189, 195, 199));
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(colorBordeBarra);
+            g2d.setStroke(trazoBorde);
             g2d.drawRect(20, 40, 180, 40);
             g2d.drawRect(220, 40, 180, 40);
             g2d.drawRect(420, 40, 180, 40);
             
             // Valores
             g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 11));
-            g2d.drawString(String.format("%.2f J (%.0f%%)", ep, propEp * 100), 30, 75);
-            g2d.drawString(String.format("%.2f J (%.0f%%)", ek, propEk * 100), 230, 75);
-            g2d.drawString(String.format("%.2f J", eTotal), 430, 75);
+            g2d.setFont(fuenteDatos);
+            linea(0).agregar(ep, 2).agregar(" J (").agregar(propEp * 100, 0).agregar("%)").dibujar(g2d, 30, 75);
+            linea(0).agregar(ek, 2).agregar(" J (").agregar(propEk * 100, 0).agregar("%)").dibujar(g2d, 230, 75);
+            linea(0).agregar(eTotal, 2).agregar(" J").dibujar(g2d, 430, 75);
             
             // Error de conservación
             double error = Math.abs(eTotal - energiaInicial) / energiaInicial * 100;
-            g2d.setColor(error < 2 ? new Color(46, 204, 113) : new Color(231, 76, 60));
-            g2d.drawString("Error: " + df.format(error) + "%", 620, 75);
+            g2d.setColor(error < 2 ? colorEnSuelo : colorCayendo);
+            linea(0).agregar("Error: ").agregar(error, 2).agregar('%').dibujar(g2d, 620, 75);
         }
         
         @Override
         public void actualizar() {
             if (motor == null || enSuelo) return;
             
-            tiempo = motor.getTiempoTranscurrido();
-            posY = h0 + v0 * tiempo - 0.5 * MotorSimulacion.getGravedad() * tiempo * tiempo;
-            velY = v0 - MotorSimulacion.getGravedad() * tiempo;
-            
-            if (posY <= 0) {
-                posY = 0;
-                velY = 0;
-                enSuelo = true;
-                motor.detener();
-            }
+            // El oyente marca enSuelo dentro de actualizar; el tiempo queda en el instante del impacto
+            modelo.actualizar(motor.getTiempoTranscurrido());
+            publicar(getFotograma().siguiente(modelo, enSuelo));
+            grabarMuestra(modelo);
+            entregarGrabacion();
         }
         
         @Override
-        protected void dibujar(Graphics2D g2d) {
+        protected void aplicarInstante(double t, double x, double y, double vx, double vy) {
+            enSuelo = modelo.isTerminado() && t >= modelo.getTiempo();
+            publicar(Fotograma.fijo(t, x, y, vx, vy, enSuelo));
+        }
+        
+        @Override
+        protected void rebobinarModelo(double t) {
+            // La fórmula cerrada (o el integrador desde 0) reproduce el estado en t
+            modelo.reiniciar();
+            modelo.actualizar(t);
+            enSuelo = modelo.isTerminado();
+            publicar(Fotograma.fijo(modelo, enSuelo));
+        }
+        
+        @Override
+        protected void dibujarCapaFija(Graphics2D g2d, int w, int h) {
             // Fondo degradado
             GradientPaint cielo = new GradientPaint(0, 0, new Color(135, 206, 250),
                                                      0, alto, new Color(240, 248, 255));
@@ -536,16 +652,24 @@ public class SimulacionCaidaLibre extends JPanel {
             g2d.drawLine(100, altInicY, ancho - 100, altInicY);
             g2d.setFont(new Font("Arial", Font.BOLD, 12));
             g2d.drawString("h₀=" + df.format(h0) + "m", ancho - 150, altInicY - 5);
+        }
+        
+        @Override
+        protected void dibujar(Graphics2D g2d) {
+            Fotograma f = getFotograma(); // todo el fotograma sale del mismo paso
+            double velY = f.getVelY();
+            boolean enSuelo = f.isTerminado();
+            int sueloY = alto - 50;
             
             // Objeto cayendo
             int objX = ancho / 2;
-            int objY = sueloY - metrosAPixeles(posY);
+            int objY = sueloY - metrosAPixeles(interpolar(f.getPosYAnterior(), f.getPosY()));
             
-            Color colorObj = enSuelo ? new Color(46, 204, 113) : new Color(231, 76, 60);
+            Color colorObj = enSuelo ? colorEnSuelo : colorCayendo;
             int radioObj = (int)(15 * Math.sqrt(m));
             
             // Sombra
-            g2d.setColor(new Color(0, 0, 0, 50));
+            g2d.setColor(colorSombra);
             g2d.fillOval(objX - radioObj + 2, objY - radioObj + 2, radioObj * 2, radioObj * 2);
             
             // Objeto
@@ -553,19 +677,19 @@ public class SimulacionCaidaLibre extends JPanel {
             g2d.fillOval(objX - radioObj, objY - radioObj, radioObj * 2, radioObj * 2);
             
             // Brillo
-            g2d.setColor(new Color(255, 255, 255, 120));
+            g2d.setColor(colorBrillo);
             g2d.fillOval(objX - radioObj + 4, objY - radioObj + 4, radioObj, radioObj);
             
             // Borde
-            g2d.setColor(colorObj.darker());
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(enSuelo ? bordeEnSuelo : bordeCayendo);
+            g2d.setStroke(trazoBorde);
             g2d.drawOval(objX - radioObj, objY - radioObj, radioObj * 2, radioObj * 2);
             
             // Vectores
             if (mostrarVect && !enSuelo && Math.abs(velY) > 0.1) {
                 // Vector velocidad
-                g2d.setColor(new Color(39, 174, 96));
-                g2d.setStroke(new BasicStroke(3));
+                g2d.setColor(colorVelocidad);
+                g2d.setStroke(trazoVelocidad);
                 int longFlecha = Math.min((int)(Math.abs(velY) * 5), 100);
                 int dir = velY < 0 ? 1 : -1;
                 g2d.drawLine(objX, objY, objX, objY + dir * longFlecha);
@@ -573,15 +697,14 @@ public class SimulacionCaidaLibre extends JPanel {
                             objX - 5, objY + dir * longFlecha - dir * 8);
                 g2d.drawLine(objX, objY + dir * longFlecha,
                             objX + 5, objY + dir * longFlecha - dir * 8);
-                g2d.setFont(new Font("Arial", Font.BOLD, 12));
-                g2d.drawString("v=" + df.format(Math.abs(velY)),
-                              objX + 15, objY + dir * longFlecha / 2);
+                g2d.setFont(fuenteRotulo);
+                linea(0).agregar("v=").agregar(Math.abs(velY), 2)
+                        .dibujar(g2d, objX + 15, objY + dir * longFlecha / 2);
                 
                 // Vector gravedad
-                g2d.setColor(new Color(155, 89, 182));
-                g2d.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT,
-                                             BasicStroke.JOIN_BEVEL, 0, new float[]{5}, 0));
-                int gFlecha = (int)(MotorSimulacion.getGravedad() * 8);
+                g2d.setColor(colorGravedad);
+                g2d.setStroke(trazoGravedad);
+                int gFlecha = (int)(modelo.getGravedad() * 8);
                 g2d.drawLine(objX + 30, objY, objX + 30, objY + gFlecha);
                 g2d.drawLine(objX + 30, objY + gFlecha,
                             objX + 25, objY + gFlecha - 8);
@@ -591,55 +714,58 @@ public class SimulacionCaidaLibre extends JPanel {
             }
             
             // Panel de información
-            dibujarPanelInfo(g2d);
+            dibujarPanelInfo(g2d, f);
         }
         
-        private void dibujarPanelInfo(Graphics2D g2d) {
-            double ep = m * MotorSimulacion.getGravedad() * Math.max(0, posY);
+        private void dibujarPanelInfo(Graphics2D g2d, Fotograma f) {
+            double posY = f.getPosY();
+            double velY = f.getVelY();
+            boolean enSuelo = f.isTerminado();
+            double ep = m * modelo.getGravedad() * Math.max(0, posY);
             double ek = 0.5 * m * velY * velY;
             double eTotal = ep + ek;
             
-            String estado = enSuelo ? "✓ EN SUELO" :
-                           velY < 0 ? "⬇️ CAYENDO" : "⬆️ SUBIENDO";
+            TextoFijo estado = enSuelo ? estadoEnSuelo :
+                               velY < 0 ? estadoCayendo : estadoSubiendo;
             
-            String[] datos = {
-                "⏱️ Tiempo: " + df.format(tiempo) + " s " + estado,
-                "📍 Altura: " + df.format(Math.max(0, posY)) + " m",
-                "⬇️ Velocidad: " + df.format(velY) + " m/s",
-                "⚡ Aceleración: " + df.format(MotorSimulacion.getGravedad()) + " m/s²",
-                "⚖️ Masa: " + df.format(m) + " kg",
-                "🔋 Eₚ: " + df.format(ep) + " J",
-                "⚡ Eₖ: " + df.format(ek) + " J",
-                "💯 E total: " + df.format(eTotal) + " J"
-            };
+            LineaTexto tiempo = linea(0).agregar(f.getTiempo(), 2).agregar(" s ");
+            linea(1).agregar(Math.max(0, posY), 2).agregar(" m");
+            linea(2).agregar(velY, 2).agregar(" m/s");
+            linea(3).agregar(modelo.getGravedad(), 2).agregar(" m/s²");
+            LineaTexto masa = linea(4).agregar(m, 2).agregar(" kg");
+            if (modelo.getArrastre() != null) {
+                masa.agregar("  (vₜ ").agregar(modelo.getVelocidadTerminal(), 2).agregar(" m/s)");
+            }
+            linea(5).agregar(ep, 2).agregar(" J");
+            linea(6).agregar(ek, 2).agregar(" J");
+            linea(7).agregar(eTotal, 2).agregar(" J");
             
             int panelX = 20;
             int panelY = 20;
             int panelW = 280;
-            int panelH = (datos.length * 18) + 20;
+            int panelH = (etiquetasInfo.length * 18) + 20;
             
             // Fondo
-            g2d.setColor(new Color(255, 255, 255, 240));
+            g2d.setColor(colorFondoInfo);
             g2d.fillRoundRect(panelX, panelY, panelW, panelH, 15, 15);
             
             // Borde
             g2d.setColor(UIHelper.COLOR_SECUNDARIO);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(trazoBorde);
             g2d.drawRoundRect(panelX, panelY, panelW, panelH, 15, 15);
             
             // Texto
             g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 11));
-            int y = panelY + 16;
-            
-            for (String linea : datos) {
-                g2d.drawString(linea, panelX + 12, y);
-                y += 18;
-            }
+            g2d.setFont(fuenteDatos);
+            int x = panelX + 12;
+            dibujarLineas(g2d, etiquetasInfo, x, panelY + 16, 18);
+            // El estado sigue al tiempo, en la primera línea
+            estado.dibujar(g2d, x + etiquetasInfo[0].getAncho(g2d) + tiempo.getAncho(g2d.getFontMetrics()),
+                           panelY + 16);
             
             // Versión
-            g2d.setColor(new Color(127, 140, 141));
-            g2d.setFont(new Font("Arial", Font.ITALIC, 11));
+            g2d.setColor(colorVersion);
+            g2d.setFont(fuenteVersion);
             g2d.drawString("v4.0", ancho - 40, alto - 10);
         }
     }
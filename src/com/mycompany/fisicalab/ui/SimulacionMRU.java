@@ -1,17 +1,23 @@
 package com.mycompany.fisicalab.ui;
 
+import com.mycompany.fisicalab.core.CicloVida;
 import com.mycompany.fisicalab.core.Escenario;
+import com.mycompany.fisicalab.core.Fotograma;
 import com.mycompany.fisicalab.core.MotorSimulacion;
+import com.mycompany.fisicalab.core.PlanificadorFotogramas;
+import com.mycompany.fisicalab.core.SerieTemporal;
 import com.mycompany.fisicalab.core.SimuladorFrame;
 import com.mycompany.fisicalab.core.SimulationResult;
+import com.mycompany.fisicalab.fisica.ModeloMRU;
 import com.mycompany.fisicalab.juego.Mision;
+import com.mycompany.fisicalab.utils.ArchivoGrabaciones;
+import com.mycompany.fisicalab.utils.LineaTexto;
+import com.mycompany.fisicalab.utils.TextoFijo;
 import com.mycompany.fisicalab.utils.UIHelper;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.Path2D;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Consumer;
 import javax.swing.*;
 import javax.swing.event.ChangeListener;
@@ -20,7 +26,7 @@ import javax.swing.event.ChangeListener;
  * Simulación de Movimiento Rectilíneo Uniforme (MRU) v4.0
  * MEJORAS: Sin bugs, modificación en tiempo real, interfaz profesional
  */
-public class SimulacionMRU extends JPanel {
+public class SimulacionMRU extends JPanel implements CicloVida {
     
     private SimuladorFrame frame;
     private EscenarioMRU escenario;
@@ -31,21 +37,32 @@ public class SimulacionMRU extends JPanel {
     
     // Componentes UI
     private JButton btnIniciar, btnPausar, btnReiniciar, btnVolver;
-    private JSlider sliderVelocidad, sliderVelocidadSim, sliderDistancia;
-    private JLabel labelVelocidad, labelVelocidadSim, labelDistancia;
+    private JSlider sliderVelocidad, sliderDistancia;
+    private JLabel labelVelocidad, labelDistancia;
     private JSpinner spinnerPosicionInicial, spinnerTiempoObjetivo;
     private JCheckBox chkMostrarVectores, chkModoInfinito, chkMostrarGrafica;
     private JPanel panelGrafica;
+    // Recursos del pintado de la gráfica (solo EDT)
+    private final Path2D.Double trazadoGrafica = new Path2D.Double();
+    private int[] indicesGrafica = new int[0]; // puntos de la serie que se dibujan, crece con el panel
+    private final BasicStroke trazoEjes = UIHelper.trazo(2f);
+    private final BasicStroke trazoCurva = UIHelper.trazo(3f);
+    private final Font fuenteEjes = UIHelper.fuente("Arial", Font.BOLD, 11);
+    private LineaTiempo lineaTiempo;
+    private SelectorEscalaTiempo selectorEscala;
     
     // Parámetros
     private double velocidad = 5.0;
     private double posicionInicial = 0.0;
     private double distanciaObjetivo = 50.0;
     private double tiempoObjetivo = 0.0;
-    private int velocidadSimulacion = 30;
     private boolean mostrarVectores = true;
     private boolean modoInfinito = false;
     private boolean mostrarGrafica = true;
+    private boolean pasoFijo = true; // física en hilo propio con paso fijo
+    
+    // Paso de la física; la velocidad de reproducción la da la escala de tiempo
+    private static final int PASO_FISICA_MS = 30;
     
     public SimulacionMRU(SimuladorFrame frame) {
         this(frame, null, null); // Constructor por defecto sin misión ni callback
@@ -59,8 +76,10 @@ public class SimulacionMRU extends JPanel {
         setBackground(UIHelper.COLOR_FONDO);
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        motor = new MotorSimulacion(velocidadSimulacion);
+        motor = new MotorSimulacion(PASO_FISICA_MS);
         escenario = new EscenarioMRU(900, 500);
+        escenario.setDestinoGrabacion(ArchivoGrabaciones::guardar);
+        escenario.setCapacidadHistorial(LineaTiempo.CAPACIDAD_POR_DEFECTO);
         
         inicializarComponentes();
         configurarTeclado();
@@ -121,7 +140,7 @@ public class SimulacionMRU extends JPanel {
         actionMap.put("toggleVectores", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                chkMostrarVectores.setSelected(!chkMostrarVectores.isSelected());
+                chkMostrarVectores.doClick();
             }
         });
         
@@ -130,7 +149,7 @@ public class SimulacionMRU extends JPanel {
         actionMap.put("toggleGrafica", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                chkMostrarGrafica.setSelected(!chkMostrarGrafica.isSelected());
+                chkMostrarGrafica.doClick();
             }
         });
     }
@@ -166,17 +185,16 @@ public class SimulacionMRU extends JPanel {
         JPanel panelCentral = new JPanel(new BorderLayout());
         panelCentral.setOpaque(false);
         panelCentral.add(escenario, BorderLayout.CENTER);
+        lineaTiempo = new LineaTiempo(escenario, () -> motor, new Color(52, 73, 94));
+        lineaTiempo.setBorder(BorderFactory.createEmptyBorder(0, 5, 5, 5));
+        panelCentral.add(lineaTiempo, BorderLayout.NORTH);
         
         // Panel de gráfica (opcional)
-        panelGrafica = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                if (mostrarGrafica) {
-                    dibujarGrafica((Graphics2D) g);
-                }
+        panelGrafica = new Lienzo(g2d -> {
+            if (mostrarGrafica) {
+                dibujarGrafica(g2d);
             }
-        };
+        });
         panelGrafica.setPreferredSize(new Dimension(900, 150));
         panelGrafica.setBackground(Color.WHITE);
         panelGrafica.setBorder(BorderFactory.createTitledBorder("Gráfica Posición-Tiempo"));
@@ -259,19 +277,11 @@ public class SimulacionMRU extends JPanel {
         
         // Velocidad de simulación
         panel.add(crearEtiqueta("Velocidad de Simulación:"));
-        sliderVelocidadSim = crearSliderConEtiqueta(10, 100, 30, e -> {
-            velocidadSimulacion = sliderVelocidadSim.getValue();
-            String vel = velocidadSimulacion < 30 ? "⚡ Rápida" : 
-                        velocidadSimulacion > 50 ? "🐌 Lenta" : "⚙️ Normal";
-            labelVelocidadSim.setText(vel);
-            if (motor != null) {
-                motor.setIntervalMs(velocidadSimulacion);
-            }
-        });
-        labelVelocidadSim = new JLabel("⚙️ Normal");
-        labelVelocidadSim.setFont(new Font("Segoe UI", Font.PLAIN, 12));
-        panel.add(sliderVelocidadSim);
-        panel.add(labelVelocidadSim);
+        // Cámara lenta / rápida: el paso de la física no cambia
+        selectorEscala = new SelectorEscalaTiempo(null, () -> motor, new Color(44, 62, 80));
+        selectorEscala.setMaximumSize(selectorEscala.getPreferredSize());
+        selectorEscala.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(selectorEscala);
         panel.add(Box.createRigidArea(new Dimension(0, 15)));
         
         // SECCIÓN: Opciones visuales
@@ -360,16 +370,25 @@ public class SimulacionMRU extends JPanel {
         escenario.setPosicionInicial(posicionInicial);
         escenario.setDistanciaObjetivo(distanciaObjetivo);
         escenario.setTiempoObjetivo(tiempoObjetivo);
+        // En modo infinito la escena se reinicia sola: no hay una ejecución que grabar
+        if (modoInfinito) {
+            escenario.cancelarGrabacion();
+        } else {
+            escenario.iniciarGrabacion("MRU");
+        }
         escenario.reiniciar();
         
-        motor = new MotorSimulacion(velocidadSimulacion);
-        motor.iniciar(e -> {
-            escenario.actualizar();
-            escenario.repaint();
-            if (mostrarGrafica) {
-                panelGrafica.repaint();
-            }
-        });
+        motor = new MotorSimulacion(PASO_FISICA_MS);
+        motor.setEscalaTiempo(selectorEscala.getEscala());
+        escenario.setMotor(motor);
+        if (pasoFijo) {
+            motor.iniciarPasoFijo(e -> escenario.actualizar(), this::repintarEscena);
+        } else {
+            motor.iniciar(e -> {
+                escenario.actualizar();
+                repintarEscena();
+            });
+        }
         
         btnIniciar.setEnabled(false);
         btnPausar.setEnabled(true);
@@ -379,11 +398,29 @@ public class SimulacionMRU extends JPanel {
         chkModoInfinito.setEnabled(false);
     }
     
+    private void repintarEscena() {
+        // Desde el hilo de física o el EDT: se repinta en el próximo fotograma, una vez
+        PlanificadorFotogramas planificador = PlanificadorFotogramas.getInstancia();
+        planificador.solicitarRepintado(escenario);
+        if (mostrarGrafica) {
+            planificador.solicitarRepintado(panelGrafica);
+        }
+    }
+    
+    /**
+     * Elige entre el motor de paso fijo (hilo propio) y el Timer de Swing
+     * para los próximos lanzamientos
+     */
+    public void setPasoFijo(boolean pasoFijo) {
+        this.pasoFijo = pasoFijo;
+    }
+    
     private void pausarSimulacion() {
         if (motor.isEnEjecucion()) {
             motor.pausar();
             btnPausar.setText("▶️ Reanudar");
         } else {
+            lineaTiempo.continuarDesdeRevision();
             motor.reanudar();
             btnPausar.setText("⏸️ Pausar");
         }
@@ -394,6 +431,7 @@ public class SimulacionMRU extends JPanel {
             motor.detener();
             motor.reiniciar();
         }
+        escenario.cancelarGrabacion();
         escenario.reiniciar();
         escenario.repaint();
         panelGrafica.repaint();
@@ -408,10 +446,20 @@ public class SimulacionMRU extends JPanel {
     }
     
     private void volverAlMenu() {
+        // El marco llama a alOcultar() y liberar() al cambiar de pantalla
+        frame.mostrarMenuPrincipal();
+    }
+    
+    @Override
+    public void alOcultar() {
         if (motor != null) {
             motor.detener();
         }
-        frame.mostrarMenuPrincipal();
+    }
+    
+    @Override
+    public void liberar() {
+        escenario.liberar();
     }
     
     private void dibujarGrafica(Graphics2D g2d) {
@@ -422,25 +470,25 @@ public class SimulacionMRU extends JPanel {
         
         // Ejes
         g2d.setColor(Color.BLACK);
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setStroke(trazoEjes);
         int margen = 40;
         g2d.drawLine(margen, h - margen, w - margen, h - margen); // Eje X
         g2d.drawLine(margen, margen, margen, h - margen); // Eje Y
         
         // Etiquetas
-        g2d.setFont(new Font("Arial", Font.BOLD, 11));
+        g2d.setFont(fuenteEjes);
         g2d.drawString("t (s)", w - margen - 30, h - margen + 25);
         g2d.drawString("x (m)", margen - 30, margen);
         
         // Dibujar línea de la gráfica (MRU es una recta)
-        List<Point> datosCrudos = escenario.obtenerPuntosGrafica();
-        if (datosCrudos.size() > 1) {
+        SerieTemporal.Vista datos = escenario.getSerieGrafica(); // foto consistente, sin copiar
+        if (datos.getTamano() > 1) {
             g2d.setColor(UIHelper.COLOR_PRIMARIO);
-            g2d.setStroke(new BasicStroke(3));
+            g2d.setStroke(trazoCurva);
 
-            double maxTiempo = escenario.getMaxTiempoGrafica();
-            double maxPosicion = escenario.getMaxPosicionGrafica();
-            double minPosicion = escenario.getMinPosicionGrafica();
+            double maxTiempo = datos.getMaxTiempo();
+            double maxPosicion = datos.getMaxValor();
+            double minPosicion = datos.getMinValor();
 
             // Asegurar que haya un rango para evitar división por cero
             if (maxTiempo == 0) maxTiempo = 1.0;
@@ -454,19 +502,21 @@ public class SimulacionMRU extends JPanel {
             // Escala para el eje Y (posición)
             double escalaY = (h - 2 * margen) / (maxPosicion - minPosicion);
 
-            Path2D path = new Path2D.Double();
-            boolean firstPoint = true;
-
-            for (Point p : datosCrudos) {
-                double tiempo = p.getX() / 100.0; // Convertir de vuelta a valor real
-                double posicion = p.getY() / 100.0; // Convertir de vuelta a valor real
-
-                int screenX = margen + (int) (tiempo * escalaX);
-                int screenY = h - margen - (int) ((posicion - minPosicion) * escalaY);
+            // Como mucho un punto por columna de píxeles, dure lo que dure la simulación
+            int umbral = Math.max(3, w - 2 * margen);
+            if (indicesGrafica.length < umbral) {
+                indicesGrafica = new int[umbral];
+            }
+            int puntos = datos.submuestrear(umbral, indicesGrafica);
 
-                if (firstPoint) {
+            Path2D path = trazadoGrafica;
+            path.reset();
+            for (int k = 0; k < puntos; k++) {
+                int i = indicesGrafica[k];
+                int screenX = margen + (int) (datos.getTiempo(i) * escalaX);
+                int screenY = h - margen - (int) ((datos.getValor(i) - minPosicion) * escalaY);
+                if (k == 0) {
                     path.moveTo(screenX, screenY);
-                    firstPoint = false;
                 } else {
                     path.lineTo(screenX, screenY);
                 }
@@ -515,72 +565,98 @@ public class SimulacionMRU extends JPanel {
     
     // Clase interna del escenario
     private class EscenarioMRU extends Escenario {
-        private double posX, v, x0, distancia, tLimite, tiempo;
-        private boolean objetivo, vectores, infinito;
-        private List<Point> datosGrafica;
-        private double maxTiempoGrafica = 0.0;
-        private double maxPosicionGrafica = 0.0;
-        private double minPosicionGrafica = 0.0;
+        // El pintado solo lee el Fotograma publicado y la vista de la serie
+        private volatile boolean objetivo;
+        private double v, x0, distancia, tLimite;
+        private boolean vectores, infinito;
+        private final SerieTemporal datosGrafica = new SerieTemporal(); // posición frente a tiempo, acotada
+        private final ModeloMRU modelo = new ModeloMRU(0, 0);
+        // Compartidos por las líneas de inicio (capa fija) y de meta
+        private final BasicStroke trazoMarca = new BasicStroke(3, BasicStroke.CAP_BUTT,
+                                                               BasicStroke.JOIN_BEVEL, 0, new float[]{10, 5}, 0);
+        private final Font fuenteMarca = UIHelper.fuente("Arial", Font.BOLD, 13);
+        
+        // Recursos del pintado, compartidos a través de UIHelper y creados una sola vez
+        private final Color colorAlcanzado = UIHelper.color(46, 204, 113);
+        private final Color colorMeta = UIHelper.color(231, 76, 60);
+        private final Color colorMovil = UIHelper.color(52, 152, 219);
+        private final Color bordeAlcanzado = colorAlcanzado.darker();
+        private final Color bordeMovil = colorMovil.darker();
+        private final Color colorSombra = UIHelper.color(0, 0, 0, 50);
+        private final Color colorBrillo = UIHelper.color(255, 255, 255, 120);
+        private final Color colorVelocidad = UIHelper.color(39, 174, 96);
+        private final Color colorRecorrido = UIHelper.color(41, 128, 185, 100);
+        private final Color colorFondoInfo = UIHelper.color(255, 255, 255, 240);
+        private final Color colorVersion = UIHelper.color(127, 140, 141);
+        private final BasicStroke trazoBorde = UIHelper.trazo(2f);
+        private final BasicStroke trazoVelocidad = UIHelper.trazo(3f);
+        private final Font fuenteRotulo = UIHelper.fuente("Arial", Font.BOLD, 12);
+        private final Font fuenteDatos = UIHelper.fuente("Monospaced", Font.PLAIN, 11);
+        private final Font fuenteVersion = UIHelper.fuente("Arial", Font.ITALIC, 11);
+        // Las etiquetas con emojis no pasan por la vía rápida de drawString
+        private final TextoFijo[] etiquetasInfo = {
+            new TextoFijo("⏱️ Tiempo: ", fuenteDatos),
+            new TextoFijo("📍 Posición: ", fuenteDatos),
+            new TextoFijo("📏 Distancia: ", fuenteDatos),
+            new TextoFijo("➡️ Velocidad: ", fuenteDatos),
+            new TextoFijo("📊 Velocidad media: ", fuenteDatos),
+            new TextoFijo("⚡ Aceleración: 0.00 m/s² (MRU)", fuenteDatos),
+            new TextoFijo("🎯 Objetivo: ", fuenteDatos),
+            new TextoFijo("⏰ T.Estimado: ", fuenteDatos)
+        };
+        private final TextoFijo estadoMeta = new TextoFijo("✓ META ALCANZADA", fuenteDatos);
+        private final TextoFijo estadoTiempoLimite = new TextoFijo("⏰ TIEMPO LÍMITE", fuenteDatos);
+        private final TextoFijo estadoInfinito = new TextoFijo("∞ MODO INFINITO", fuenteDatos);
+        private final TextoFijo estadoMovimiento = new TextoFijo("🏃 EN MOVIMIENTO", fuenteDatos);
         
         public EscenarioMRU(int w, int h) {
             super(w, h);
             this.motor = SimulacionMRU.this.motor;
             this.vectores = true;
-            this.datosGrafica = new ArrayList<>();
             reiniciar();
         }
         
-        public double getMaxTiempoGrafica() { return maxTiempoGrafica; }
-        public double getMaxPosicionGrafica() { return maxPosicionGrafica; }
-        public double getMinPosicionGrafica() { return minPosicionGrafica; }
+        public SerieTemporal.Vista getSerieGrafica() { return datosGrafica.getVista(); }
         
-        public void setVelocidad(double vel) { this.v = vel; }
-        public void setPosicionInicial(double x) { this.x0 = x; }
-        public void setDistanciaObjetivo(double d) { this.distancia = d; }
-        public void setTiempoObjetivo(double t) { this.tLimite = t; }
+        public void setVelocidad(double vel) { this.v = vel; modelo.setVelocidad(vel); }
+        public void setPosicionInicial(double x) {
+            this.x0 = x;
+            modelo.setPosicionInicial(x);
+            invalidarCapaFija(); // la línea de inicio está en la capa fija
+        }
+        public void setDistanciaObjetivo(double d) { this.distancia = d; modelo.setDistanciaObjetivo(d); }
+        public void setTiempoObjetivo(double t) { this.tLimite = t; modelo.setTiempoLimite(t); }
         public void setMostrarVectores(boolean m) { this.vectores = m; }
-        public void setModoInfinito(boolean m) { this.infinito = m; }
+        public void setModoInfinito(boolean m) { this.infinito = m; modelo.setModoInfinito(m); }
         
         public void reiniciar() {
-            posX = x0;
-            tiempo = 0;
+            modelo.reiniciar();
             objetivo = false;
-            datosGrafica.clear();
-            maxTiempoGrafica = 0.0;
-            maxPosicionGrafica = x0;
-            minPosicionGrafica = x0;
-        }
-        
-        public List<Point> obtenerPuntosGrafica() {
-            return new ArrayList<>(datosGrafica);
+            publicar(Fotograma.fijo(modelo, false));
+            datosGrafica.limpiar(x0);
+            grabarMuestra(modelo);
         }
         
         @Override
         public void actualizar() {
             if (motor == null) return;
             
-            tiempo = motor.getTiempoTranscurrido();
-            posX = MotorSimulacion.calcularPosicionMRU(x0, v, tiempo);
+            modelo.actualizar(motor.getTiempoTranscurrido());
+            double posX = modelo.getPosX();
+            grabarMuestra(modelo);
+            entregarGrabacion();
             
-            // Actualizar límites para escalado dinámico de la gráfica
-            if (tiempo > maxTiempoGrafica) maxTiempoGrafica = tiempo;
-            if (posX > maxPosicionGrafica) maxPosicionGrafica = posX;
-            if (posX < minPosicionGrafica) minPosicionGrafica = posX;
-
-            // Guardar datos para gráfica (mantener un número limitado de puntos para rendimiento)
-            // Usamos una LinkedList si queremos un buffer circular, pero para una gráfica que crece, ArrayList está bien.
-            // Si queremos limitar a los últimos N puntos, podríamos hacer:
-            // if (datosGrafica.size() > MAX_GRAPH_POINTS) datosGrafica.remove(0);
-            // Por ahora, solo agregamos. El límite de 200 puntos se manejará en la lógica de dibujo si es necesario.
-            datosGrafica.add(new Point((int) (tiempo * 100), (int) (posX * 100))); // Guardar valores reales, no pixel
+            // La serie calcula los límites para el escalado dinámico de la gráfica
+            datosGrafica.agregar(modelo.getTiempo(), posX);
             
             // Verificar objetivo
-            if (!infinito && (posX - x0) >= distancia) {
+            if (modelo.isObjetivoAlcanzado()) {
                 objetivo = true;
                 motor.detener();
             }
+            publicar(getFotograma().siguiente(modelo, objetivo));
             
-            if (tLimite > 0 && tiempo >= tLimite) {
+            if (modelo.isTiempoAgotado()) {
                 motor.detener();
                 finalizarSimulacion();
             }
@@ -592,24 +668,39 @@ public class SimulacionMRU extends JPanel {
             }
 
             // Si el motor se detiene por cualquier razón (objetivo, tiempo, manual)
-            if (!motor.isEnEjecucion() && (objetivo || (tLimite > 0 && tiempo >= tLimite))) {
+            if (!motor.isEnEjecucion() && modelo.isTerminado()) {
                 finalizarSimulacion();
             }
         }
 
+        @Override
+        protected void aplicarInstante(double t, double x, double y, double vx, double vy) {
+            objetivo = modelo.isObjetivoAlcanzado() && t >= modelo.getTiempo();
+            publicar(Fotograma.fijo(t, x, y, vx, vy, objetivo));
+        }
+        
+        @Override
+        protected void rebobinarModelo(double t) {
+            modelo.reiniciar();
+            modelo.actualizar(t);
+            objetivo = modelo.isObjetivoAlcanzado();
+            publicar(Fotograma.fijo(modelo, objetivo));
+            // La gráfica pierde los puntos posteriores, igual que el historial
+            datosGrafica.recortar(modelo.getTiempo());
+        }
+        
         private void finalizarSimulacion() {
             if (onSimulationEnd != null && !motor.isEnEjecucion()) { // Asegurarse de que solo se llame una vez al detenerse
-                double finalTime = motor.getTiempoTranscurrido();
-                double finalPos = posX;
-                double avgVel = (finalPos - x0) / (finalTime > 0 ? finalTime : 1);
-                SimulationResult result = new SimulationResult(finalTime, finalPos, avgVel);
-                onSimulationEnd.accept(result);
+                SimulationResult result = modelo.getResultado();
+                Consumer<SimulationResult> callback = onSimulationEnd;
                 onSimulationEnd = null; // Prevenir llamadas múltiples
+                // Con paso fijo estamos en el hilo de física: notificar desde el EDT
+                SwingUtilities.invokeLater(() -> callback.accept(result));
             }
         }
         
         @Override
-        protected void dibujar(Graphics2D g2d) {
+        protected void dibujarCapaFija(Graphics2D g2d, int w, int h) {
             // Fondo degradado
             GradientPaint gp = new GradientPaint(0, 0, new Color(236, 240, 241),
                                                   0, alto, new Color(255, 255, 255));
@@ -640,31 +731,40 @@ public class SimulacionMRU extends JPanel {
             // Línea de inicio
             int inicioX = 50 + metrosAPixeles(x0);
             g2d.setColor(new Color(46, 204, 113));
-            g2d.setStroke(new BasicStroke(3, BasicStroke.CAP_BUTT, 
-                         BasicStroke.JOIN_BEVEL, 0, new float[]{10, 5}, 0));
+            g2d.setStroke(trazoMarca);
             g2d.drawLine(inicioX, pisoY - 80, inicioX, pisoY);
-            g2d.setFont(new Font("Arial", Font.BOLD, 13));
+            g2d.setFont(fuenteMarca);
             g2d.drawString("INICIO", inicioX - 25, pisoY - 85);
+        }
+        
+        @Override
+        protected void dibujar(Graphics2D g2d) {
+            Fotograma f = getFotograma(); // todo el fotograma sale del mismo paso
+            boolean objetivo = f.isTerminado();
+            int pisoY = alto - 100;
+            int inicioX = 50 + metrosAPixeles(x0);
             
-            // Línea de meta
+            // Línea de meta (cambia de color al llegar: no va en la capa fija)
             if (!infinito) {
+                g2d.setStroke(trazoMarca);
+                g2d.setFont(fuenteMarca);
                 int metaX = inicioX + metrosAPixeles(distancia);
                 if (metaX < ancho) {
-                    g2d.setColor(objetivo ? new Color(46, 204, 113) : new Color(231, 76, 60));
+                    g2d.setColor(objetivo ? colorAlcanzado : colorMeta);
                     g2d.drawLine(metaX, pisoY - 80, metaX, pisoY);
                     g2d.drawString("META", metaX - 20, pisoY - 85);
                 }
             }
             
             // Objeto móvil con efecto 3D
-            int objX = 50 + metrosAPixeles(posX);
+            int objX = 50 + metrosAPixeles(interpolar(f.getPosXAnterior(), f.getPosX()));
             int objY = pisoY - 25;
             
             if (objX >= 0 && objX < ancho) {
-                Color colorObj = objetivo ? new Color(46, 204, 113) : new Color(52, 152, 219);
+                Color colorObj = objetivo ? colorAlcanzado : colorMovil;
                 
                 // Sombra
-                g2d.setColor(new Color(0, 0, 0, 50));
+                g2d.setColor(colorSombra);
                 g2d.fillOval(objX - 17, objY - 12, 34, 34);
                 
                 // Objeto principal
@@ -672,18 +772,18 @@ public class SimulacionMRU extends JPanel {
                 g2d.fillOval(objX - 15, objY - 15, 30, 30);
                 
                 // Brillo
-                g2d.setColor(new Color(255, 255, 255, 120));
+                g2d.setColor(colorBrillo);
                 g2d.fillOval(objX - 10, objY - 10, 12, 12);
                 
                 // Borde
-                g2d.setColor(colorObj.darker());
-                g2d.setStroke(new BasicStroke(2));
+                g2d.setColor(objetivo ? bordeAlcanzado : bordeMovil);
+                g2d.setStroke(trazoBorde);
                 g2d.drawOval(objX - 15, objY - 15, 30, 30);
                 
                 // Vector de velocidad
                 if (vectores && v > 0 && motor.isEnEjecucion()) {
-                    g2d.setColor(new Color(39, 174, 96));
-                    g2d.setStroke(new BasicStroke(3));
+                    g2d.setColor(colorVelocidad);
+                    g2d.setStroke(trazoVelocidad);
                     int longFlecha = (int)(v * 12);
                     g2d.drawLine(objX + 15, objY, objX + 15 + longFlecha, objY);
                     g2d.drawLine(objX + 15 + longFlecha, objY, 
@@ -691,68 +791,67 @@ public class SimulacionMRU extends JPanel {
                     g2d.drawLine(objX + 15 + longFlecha, objY, 
                                 objX + 15 + longFlecha - 8, objY + 5);
                     
-                    g2d.setFont(new Font("Arial", Font.BOLD, 12));
-                    g2d.drawString("v=" + df.format(v), objX + 15 + longFlecha + 5, objY - 10);
+                    g2d.setFont(fuenteRotulo);
+                    linea(0).agregar("v=").agregar(v, 2).dibujar(g2d, objX + 15 + longFlecha + 5, objY - 10);
                 }
                 
                 // Trayectoria
-                g2d.setColor(new Color(41, 128, 185, 100));
-                g2d.setStroke(new BasicStroke(2));
+                g2d.setColor(colorRecorrido);
+                g2d.setStroke(trazoBorde);
                 g2d.drawLine(inicioX, pisoY - 25, objX, pisoY - 25);
             }
             
             // Panel de información (esquina superior)
-            dibujarPanelInfo(g2d);
+            dibujarPanelInfo(g2d, f);
         }
         
-        private void dibujarPanelInfo(Graphics2D g2d) {
+        private void dibujarPanelInfo(Graphics2D g2d, Fotograma f) {
+            double posX = f.getPosX();
+            double tiempo = f.getTiempo();
+            boolean objetivo = f.isTerminado();
             double distRecorrida = posX - x0;
             double tEst = distancia / (v > 0 ? v : 1);
             double vMedia = distRecorrida / (tiempo > 0 ? tiempo : 1);
             
-            String estado = objetivo ? "✓ META ALCANZADA" : 
-                           (tLimite > 0 && tiempo >= tLimite) ? "⏰ TIEMPO LÍMITE" :
-                           infinito ? "∞ MODO INFINITO" : "🏃 EN MOVIMIENTO";
+            TextoFijo estado = objetivo ? estadoMeta : 
+                               (tLimite > 0 && tiempo >= tLimite) ? estadoTiempoLimite :
+                               infinito ? estadoInfinito : estadoMovimiento;
             
-            String[] datos = {
-                "⏱️ Tiempo: " + df.format(tiempo) + " s " + estado,
-                "📍 Posición: " + df.format(posX) + " m",
-                "📏 Distancia: " + df.format(distRecorrida) + " m",
-                "➡️ Velocidad: " + df.format(v) + " m/s (constante)",
-                "📊 Velocidad media: " + df.format(vMedia) + " m/s",
-                "⚡ Aceleración: 0.00 m/s² (MRU)",
-                "🎯 Objetivo: " + df.format(distancia) + " m",
-                "⏰ T.Estimado: " + df.format(tEst) + " s"
-            };
+            LineaTexto textoTiempo = linea(0).agregar(tiempo, 2).agregar(" s ");
+            linea(1).agregar(posX, 2).agregar(" m");
+            linea(2).agregar(distRecorrida, 2).agregar(" m");
+            linea(3).agregar(v, 2).agregar(" m/s (constante)");
+            linea(4).agregar(vMedia, 2).agregar(" m/s");
+            linea(5); // la aceleración es constante: toda la línea está en la etiqueta
+            linea(6).agregar(distancia, 2).agregar(" m");
+            linea(7).agregar(tEst, 2).agregar(" s");
             
             int panelX = 20;
             int panelY = 20;
             int panelW = 280;
-            int panelH = (datos.length * 20) + 20;
+            int panelH = (etiquetasInfo.length * 20) + 20;
             
             // Fondo semi-transparente
-            g2d.setColor(new Color(255, 255, 255, 240));
+            g2d.setColor(colorFondoInfo);
             g2d.fillRoundRect(panelX, panelY, panelW, panelH, 15, 15);
             
             // Borde
             g2d.setColor(UIHelper.COLOR_PRIMARIO);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(trazoBorde);
             g2d.drawRoundRect(panelX, panelY, panelW, panelH, 15, 15);
             
             // Texto
             g2d.setColor(Color.BLACK);
-            g2d.setFont(new Font("Monospaced", Font.PLAIN, 11));
-            FontMetrics fm = g2d.getFontMetrics();
-            int y = panelY + 16;
-            
-            for (String linea : datos) {
-                g2d.drawString(linea, panelX + 12, y);
-                y += 20;
-            }
+            g2d.setFont(fuenteDatos);
+            int x = panelX + 12;
+            dibujarLineas(g2d, etiquetasInfo, x, panelY + 16, 20);
+            // El estado sigue al tiempo, en la primera línea
+            estado.dibujar(g2d, x + etiquetasInfo[0].getAncho(g2d) + textoTiempo.getAncho(g2d.getFontMetrics()),
+                           panelY + 16);
             
             // Versión en esquina inferior derecha
-            g2d.setColor(new Color(127, 140, 141));
-            g2d.setFont(new Font("Arial", Font.ITALIC, 11));
+            g2d.setColor(colorVersion);
+            g2d.setFont(fuenteVersion);
             g2d.drawString("v4.0", ancho - 40, alto - 10);
         }
     }
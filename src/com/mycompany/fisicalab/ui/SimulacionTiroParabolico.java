@@ -1,18 +1,37 @@
 package com.mycompany.fisicalab.ui;
 
+import com.mycompany.fisicalab.core.BufferTriple;
+import com.mycompany.fisicalab.core.CicloVida;
 import com.mycompany.fisicalab.core.Escenario;
+import com.mycompany.fisicalab.core.EstelaIncremental;
+import com.mycompany.fisicalab.core.Fotograma;
 import com.mycompany.fisicalab.core.MotorSimulacion;
+import com.mycompany.fisicalab.core.PlanificadorFotogramas;
 import com.mycompany.fisicalab.core.SimuladorFrame;
+import com.mycompany.fisicalab.core.SimulationResult;
+import com.mycompany.fisicalab.fisica.BarridoTiroParabolico;
+import com.mycompany.fisicalab.fisica.CacheTrayectorias;
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+import com.mycompany.fisicalab.fisica.Integradores;
+import com.mycompany.fisicalab.fisica.ModeloArrastre;
+import com.mycompany.fisicalab.fisica.ModeloTiroParabolico;
+import com.mycompany.fisicalab.fisica.MotorHeadless;
+import com.mycompany.fisicalab.fisica.ResultadoTrayectoria;
+import com.mycompany.fisicalab.fisica.Salva;
+import com.mycompany.fisicalab.fisica.Trayectoria;
+import com.mycompany.fisicalab.juego.Mision;
+import com.mycompany.fisicalab.juego.MisionTiroParabolico;
+import com.mycompany.fisicalab.juego.RachaDianas;
+import com.mycompany.fisicalab.utils.ArchivoGrabaciones;
 import com.mycompany.fisicalab.utils.UIHelper;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * SimulacionTiroParabolico v4.1 - Estilo Único
@@ -20,43 +39,113 @@ import java.util.concurrent.locks.ReentrantLock;
  * ✅ Estilo visual temático (campo de artillería).
  * ✅ Controles mejorados y agrupados.
  */
-public class SimulacionTiroParabolico extends JPanel {
+public class SimulacionTiroParabolico extends JPanel implements CicloVida {
+    
+    // Proyectiles del modo salva (20 velocidades × 100 ángulos)
+    private static final int PROYECTILES_SALVA = 2000;
+    
+    // Altura de lanzamiento más alta que permite el control (m)
+    static final double ALTURA_MAXIMA = 100.0;
+    
+    // Trayectorias ya calculadas, compartidas por todas las instancias del panel
+    private static final CacheTrayectorias CACHE_TRAYECTORIAS = new CacheTrayectorias(8L * 1024 * 1024);
     
     private SimuladorFrame frame;
     private EscenarioTiroParabolico escenario;
     private MotorSimulacion motor;
     private DecimalFormat df = new DecimalFormat("#0.00");
+    // Serializa los cambios de los controles con los pasos de física; el pintado no lo toma nunca
     private final ReentrantLock lock = new ReentrantLock();
+    private Mision misionActiva; // La misión que se está ejecutando
+    private Consumer<SimulationResult> onSimulationEnd; // Callback al finalizar el tiro
     
     // Parámetros
     private double velocidadInicial = 20.0;
     private double angulo = 45.0;
     private double gravedad = 9.8;
+    private ContextoFisico contexto = ContextoFisico.TIERRA; // constantes de la próxima ejecución
     private double alturaInicial = 0.0;
     
     // Flags
     private volatile boolean mostrarTrayectoria = true;
     private volatile boolean mostrarVectores = true;
+    private volatile boolean resistenciaAire = false;
+    private boolean pasoFijo = true; // física en hilo propio con paso fijo
     
     // UI
-    private JButton btnLanzar, btnPausar, btnReiniciar, btnVolver;
+    private JButton btnLanzar, btnSalva, btnPausar, btnReiniciar, btnVolver;
     private JSlider sliderVelocidad, sliderAngulo, sliderGravedad;
     private JLabel labelVelocidad, labelAngulo, labelGravedad;
     private JSpinner spinnerAltura;
-    private JCheckBox chkTrayectoria, chkVectores;
+    private JCheckBox chkTrayectoria, chkVectores, chkAire;
+    private LineaTiempo lineaTiempo;
+    private SelectorEscalaTiempo selectorEscala;
+    private PrevisualizadorTiro previsualizador;
+    private PlanificadorFotogramas.Suscripcion repintado; // mientras la pantalla está abierta
     
     public SimulacionTiroParabolico(SimuladorFrame frame) {
+        this(frame, null, null); // Constructor por defecto sin misión ni callback
+    }
+    
+    public SimulacionTiroParabolico(SimuladorFrame frame, Mision mision, Consumer<SimulationResult> onSimulationEnd) {
         this.frame = frame;
+        this.misionActiva = mision;
+        this.onSimulationEnd = onSimulationEnd;
         setBackground(UIHelper.COLOR_FONDO);
         
         escenario = new EscenarioTiroParabolico(this);
+        escenario.setDestinoGrabacion(ArchivoGrabaciones::guardar);
+        escenario.setCapacidadHistorial(LineaTiempo.CAPACIDAD_POR_DEFECTO);
         motor = new MotorSimulacion(30);
+        previsualizador = new PrevisualizadorTiro(CACHE_TRAYECTORIAS, escenario::setPrevision);
         
         inicializarComponentes();
         configurarTeclado();
         
-        Timer repaintTimer = new Timer(16, e -> escenario.repaint());
-        repaintTimer.start();
+        if (misionActiva != null) {
+            // La misión se evalúa con un único tiro: la salva no cuenta
+            btnSalva.setEnabled(false);
+        }
+        if (misionActiva instanceof MisionTiroParabolico) {
+            MisionTiroParabolico misionTiro = (MisionTiroParabolico) misionActiva;
+            if (misionTiro.getRacha() != null) {
+                // La misión vive tanto como ModoJuego: cada sesión empieza su racha desde cero
+                misionTiro.getRacha().reiniciar();
+            }
+            if (misionTiro.getVelocidadFija() > 0) {
+                sliderVelocidad.setValue((int) misionTiro.getVelocidadFija());
+                sliderVelocidad.setEnabled(false);
+            }
+            if (misionTiro.getVelocidadMaxima() > 0) {
+                // El deslizador recorta su valor si ya se pasaba, y avisa al listener
+                sliderVelocidad.setMaximum((int) misionTiro.getVelocidadMaxima());
+            }
+            previsualizador.setMision(misionTiro, ALTURA_MAXIMA);
+        }
+        
+        actualizarPrevision();
+    }
+    
+    @Override
+    public void alMostrar() {
+        // La escena se repinta en cada fotograma mientras esté en pantalla
+        if (repintado == null || repintado.isCancelada()) {
+            repintado = PlanificadorFotogramas.getInstancia().registrarRepintado(escenario);
+        }
+    }
+    
+    @Override
+    public void alOcultar() {
+        if (repintado != null) {
+            repintado.cancelar();
+        }
+        motor.detener();
+        previsualizador.cancelar();
+    }
+    
+    @Override
+    public void liberar() {
+        escenario.liberar();
     }
     
     private void configurarTeclado() {
@@ -113,7 +202,9 @@ public class SimulacionTiroParabolico extends JPanel {
             public void actionPerformed(ActionEvent e) {
                 lock.lock();
                 try {
-                    if (velocidadInicial < 50) velocidadInicial += 1;
+                    if (!sliderVelocidad.isEnabled()) return;
+                    // El máximo del deslizador ya incluye el límite de la misión
+                    if (velocidadInicial < sliderVelocidad.getMaximum()) velocidadInicial += 1;
                     sliderVelocidad.setValue((int) velocidadInicial);
                 } finally { lock.unlock(); }
             }
@@ -125,7 +216,8 @@ public class SimulacionTiroParabolico extends JPanel {
             public void actionPerformed(ActionEvent e) {
                 lock.lock();
                 try {
-                    if (velocidadInicial > 5) velocidadInicial -= 1;
+                    if (!sliderVelocidad.isEnabled()) return;
+                    if (velocidadInicial > sliderVelocidad.getMinimum()) velocidadInicial -= 1;
                     sliderVelocidad.setValue((int) velocidadInicial);
                 } finally { lock.unlock(); }
             }
@@ -136,9 +228,20 @@ public class SimulacionTiroParabolico extends JPanel {
         setLayout(new BorderLayout(0, 0));
         
         JPanel panelControles = crearPanelControles();
+        lineaTiempo = new LineaTiempo(escenario, () -> motor, Color.WHITE);
+        selectorEscala = new SelectorEscalaTiempo("⏩ Velocidad", () -> motor, Color.WHITE);
+        JPanel panelTiempo = new JPanel(new BorderLayout(20, 0));
+        panelTiempo.setOpaque(false);
+        panelTiempo.setBorder(BorderFactory.createEmptyBorder(6, 15, 0, 15));
+        panelTiempo.add(lineaTiempo, BorderLayout.CENTER);
+        panelTiempo.add(selectorEscala, BorderLayout.EAST);
+        JPanel panelInferior = new JPanel(new BorderLayout());
+        panelInferior.setBackground(panelControles.getBackground());
+        panelInferior.add(panelTiempo, BorderLayout.NORTH);
+        panelInferior.add(panelControles, BorderLayout.CENTER);
         
         add(escenario, BorderLayout.CENTER);
-        add(panelControles, BorderLayout.SOUTH);
+        add(panelInferior, BorderLayout.SOUTH);
     }
     
     private JPanel crearPanelControles() {
@@ -165,6 +268,7 @@ public class SimulacionTiroParabolico extends JPanel {
                 velocidadInicial = sliderVelocidad.getValue();
                 labelVelocidad.setText(df.format(velocidadInicial));
             } finally { lock.unlock(); }
+            actualizarPrevision();
         });
 
         // Columna 1: Ángulo
@@ -180,6 +284,7 @@ public class SimulacionTiroParabolico extends JPanel {
                 angulo = sliderAngulo.getValue();
                 labelAngulo.setText(df.format(angulo));
             } finally { lock.unlock(); }
+            actualizarPrevision();
         });
 
         // Columna 2: Altura y Gravedad
@@ -187,11 +292,12 @@ public class SimulacionTiroParabolico extends JPanel {
         JPanel panelSpinners = new JPanel();
         panelSpinners.setLayout(new BoxLayout(panelSpinners, BoxLayout.Y_AXIS));
         panelSpinners.setOpaque(false);
-        spinnerAltura = new JSpinner(new SpinnerNumberModel(0.0, 0.0, 100.0, 1.0));
+        spinnerAltura = new JSpinner(new SpinnerNumberModel(0.0, 0.0, ALTURA_MAXIMA, 1.0));
         spinnerAltura.addChangeListener(e -> {
             lock.lock();
             try { alturaInicial = (Double) spinnerAltura.getValue(); } 
             finally { lock.unlock(); }
+            actualizarPrevision();
         });
         panelSpinners.add(crearPanelSpinner("Altura (m)", spinnerAltura));
         panelSpinners.add(Box.createRigidArea(new Dimension(0, 5)));
@@ -203,8 +309,9 @@ public class SimulacionTiroParabolico extends JPanel {
             try {
                 gravedad = sliderGravedad.getValue() / 10.0;
                 labelGravedad.setText(df.format(gravedad));
-                MotorSimulacion.setGravedad(gravedad);
+                contexto = contexto.cambiarGravedad(gravedad);
             } finally { lock.unlock(); }
+            actualizarPrevision();
         });
         panelSpinners.add(crearPanelSpinner("Gravedad (m/s²)", sliderGravedad, labelGravedad));
         gbc.insets = new Insets(0, 8, 0, 8);
@@ -230,6 +337,14 @@ public class SimulacionTiroParabolico extends JPanel {
         chkVectores.addActionListener(e -> mostrarVectores = chkVectores.isSelected());
         estilizarCheckBox(chkVectores);
         panelOpciones.add(chkVectores);
+        chkAire = new JCheckBox("Aire", false);
+        chkAire.setToolTipText("Resistencia del aire (balón de 0.45 kg)");
+        chkAire.addActionListener(e -> {
+            resistenciaAire = chkAire.isSelected();
+            actualizarPrevision();
+        });
+        estilizarCheckBox(chkAire);
+        panelOpciones.add(chkAire);
         panel.add(panelOpciones, gbc);
         gbc.gridheight = 1;
 
@@ -240,22 +355,23 @@ public class SimulacionTiroParabolico extends JPanel {
 
         // Columna 6: Botones
         gbc.gridx = 6; gbc.gridy = 0; gbc.gridheight = 2; gbc.fill = GridBagConstraints.BOTH;
-        JPanel panelBotones = new JPanel(new GridLayout(2, 2, 5, 5));
+        JPanel panelBotones = new JPanel(new GridLayout(3, 2, 5, 5));
         panelBotones.setOpaque(false);
         btnLanzar = crearBoton("Lanzar", UIHelper.COLOR_EXITO);
         btnLanzar.addActionListener(e -> iniciarSimulacion());
+        btnSalva = crearBoton("Salva", UIHelper.COLOR_PRIMARIO);
+        btnSalva.setToolTipText("Dispara " + PROYECTILES_SALVA + " proyectiles con distintos ángulos y velocidades");
+        btnSalva.addActionListener(e -> iniciarSalva());
         btnPausar = crearBoton("Pausar", UIHelper.COLOR_ADVERTENCIA);
         btnPausar.setEnabled(false);
         btnPausar.addActionListener(e -> pausarSimulacion());
         btnReiniciar = crearBoton("Reiniciar", UIHelper.COLOR_SECUNDARIO);
         btnReiniciar.addActionListener(e -> reiniciarSimulacion());
         btnVolver = crearBoton("Volver", UIHelper.COLOR_PELIGRO);
-        btnVolver.addActionListener(e -> {
-            motor.detener();
-            MotorSimulacion.resetGravedad();
-            frame.mostrarMenuPrincipal();
-        });
+        // El marco llama a alOcultar() y liberar() al cambiar de pantalla
+        btnVolver.addActionListener(e -> frame.mostrarMenuPrincipal());
         panelBotones.add(btnLanzar);
+        panelBotones.add(btnSalva);
         panelBotones.add(btnPausar);
         panelBotones.add(btnReiniciar);
         panelBotones.add(btnVolver);
@@ -265,22 +381,98 @@ public class SimulacionTiroParabolico extends JPanel {
     }
     
     private void iniciarSimulacion() {
+        escenario.setModoSalva(false);
+        escenario.iniciarGrabacion("TIRO_PARABOLICO");
+        lanzar();
+    }
+    
+    /**
+     * Dispara la salva: velocidades del 50 % al 100 % de la elegida y
+     * ángulos de 5° a 85°, para ver la envolvente de todas las trayectorias
+     */
+    private void iniciarSalva() {
+        escenario.setModoSalva(true);
+        escenario.cancelarGrabacion(); // la grabación es de un solo proyectil
+        escenario.limpiarHistorial(); // y el historial también
+        lanzar();
+    }
+    
+    private void lanzar() {
+        motor = new MotorSimulacion(30, contexto);
+        motor.setEscalaTiempo(selectorEscala.getEscala());
+        escenario.setMotor(motor);
         escenario.reiniciar();
-        motor = new MotorSimulacion(30);
-        motor.iniciar(e -> SwingUtilities.invokeLater(() -> {
-            escenario.actualizar();
-            escenario.repaint();
-        }));
+        if (pasoFijo) {
+            // actualizar() ya protege el estado compartido con el lock; el
+            // planificador ya repinta la escena en cada fotograma
+            motor.iniciarPasoFijo(e -> escenario.actualizar(), null);
+        } else {
+            motor.iniciar(e -> escenario.actualizar());
+        }
         
         btnLanzar.setEnabled(false);
+        btnSalva.setEnabled(false);
         btnPausar.setEnabled(true);
     }
     
+    /**
+     * Elige entre el motor de paso fijo (hilo propio) y el Timer de Swing
+     * para los próximos lanzamientos
+     */
+    public void setPasoFijo(boolean pasoFijo) {
+        this.pasoFijo = pasoFijo;
+    }
+    
+    /**
+     * Pide en segundo plano la trayectoria prevista con los controles actuales
+     * (el EDT no espera: la escena la dibuja cuando llega)
+     */
+    private void actualizarPrevision() {
+        previsualizador.solicitar(velocidadInicial, angulo, alturaInicial, contexto,
+                                  resistenciaAire ? ModeloArrastre.BALON : null, escenario.modelo.getMasa());
+    }
+    
+    /**
+     * Caché de trayectorias compartida (para consultar aciertos y fallos)
+     */
+    public static CacheTrayectorias getCacheTrayectorias() {
+        return CACHE_TRAYECTORIAS;
+    }
+    
+    /**
+     * Misión de varias dianas: el panel envía cada tiro en lugar de cerrar tras el primero
+     */
+    private boolean isSesionDianas() {
+        return misionActiva instanceof MisionTiroParabolico
+            && ((MisionTiroParabolico) misionActiva).getRacha() != null;
+    }
+    
+    /**
+     * Cuenta el tiro en la misión (en el EDT); si la racha está completa se
+     * entrega el resultado, si no se deja lanzar el siguiente
+     */
+    private void registrarTiroMision(SimulationResult result) {
+        MisionTiroParabolico mision = (MisionTiroParabolico) misionActiva;
+        mision.registrarTiro(result);
+        if (mision.getRacha().isCompletada() && onSimulationEnd != null) {
+            Consumer<SimulationResult> callback = onSimulationEnd;
+            onSimulationEnd = null; // Prevenir llamadas múltiples
+            callback.accept(result);
+            return;
+        }
+        btnLanzar.setEnabled(true);
+        btnPausar.setEnabled(false);
+        btnPausar.setText("⏸️ Pausar");
+        actualizarPrevision(); // la pista pasa a la siguiente diana
+        escenario.repaint();
+    }
+    
     private void pausarSimulacion() {
         if (motor.isEnEjecucion()) {
             motor.pausar();
             btnPausar.setText("▶️ Reanudar");
         } else {
+            lineaTiempo.continuarDesdeRevision();
             motor.reanudar();
             btnPausar.setText("⏸️ Pausar");
         }
@@ -289,10 +481,12 @@ public class SimulacionTiroParabolico extends JPanel {
     private void reiniciarSimulacion() {
         motor.detener();
         motor.reiniciar();
+        escenario.cancelarGrabacion();
         escenario.reiniciar();
         escenario.repaint();
         
         btnLanzar.setEnabled(true);
+        btnSalva.setEnabled(misionActiva == null);
         btnPausar.setEnabled(false);
         btnPausar.setText("⏸️ Pausar");
     }
@@ -348,109 +542,298 @@ public class SimulacionTiroParabolico extends JPanel {
         chk.setFont(new Font("Segoe UI", Font.PLAIN, 12));
     }
     
+    /**
+     * Copia de la salva para el pintado (cada uno de los tres búferes del BufferTriple)
+     */
+    private static final class PuntosSalva {
+        final double[] x = new double[PROYECTILES_SALVA];
+        final double[] y = new double[PROYECTILES_SALVA];
+        int tamano;
+        int enVuelo;
+        double tiempo;
+        double alcanceMaximo;
+        double alturaMaxima;
+        double velocidadMaxima; // de la envolvente
+        double alturaInicial;
+        double gravedad;
+    }
+    
     // ESCENARIO
-    private class EscenarioTiroParabolico extends JPanel {
-        private double posX = 0;
-        private double posY = 0;
-        private double velX = 0;
-        private double velY = 0;
-        private double tiempo = 0;
-        private boolean impacto = false;
-        private List<Point> trayectoria = new ArrayList<>();
-        private MotorSimulacion motor;
+    private class EscenarioTiroParabolico extends Escenario {
+        // El pintado lee el Fotograma publicado, la trayectoria (inmutable) y los
+        // puntos de la salva del triple búfer: nunca espera al hilo de física
+        private volatile boolean impacto = false;
+        private volatile ResultadoTrayectoria trayectoria; // completa, se dibuja hasta el tiempo actual
+        private final ModeloTiroParabolico modelo = new ModeloTiroParabolico(0, 0, 0, ContextoFisico.TIERRA);
+        private final Salva salva = new Salva(PROYECTILES_SALVA, 0, ContextoFisico.TIERRA);
+        private final BufferTriple<PuntosSalva> puntosSalva = new BufferTriple<>(PuntosSalva::new);
+        private volatile boolean modoSalva = false;
+        private volatile PrevisualizadorTiro.Prevision prevision; // inmutable, llega desde el EDT
         private SimulacionTiroParabolico parent;
         
+        // Recursos del pintado, compartidos a través de UIHelper y creados una sola vez
+        private final Color colorTrayectoria = UIHelper.color(241, 196, 15, 220);
+        private final Color colorCuerpoCanon = UIHelper.color(84, 109, 122);
+        private final Color colorOscuro = UIHelper.color(40, 55, 71);
+        private final Color colorArcoAngulo = UIHelper.color(241, 196, 15, 150);
+        private final Color colorSombra = UIHelper.color(0, 0, 0, 40);
+        private final Color colorBrillo = UIHelper.color(255, 255, 255, 100);
+        private final Color colorVx = UIHelper.color(39, 174, 96);
+        private final Color colorVy = UIHelper.color(41, 128, 185);
+        private final Color colorPrevision = UIHelper.color(255, 255, 255, 170);
+        private final Color colorEnvolvente = UIHelper.color(231, 76, 60, 200);
+        private final Color colorPuntoSalva = UIHelper.color(40, 55, 71, 180);
+        private final Color colorFranjaDiana = UIHelper.color(231, 76, 60, 90);
+        private final Color colorBanderin = UIHelper.color(231, 76, 60);
+        private final Color colorCrater = UIHelper.color(92, 64, 51).darker();
+        private final Color colorParticulas = UIHelper.color(111, 84, 72);
+        private final Color colorFondoDatos = UIHelper.color(255, 255, 255, 200);
+        private final BasicStroke trazoEstela = UIHelper.trazo(2.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+        private final BasicStroke trazoLinea = UIHelper.trazo(2f);
+        private final BasicStroke trazoVector = UIHelper.trazo(2.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+        private final BasicStroke trazoPrevision = UIHelper.trazoDiscontinuo(1.5f, BasicStroke.JOIN_ROUND, 6f, 5f);
+        private final BasicStroke trazoEnvolvente = UIHelper.trazoDiscontinuo(2f, BasicStroke.JOIN_ROUND, 8f, 6f);
+        private final Font fuenteEtiqueta = UIHelper.fuente("Segoe UI", Font.PLAIN, 11);
+        private final Font fuenteDiana = UIHelper.fuente("Segoe UI", Font.BOLD, 11);
+        private final Font fuenteDatos = UIHelper.fuente("Consolas", Font.BOLD, 12);
+        private final int[] banderinX = new int[3];
+        private final int[] banderinY = new int[3];
+        // Trayectoria recorrida: solo se trazan los tramos nuevos de cada fotograma
+        private final EstelaIncremental estela = new EstelaIncremental(colorTrayectoria, trazoEstela);
+        private final Line2D.Double tramoActual = new Line2D.Double();
+        
         public EscenarioTiroParabolico(SimulacionTiroParabolico parent) {
+            super(900, 500);
             this.parent = parent;
             this.motor = SimulacionTiroParabolico.this.motor;
-            setDoubleBuffered(true);
+            // El modelo avisa en el instante exacto del impacto (llega dentro de actualizar, con el lock tomado)
+            modelo.setOyenteEventos(evento -> {
+                impacto = true;
+                motor.detener();
+            });
+        }
+        
+        public void setPrevision(PrevisualizadorTiro.Prevision prevision) {
+            this.prevision = prevision;
+            repaint();
+        }
+        
+        public void setModoSalva(boolean salva) {
+            lock.lock();
+            try { modoSalva = salva; }
+            finally { lock.unlock(); }
         }
         
         public void reiniciar() {
             lock.lock();
             try {
-                posX = 0;
-                posY = alturaInicial;
-                tiempo = 0;
-                impacto = false;
-                trayectoria.clear();
+                if (modoSalva) {
+                    salva.setAlturaInicial(alturaInicial);
+                    salva.setContexto(contexto);
+                    salva.setArrastre(resistenciaAire ? ModeloArrastre.BALON : null, modelo.getMasa());
+                    salva.llenar(new BarridoTiroParabolico.Rango(velocidadInicial * 0.5, velocidadInicial, 20),
+                                 new BarridoTiroParabolico.Rango(5, 85, PROYECTILES_SALVA / 20));
+                    salva.reiniciar();
+                }
+                modelo.setVelocidadInicial(velocidadInicial);
+                modelo.setAngulo(angulo);
+                modelo.setAlturaInicial(alturaInicial);
+                modelo.setContexto(contexto);
+                modelo.setArrastre(resistenciaAire ? ModeloArrastre.BALON : null);
+                modelo.setIntegrador(motor != null ? motor.getIntegrador() : null);
+                modelo.reiniciar();
                 
-                double rad = Math.toRadians(angulo);
-                velX = velocidadInicial * Math.cos(rad);
-                velY = velocidadInicial * Math.sin(rad);
+                impacto = false;
+                trayectoria = calcularTrayectoria();
+                publicar(Fotograma.fijo(modelo, false));
+                if (modoSalva) {
+                    publicarSalva();
+                }
+                grabarMuestra(modelo);
             } finally {
                 lock.unlock();
             }
         }
         
+        @Override
         public void actualizar() {
             if (motor == null || impacto) return;
             
+            if (modoSalva) {
+                lock.lock();
+                try {
+                    salva.actualizar(motor.getTiempoTranscurrido());
+                    publicarSalva();
+                    if (salva.isTerminada()) {
+                        impacto = true;
+                        motor.detener();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+            
             lock.lock();
             try {
-                tiempo = motor.getTiempoTranscurrido();
-                posX = velX * tiempo;
-                posY = alturaInicial + velY * tiempo - 0.5 * gravedad * tiempo * tiempo;
+                // El tiempo del modelo se queda en el instante exacto del impacto
+                modelo.actualizar(motor.getTiempoTranscurrido());
+                publicar(getFotograma().siguiente(modelo, impacto));
+                grabarMuestra(modelo);
             } finally {
                 lock.unlock();
             }
+            entregarGrabacion();
             
-            if (posY >= 0 && trayectoria.size() < 500) {
-                int sx = 80 + (int)(posX * 6);
-                int sy = (getHeight() - 60) - (int)(posY * 6);
-                if (sx < getWidth() && sy > 0) {
-                    trayectoria.add(new Point(sx, sy));
-                }
+            if (impacto) {
+                finalizarSimulacion();
             }
-            
-            if (posY < 0) {
-                impacto = true;
-                motor.detener();
+        }
+        
+        /**
+         * Copia la salva al búfer libre y lo entrega al pintado (con el lock tomado)
+         */
+        private void publicarSalva() {
+            PuntosSalva p = puntosSalva.getEscritura();
+            salva.copiarPosiciones(p.x, p.y);
+            p.tamano = salva.getTamano();
+            p.enVuelo = salva.getEnVuelo();
+            p.tiempo = salva.getTiempo();
+            p.alcanceMaximo = salva.getAlcanceMaximo();
+            p.alturaMaxima = salva.getAlturaMaxima();
+            p.velocidadMaxima = p.tamano > 0 ? salva.getVelocidadInicial(p.tamano - 1) : 0;
+            p.alturaInicial = salva.getAlturaInicial();
+            p.gravedad = salva.getContexto().getGravedad();
+            puntosSalva.publicar();
+        }
+        
+        private void finalizarSimulacion() {
+            if (isSesionDianas()) {
+                // Varias dianas: cada impacto se cuenta y la sesión sigue hasta completar la racha
+                SimulationResult result = modelo.getResultado();
+                SwingUtilities.invokeLater(() -> registrarTiroMision(result));
+                return;
+            }
+            if (onSimulationEnd != null) { // solo el primer impacto cuenta para la misión
+                SimulationResult result = modelo.getResultado();
+                Consumer<SimulationResult> callback = onSimulationEnd;
+                onSimulationEnd = null; // Prevenir llamadas múltiples
+                // Con paso fijo estamos en el hilo de física: notificar desde el EDT
+                SwingUtilities.invokeLater(() -> callback.accept(result));
             }
         }
         
         @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            
+        protected void aplicarInstante(double t, double x, double y, double vx, double vy) {
+            lock.lock();
+            try {
+                impacto = modelo.isImpacto() && t >= modelo.getTiempo();
+                publicar(Fotograma.fijo(t, x, y, vx, vy, impacto));
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        @Override
+        protected void rebobinarModelo(double t) {
+            lock.lock();
+            try {
+                // La fórmula cerrada (o el integrador desde 0) reproduce el estado en t
+                modelo.reiniciar();
+                modelo.actualizar(t);
+                impacto = modelo.isImpacto();
+                publicar(Fotograma.fijo(modelo, impacto));
+            } finally {
+                lock.unlock();
+            }
+        }
+        
+        /**
+         * Trayectoria completa del lanzamiento configurado; con la fórmula cerrada
+         * sale de la caché, con un integrador elegido se simula aparte
+         */
+        private ResultadoTrayectoria calcularTrayectoria() {
+            if (modelo.getIntegrador() == null) {
+                return CACHE_TRAYECTORIAS.obtenerTiro(velocidadInicial, angulo, alturaInicial, contexto,
+                                                      modelo.getArrastre(), modelo.getMasa());
+            }
+            ModeloTiroParabolico copia = new ModeloTiroParabolico(velocidadInicial, angulo, alturaInicial, contexto);
+            copia.setArrastre(modelo.getArrastre());
+            copia.setMasa(modelo.getMasa());
+            copia.setIntegrador(Integradores.porNombre(modelo.getIntegrador().getNombre()));
+            return MotorHeadless.ejecutar(copia, CacheTrayectorias.DT_TRAYECTORIA,
+                                          MotorHeadless.TIEMPO_MAXIMO_POR_DEFECTO);
+        }
+        
+        @Override
+        protected void dibujar(Graphics2D g2d) {
             int w = getWidth();
             int h = getHeight();
+            Fotograma f = getFotograma(); // todo el fotograma sale del mismo paso
             
-            // FONDO
-            dibujarFondo(g2d, w, h);
-            
-            // CUADRÍCULA
-            dibujarCuadricula(g2d, w, h);
-            
-            // SUELO
-            dibujarSuelo(g2d, w, h);
+            // DIANA DE LA MISIÓN
+            dibujarDiana(g2d, w, h);
             
             // CAÑÓN
             dibujarCanon(g2d, w, h);
             
+            if (modoSalva) {
+                PuntosSalva p = puntosSalva.leer();
+                dibujarSalva(g2d, w, h, p);
+                dibujarInfoSalva(g2d, w, h, p);
+                return;
+            }
+            
+            // PREVISIÓN (solo con el motor parado: durante el vuelo manda la trayectoria real)
+            if (mostrarTrayectoria && (motor == null || !motor.isEnEjecucion())) {
+                dibujarPrevision(g2d, w, h);
+            }
+            
             // TRAYECTORIA
-            if (mostrarTrayectoria && trayectoria.size() > 1) {
-                g2d.setColor(new Color(241, 196, 15, 220)); // Amarillo para trayectoria
-                g2d.setStroke(new BasicStroke(2.5f));
-                Path2D path = new Path2D.Double();
-                path.moveTo(trayectoria.get(0).x, trayectoria.get(0).y);
-                for (int i = 1; i < trayectoria.size(); i++) {
-                    path.lineTo(trayectoria.get(i).x, trayectoria.get(i).y);
+            ResultadoTrayectoria recorrida = trayectoria;
+            if (mostrarTrayectoria && recorrida != null) {
+                int suelo = h - 60;
+                // Muestras ya recorridas (la primera siempre) y, al final, la posición actual
+                Trayectoria t = recorrida.getTrayectoria();
+                int hasta = Math.max(t.indiceEnTiempo(f.getTiempo()), 0) + 1;
+                for (int i = estela.preparar(g2d, this, t, hasta); i < hasta; i++) {
+                    estela.agregar(80 + t.getPosX(i) * 6, suelo - t.getPosY(i) * 6);
                 }
-                g2d.draw(path);
+                estela.dibujar(g2d);
+                g2d.setColor(colorTrayectoria); // Amarillo para trayectoria
+                g2d.setStroke(trazoEstela);
+                tramoActual.setLine(estela.getUltimoX(), estela.getUltimoY(),
+                                    80 + f.getPosX() * 6, suelo - Math.max(0, f.getPosY()) * 6);
+                g2d.draw(tramoActual);
             }
             
             // OBJETO
-            if (!impacto && posY >= 0) {
-                dibujarProyectil(g2d, w, h);
-            } else if (impacto) {
-                dibujarImpacto(g2d, w, h);
+            if (!f.isTerminado() && f.getPosY() >= 0) {
+                dibujarProyectil(g2d, w, h, f);
+            } else if (f.isTerminado()) {
+                dibujarImpacto(g2d, w, h, f);
             }
             
             // INFO
-            dibujarInfo(g2d, w, h);
+            dibujarInfo(g2d, w, h, f);
+        }
+        
+        @Override
+        public void liberar() {
+            super.liberar();
+            estela.liberar();
+        }
+        
+        @Override
+        protected void dibujarCapaFija(Graphics2D g2d, int w, int h) {
+            // FONDO
+            dibujarFondo(g2d, w, h);
+            
+            // CUADRÍCULA
+            dibujarCuadricula(g2d, w, h);
+            
+            // SUELO
+            dibujarSuelo(g2d, w, h);
         }
         
         private void dibujarFondo(Graphics2D g2d, int w, int h) {
@@ -490,76 +873,174 @@ public class SimulacionTiroParabolico extends JPanel {
             int canonY = suelo - (int)(alturaInicial * 6);
             
             double rad = Math.toRadians(angulo);
-            
-            // Guardar transformación original
-            AffineTransform original = g2d.getTransform();
-            g2d.translate(canonX, canonY);
-            g2d.rotate(-rad);
+            // El giro se aplica a las figuras y no al Graphics2D: rotate() y
+            // translate() le obligan a rehacer su contexto de fuentes en cada fotograma
+            double cos = Math.cos(rad);
+            double sin = Math.sin(rad);
             
             // Dibujar el cañón (cuerpo y tubo)
-            g2d.setColor(new Color(84, 109, 122));
-            g2d.fillRect(-15, -10, 40, 20);
-            g2d.setColor(new Color(40, 55, 71));
-            g2d.fillRect(25, -6, 30, 12);
-            
-            // Ruedas
-            g2d.setColor(new Color(40, 55, 71));
-            g2d.fillOval(-15, 5, 20, 20);
-            g2d.setColor(Color.DARK_GRAY);
-            g2d.fillOval(-10, 10, 10, 10);
+            g2d.setColor(colorCuerpoCanon);
+            g2d.fill(rectanguloGirado(-15, -10, 40, 20, canonX, canonY, cos, sin));
+            g2d.setColor(colorOscuro);
+            g2d.fill(rectanguloGirado(25, -6, 30, 12, canonX, canonY, cos, sin));
             
-            // Restaurar transformación
-            g2d.setTransform(original);
+            // Ruedas (círculos: basta con girar el centro, (-5, 15) en el cañón)
+            int ruedaX = canonX + (int) Math.round(-5 * cos + 15 * sin);
+            int ruedaY = canonY + (int) Math.round(5 * sin + 15 * cos);
+            g2d.fillOval(ruedaX - 10, ruedaY - 10, 20, 20);
+            g2d.setColor(Color.DARK_GRAY);
+            g2d.fillOval(ruedaX - 5, ruedaY - 5, 10, 10);
             
             // Ángulo
-            g2d.setColor(new Color(241, 196, 15, 150));
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setColor(colorArcoAngulo);
+            g2d.setStroke(trazoLinea);
             g2d.fillArc(canonX - 25, canonY - 25, 50, 50, 0, (int) angulo);
         }
         
-        private void dibujarProyectil(Graphics2D g2d, int w, int h) {
+        /**
+         * Rectángulo en coordenadas del cañón, girado el ángulo de tiro
+         * (cos, sin) y llevado a (cx, cy), en el trazado de trabajo
+         */
+        private Path2D rectanguloGirado(double x, double y, double ancho, double alto,
+                                        int cx, int cy, double cos, double sin) {
+            Path2D path = trazadoVacio();
+            path.moveTo(cx + x * cos + y * sin, cy - x * sin + y * cos);
+            path.lineTo(cx + (x + ancho) * cos + y * sin, cy - (x + ancho) * sin + y * cos);
+            path.lineTo(cx + (x + ancho) * cos + (y + alto) * sin, cy - (x + ancho) * sin + (y + alto) * cos);
+            path.lineTo(cx + x * cos + (y + alto) * sin, cy - x * sin + (y + alto) * cos);
+            path.closePath();
+            return path;
+        }
+        
+        private void dibujarProyectil(Graphics2D g2d, int w, int h, Fotograma f) {
             int suelo = h - 60;
-            int objX = 80 + (int)(posX * 6);
-            int objY = suelo - (int)(posY * 6);
+            // Interpolar entre pasos de física cuando el motor va en su propio hilo
+            int objX = 80 + (int)(interpolar(f.getPosXAnterior(), f.getPosX()) * 6);
+            int objY = suelo - (int)(interpolar(f.getPosYAnterior(), f.getPosY()) * 6);
             
             // Sombra en el suelo
             int sombraX = objX;
             int sombraY = suelo - 5;
-            int sombraAncho = 15 - (int)(posY / 20);
+            int sombraAncho = 15 - (int)(f.getPosY() / 20);
             if (sombraAncho > 0) {
-                g2d.setColor(new Color(0, 0, 0, 40));
+                g2d.setColor(colorSombra);
                 g2d.fillOval(sombraX - sombraAncho / 2, sombraY, sombraAncho, 5);
             }
             
             // Proyectil (bala de cañón)
-            g2d.setColor(new Color(40, 55, 71));
+            g2d.setColor(colorOscuro);
             g2d.fillOval(objX - 8, objY - 8, 16, 16);
             
             // Brillo
-            g2d.setColor(new Color(255, 255, 255, 100));
+            g2d.setColor(colorBrillo);
             g2d.fillOval(objX - 4, objY - 4, 6, 6);
             
             // Vectores
-            if (mostrarVectores && motor.isEnEjecucion()) {
-                double vyActual = velY - gravedad * tiempo;
+            if (mostrarVectores && motor != null && motor.isEnEjecucion()) {
+                double vyActual = f.getVelY();
                 
                 // Vector Vx (verde)
-                dibujarVector(g2d, objX, objY, (int)(velX * 3), 0, new Color(39, 174, 96));
+                dibujarVector(g2d, objX, objY, (int)(f.getVelX() * 3), 0, colorVx);
                 // Vector Vy (azul)
-                dibujarVector(g2d, objX, objY, 0, (int)(-vyActual * 3), new Color(41, 128, 185));
+                dibujarVector(g2d, objX, objY, 0, (int)(-vyActual * 3), colorVy);
+            }
+        }
+        
+        /**
+         * Trayectoria prevista en discontinua y el punto de caída con su distancia
+         */
+        private void dibujarPrevision(Graphics2D g2d, int w, int h) {
+            PrevisualizadorTiro.Prevision p = prevision; // una sola lectura: no cambia a mitad del dibujo
+            if (p == null) return;
+            
+            int suelo = h - 60;
+            Path2D path = trazadoVacio();
+            path.moveTo(80 + p.getX(0) * 6, suelo - p.getY(0) * 6);
+            for (int i = 1; i < p.getTamano(); i++) {
+                path.lineTo(80 + p.getX(i) * 6, suelo - Math.max(0, p.getY(i)) * 6);
+            }
+            g2d.setColor(colorPrevision);
+            g2d.setStroke(trazoPrevision);
+            g2d.draw(path);
+            
+            int caidaX = 80 + (int)(p.getAlcance() * 6);
+            g2d.drawLine(caidaX - 5, suelo - 5, caidaX + 5, suelo + 5);
+            g2d.drawLine(caidaX - 5, suelo + 5, caidaX + 5, suelo - 5);
+            g2d.setFont(fuenteEtiqueta);
+            linea(0).agregar(p.getAlcance(), 2).agregar(" m").dibujar(g2d, caidaX - 15, suelo + 20);
+        }
+        
+        /**
+         * Un punto por proyectil y la envolvente (en el vacío) de la velocidad máxima
+         */
+        private void dibujarSalva(Graphics2D g2d, int w, int h, PuntosSalva p) {
+            int suelo = h - 60;
+            if (mostrarTrayectoria && !resistenciaAire && p.tamano > 0) {
+                Path2D envolvente = trazadoVacio();
+                boolean primero = true;
+                for (int px = 80; px < w; px += 4) {
+                    double y = Salva.alturaEnvolvente((px - 80) / 6.0, p.velocidadMaxima, p.alturaInicial, p.gravedad);
+                    if (y < 0) break;
+                    int sy = suelo - (int)(y * 6);
+                    if (primero) {
+                        envolvente.moveTo(px, sy);
+                        primero = false;
+                    } else {
+                        envolvente.lineTo(px, sy);
+                    }
+                }
+                g2d.setColor(colorEnvolvente);
+                g2d.setStroke(trazoEnvolvente);
+                g2d.draw(envolvente);
+            }
+            
+            g2d.setColor(colorPuntoSalva);
+            for (int i = 0; i < p.tamano; i++) {
+                int sx = 80 + (int)(p.x[i] * 6);
+                int sy = suelo - (int)(p.y[i] * 6);
+                if (sx < w && sy > 0) {
+                    g2d.fillRect(sx - 1, sy - 1, 3, 3);
+                }
             }
         }
         
-        private void dibujarImpacto(Graphics2D g2d, int w, int h) {
+        /**
+         * Banderín en la distancia que pide la misión, con la franja de tolerancia
+         */
+        private void dibujarDiana(Graphics2D g2d, int w, int h) {
+            if (!(misionActiva instanceof MisionTiroParabolico)) return;
+            MisionTiroParabolico m = (MisionTiroParabolico) misionActiva;
+            double x = m.getDianaActual();
+            if (Double.isNaN(x)) return;
+            
             int suelo = h - 60;
-            int impX = 80 + (int)(posX * 6);
+            int dianaX = 80 + (int)(x * 6);
+            int franja = Math.max(2, (int)(m.getTolerancia() * 6));
+            g2d.setColor(colorFranjaDiana);
+            g2d.fillRect(dianaX - franja, suelo - 10, 2 * franja, 10);
+            
+            g2d.setColor(colorOscuro);
+            g2d.setStroke(trazoLinea);
+            g2d.drawLine(dianaX, suelo, dianaX, suelo - 45);
+            g2d.setColor(colorBanderin);
+            banderinX[0] = dianaX;      banderinY[0] = suelo - 45;
+            banderinX[1] = dianaX + 22; banderinY[1] = suelo - 38;
+            banderinX[2] = dianaX;      banderinY[2] = suelo - 31;
+            g2d.fillPolygon(banderinX, banderinY, 3);
+            g2d.setFont(fuenteDiana);
+            linea(0).agregar(x, 2).agregar(" m").dibujar(g2d, dianaX - 15, suelo - 50);
+        }
+        
+        private void dibujarImpacto(Graphics2D g2d, int w, int h, Fotograma f) {
+            int suelo = h - 60;
+            int impX = 80 + (int)(f.getPosX() * 6);
             
             // Cráter
-            g2d.setColor(new Color(92, 64, 51).darker());
+            g2d.setColor(colorCrater);
             g2d.fillOval(impX - 15, suelo - 8, 30, 10);
             
             // Partículas de tierra
-            g2d.setColor(new Color(111, 84, 72));
+            g2d.setColor(colorParticulas);
             for (int i = 0; i < 10; i++) {
                 double ang = Math.random() * Math.PI;
                 int dist = 5 + (int)(Math.random() * 15);
@@ -569,7 +1050,7 @@ public class SimulacionTiroParabolico extends JPanel {
         
         private void dibujarVector(Graphics2D g2d, int x, int y, int dx, int dy, Color color) {
             g2d.setColor(color);
-            g2d.setStroke(new BasicStroke(2.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2d.setStroke(trazoVector);
             g2d.drawLine(x, y, x + dx, y + dy);
             
             // Flecha
@@ -583,35 +1064,56 @@ public class SimulacionTiroParabolico extends JPanel {
                          (int)(y + dy - arrowSize * Math.sin(angle + Math.PI / 6)));
         }
 
-        private void dibujarInfo(Graphics2D g2d, int w, int h) {
-            double vyActual = velY - gravedad * tiempo;
+        private void dibujarInfoSalva(Graphics2D g2d, int w, int h, PuntosSalva p) {
+            linea(0).agregar("Tiempo: ").agregar(p.tiempo, 2).agregar(" s");
+            linea(1).agregar("Proyectiles: ").agregar(p.tamano);
+            linea(2).agregar("En vuelo: ").agregar(p.enVuelo);
+            linea(3).agregar("Alcance máximo: ").agregar(p.alcanceMaximo, 2).agregar(" m");
+            linea(4).agregar("Altura máxima: ").agregar(p.alturaMaxima, 2).agregar(" m");
+            dibujarPanelDatos(g2d, w, 5);
+        }
+        
+        private void dibujarInfo(Graphics2D g2d, int w, int h, Fotograma f) {
+            double velX = f.getVelX();
+            double vyActual = f.getVelY();
             double rapidez = Math.sqrt(velX * velX + vyActual * vyActual);
             
-            String[] datos = {
-                "Tiempo: " + df.format(tiempo) + " s",
-                "Posición X: " + df.format(posX) + " m",
-                "Posición Y: " + df.format(Math.max(0, posY)) + " m",
-                "Velocidad X: " + df.format(velX) + " m/s",
-                "Velocidad Y: " + df.format(vyActual) + " m/s",
-                "Rapidez: " + df.format(rapidez) + " m/s"
-            };
-            
-            g2d.setFont(new Font("Consolas", Font.BOLD, 12));
+            linea(0).agregar("Tiempo: ").agregar(f.getTiempo(), 2).agregar(" s");
+            linea(1).agregar("Posición X: ").agregar(f.getPosX(), 2).agregar(" m");
+            linea(2).agregar("Posición Y: ").agregar(Math.max(0, f.getPosY()), 2).agregar(" m");
+            linea(3).agregar("Velocidad X: ").agregar(velX, 2).agregar(" m/s");
+            linea(4).agregar("Velocidad Y: ").agregar(vyActual, 2).agregar(" m/s");
+            linea(5).agregar("Rapidez: ").agregar(rapidez, 2).agregar(" m/s");
+            int n = 6;
+            if (isSesionDianas()) {
+                RachaDianas racha = ((MisionTiroParabolico) misionActiva).getRacha();
+                linea(n++).agregar("Racha: ").agregar(racha.getRacha()).agregar('/').agregar(racha.getAciertosNecesarios());
+                linea(n++).agregar("Tiros: ").agregar(racha.getTiros());
+            }
+            PrevisualizadorTiro.Prevision p = prevision;
+            if (p != null && p.getPista() != null) {
+                linea(n++).agregar("Pista: ").agregar(p.getPista());
+            }
+            dibujarPanelDatos(g2d, w, n);
+        }
+        
+        /**
+         * Panel de la esquina superior derecha con las n primeras líneas de
+         * texto; se ensancha si alguna (la pista) no cabe
+         */
+        private void dibujarPanelDatos(Graphics2D g2d, int w, int n) {
+            g2d.setFont(fuenteDatos);
             FontMetrics fm = g2d.getFontMetrics();
-            int panelW = 240;
-            int panelH = (datos.length * (fm.getHeight() + 2)) + 20;
+            int panelW = Math.max(240, anchoLineas(fm, n) + 30);
+            int panelH = (n * (fm.getHeight() + 2)) + 20;
             int panelX = w - panelW - 20;
             int panelY = 20;
             
-            g2d.setColor(new Color(255, 255, 255, 200));
+            g2d.setColor(colorFondoDatos);
             g2d.fillRoundRect(panelX, panelY, panelW, panelH, 15, 15);
             
             g2d.setColor(Color.BLACK);
-            int y = panelY + fm.getAscent() + 10;
-            for (String linea : datos) {
-                g2d.drawString(linea, panelX + 15, y);
-                y += fm.getHeight() + 2;
-            }
+            dibujarLineas(g2d, n, panelX + 15, panelY + fm.getAscent() + 10, fm.getHeight() + 2);
         }
     }
 }
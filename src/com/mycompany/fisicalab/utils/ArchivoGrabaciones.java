@@ -0,0 +1,71 @@
+package com.mycompany.fisicalab.utils;
+
+import com.mycompany.fisicalab.fisica.GrabadorSimulacion;
+import com.mycompany.fisicalab.fisica.ReproductorSimulacion;
+import java.io.*;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Carpeta de grabaciones de simulaciones (un archivo binario por ejecución)
+ */
+public class ArchivoGrabaciones {
+
+    private static final String CARPETA_GRABACIONES = "fisicalab_grabaciones";
+    private static final String EXTENSION = ".flrg";
+
+    /**
+     * Guarda una grabación con nombre TIPO_fecha.flrg
+     * @return el archivo creado, o null si no se pudo guardar
+     */
+    public static File guardar(GrabadorSimulacion grabacion) {
+        if (grabacion.getMuestras() == 0) {
+            return null;
+        }
+        File carpeta = new File(CARPETA_GRABACIONES);
+        if (!carpeta.isDirectory() && !carpeta.mkdirs()) {
+            System.err.println("Error al crear la carpeta de grabaciones: " + carpeta.getAbsolutePath());
+            return null;
+        }
+        String fecha = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date(grabacion.getFecha()));
+        File archivo = new File(carpeta, grabacion.getTipo() + "_" + fecha + EXTENSION);
+
+        try {
+            grabacion.guardar(archivo);
+            return archivo;
+        } catch (IOException e) {
+            System.err.println("Error al guardar grabación: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lista las grabaciones guardadas, de la más reciente a la más antigua
+     */
+    public static List<File> listar() {
+        File[] archivos = new File(CARPETA_GRABACIONES).listFiles((dir, nombre) -> nombre.endsWith(EXTENSION));
+        if (archivos == null) {
+            return new ArrayList<>();
+        }
+        List<File> lista = new ArrayList<>(Arrays.asList(archivos));
+        lista.sort(Comparator.comparingLong(File::lastModified).reversed());
+        return lista;
+    }
+
+    /**
+     * Carga una grabación para reproducirla
+     * @return el reproductor, o null si el archivo no es válido
+     */
+    public static ReproductorSimulacion cargar(File archivo) {
+        try {
+            return ReproductorSimulacion.cargar(archivo);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al cargar grabación: " + e.getMessage());
+            return null;
+        }
+    }
+}
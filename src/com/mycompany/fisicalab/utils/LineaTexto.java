@@ -0,0 +1,115 @@
+package com.mycompany.fisicalab.utils;
+
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.text.DecimalFormatSymbols;
+import java.util.Arrays;
+
+/**
+ * Línea de texto reutilizable para el pintado
+ * Se vacía y se vuelve a rellenar en cada fotograma sin crear Strings, y se
+ * dibuja con drawChars. Los decimales salen como DecimalFormat("#0.00"), con
+ * el separador del idioma del sistema (el redondeo de las mitades puede
+ * diferir en la última cifra).
+ */
+public final class LineaTexto {
+
+    private static final char SEPARADOR = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+    private static final long[] POTENCIAS_10 = {1, 10, 100, 1000, 10000, 100000, 1000000};
+
+    private char[] caracteres = new char[64];
+    private int longitud;
+
+    public LineaTexto limpiar() {
+        longitud = 0;
+        return this;
+    }
+
+    public LineaTexto agregar(String texto) {
+        int n = texto.length();
+        reservar(n);
+        texto.getChars(0, n, caracteres, longitud);
+        longitud += n;
+        return this;
+    }
+
+    public LineaTexto agregar(char c) {
+        reservar(1);
+        caracteres[longitud++] = c;
+        return this;
+    }
+
+    public LineaTexto agregar(long n) {
+        if (n < 0) {
+            agregar('-');
+            if (n == Long.MIN_VALUE) {
+                return agregar("9223372036854775808");
+            }
+            n = -n;
+        }
+        // Cifras de la última a la primera, directamente en su sitio
+        int cifras = 1;
+        for (long resto = n / 10; resto > 0; resto /= 10) {
+            cifras++;
+        }
+        reservar(cifras);
+        for (int i = longitud + cifras - 1; i >= longitud; i--) {
+            caracteres[i] = (char) ('0' + n % 10);
+            n /= 10;
+        }
+        longitud += cifras;
+        return this;
+    }
+
+    /**
+     * Número con un número fijo de decimales (de 0 a 6)
+     */
+    public LineaTexto agregar(double valor, int decimales) {
+        if (Double.isNaN(valor)) return agregar("NaN");
+        if (Double.isInfinite(valor)) return agregar(valor > 0 ? "∞" : "-∞");
+
+        long potencia = POTENCIAS_10[decimales];
+        double escalado = Math.abs(valor) * potencia;
+        if (escalado >= Long.MAX_VALUE) {
+            // Fuera del rango exacto de long: caso raro, se acepta el String
+            return agregar(String.format("%." + decimales + "f", valor));
+        }
+        long redondeado = Math.round(escalado);
+        // Como DecimalFormat, un negativo que redondea a cero conserva el signo
+        if (Double.doubleToRawLongBits(valor) < 0) {
+            agregar('-');
+        }
+        agregar(redondeado / potencia);
+        if (decimales > 0) {
+            agregar(SEPARADOR);
+            long fraccion = redondeado % potencia;
+            for (long p = potencia / 10; p > 0; p /= 10) {
+                agregar((char) ('0' + fraccion / p % 10));
+            }
+        }
+        return this;
+    }
+
+    public int getLongitud() {
+        return longitud;
+    }
+
+    public int getAncho(FontMetrics fm) {
+        return fm.charsWidth(caracteres, 0, longitud);
+    }
+
+    public void dibujar(Graphics2D g2d, int x, int y) {
+        g2d.drawChars(caracteres, 0, longitud, x, y);
+    }
+
+    @Override
+    public String toString() {
+        return new String(caracteres, 0, longitud);
+    }
+
+    private void reservar(int extra) {
+        if (longitud + extra > caracteres.length) {
+            caracteres = Arrays.copyOf(caracteres, Math.max(caracteres.length * 2, longitud + extra));
+        }
+    }
+}
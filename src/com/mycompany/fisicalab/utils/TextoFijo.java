@@ -0,0 +1,57 @@
+package com.mycompany.fisicalab.utils;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+
+/**
+ * Texto constante del pintado con emojis u otros caracteres que Java2D no
+ * dibuja por la vía rápida
+ * drawString maqueta ese texto con un TextLayout nuevo en cada llamada; aquí
+ * los glifos se maquetan una vez (y otra si cambia el FontRenderContext) y se
+ * dibujan con drawGlyphVector. El texto sencillo no lo necesita: drawString
+ * con un literal y LineaTexto ya no reservan memoria.
+ */
+public final class TextoFijo {
+
+    private final String texto;
+    private final Font fuente;
+    private FontRenderContext contexto;
+    private GlyphVector glifos;
+    private int ancho;
+
+    public TextoFijo(String texto, Font fuente) {
+        this.texto = texto;
+        this.fuente = fuente;
+    }
+
+    /**
+     * Dibuja el texto con su propia fuente; devuelve la x donde termina
+     */
+    public int dibujar(Graphics2D g2d, int x, int y) {
+        maquetar(g2d);
+        g2d.drawGlyphVector(glifos, x, y);
+        return x + ancho;
+    }
+
+    public int getAncho(Graphics2D g2d) {
+        maquetar(g2d);
+        return ancho;
+    }
+
+    private void maquetar(Graphics2D g2d) {
+        FontRenderContext frc = g2d.getFontRenderContext();
+        if (glifos == null || !frc.equals(contexto)) {
+            char[] caracteres = texto.toCharArray();
+            glifos = fuente.layoutGlyphVector(frc, caracteres, 0, caracteres.length, Font.LAYOUT_LEFT_TO_RIGHT);
+            ancho = (int) Math.ceil(glifos.getLogicalBounds().getWidth());
+            contexto = frc;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
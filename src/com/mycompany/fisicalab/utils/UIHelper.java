@@ -4,6 +4,9 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utilidades para crear componentes UI con estilo moderno
@@ -19,6 +22,47 @@ public class UIHelper {
     public static final Color COLOR_FONDO = new Color(236, 240, 241);
     public static final Color COLOR_TEXTO = new Color(44, 62, 80);
     
+    // Recursos de pintado compartidos por todas las escenas: una sola instancia
+    // por valor. Se piden al crear la escena y se guardan en campos; en el
+    // pintado la propia búsqueda ya reservaría memoria.
+    private static final Map<Integer, Color> COLORES = new ConcurrentHashMap<>();
+    private static final Map<String, Font> FUENTES = new ConcurrentHashMap<>();
+    private static final Map<String, BasicStroke> TRAZOS = new ConcurrentHashMap<>();
+    
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+    
+    public static Color color(int r, int g, int b, int alfa) {
+        int argb = (alfa & 0xFF) << 24 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF);
+        return COLORES.computeIfAbsent(argb, c -> new Color(c, true));
+    }
+    
+    public static Font fuente(String nombre, int estilo, int tamano) {
+        return FUENTES.computeIfAbsent(nombre + '|' + estilo + '|' + tamano,
+                                       k -> new Font(nombre, estilo, tamano));
+    }
+    
+    /**
+     * Trazo continuo con los extremos y uniones por defecto de BasicStroke
+     */
+    public static BasicStroke trazo(float ancho) {
+        return trazo(ancho, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER);
+    }
+    
+    public static BasicStroke trazo(float ancho, int extremo, int union) {
+        return TRAZOS.computeIfAbsent(ancho + "|" + extremo + "|" + union,
+                                      k -> new BasicStroke(ancho, extremo, union));
+    }
+    
+    /**
+     * Trazo discontinuo con extremos rectos (patrón: trazo, hueco, trazo...)
+     */
+    public static BasicStroke trazoDiscontinuo(float ancho, int union, float... patron) {
+        return TRAZOS.computeIfAbsent(ancho + "|" + union + "|" + Arrays.toString(patron),
+                                      k -> new BasicStroke(ancho, BasicStroke.CAP_BUTT, union, 10f, patron, 0f));
+    }
+    
     /**
      * Crea un botón con estilo redondeado
      */
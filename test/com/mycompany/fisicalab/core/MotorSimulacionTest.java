@@ -0,0 +1,49 @@
+package com.mycompany.fisicalab.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Reloj de paso fijo del motor
+ */
+public class MotorSimulacionTest {
+
+    @Test
+    public void elPasoFijoAvanzaEnPasosExactos() throws Exception {
+        MotorSimulacion motor = new MotorSimulacion(10);
+        CountDownLatch pasos = new CountDownLatch(20);
+        motor.iniciarPasoFijo(e -> pasos.countDown(), null);
+        try {
+            assertTrue(pasos.await(5, TimeUnit.SECONDS));
+        } finally {
+            motor.detener();
+        }
+        double tiempo = motor.getTiempoTranscurrido();
+        assertEquals("el reloj es un múltiplo del paso", 0, Math.IEEEremainder(tiempo, 0.010), 1e-12);
+    }
+
+    @Test
+    public void unPasoQueFallaDetieneElMotor() throws Exception {
+        MotorSimulacion motor = new MotorSimulacion(10);
+        AtomicInteger llamadas = new AtomicInteger();
+        CountDownLatch primerFallo = new CountDownLatch(1);
+        motor.iniciarPasoFijo(e -> {
+            llamadas.incrementAndGet();
+            primerFallo.countDown();
+            throw new IllegalStateException("fallo de prueba");
+        }, null);
+
+        assertTrue(primerFallo.await(5, TimeUnit.SECONDS));
+        // Varios fotogramas más: un motor que siguiera en marcha repetiría el paso
+        Thread.sleep(200);
+
+        assertFalse(motor.isEnEjecucion());
+        assertEquals("el paso fallido no se repite", 1, llamadas.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.fisicalab.fisica;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Cumbre e impacto de los modelos de vuelo, con fórmula cerrada y con aire
+ */
+public class ModeloVueloTest {
+
+    private static final double[] TICKS = { 0.005, 0.016, 0.03, 0.1 };
+
+    @Test
+    public void laCumbreEnElVacioEsLaDeLaFormula() {
+        double vy0 = 20 * Math.sin(Math.toRadians(60));
+        double esperada = 5 + vy0 * vy0 / (2 * ContextoFisico.TIERRA.getGravedad());
+        for (double tick : TICKS) {
+            ModeloTiroParabolico tiro = new ModeloTiroParabolico(20, 60, 5, ContextoFisico.TIERRA);
+            avanzar(tiro, tick);
+            assertEquals("tick " + tick, esperada, tiro.getAlturaMaxima(), 1e-9);
+        }
+    }
+
+    @Test
+    public void laCumbreConAireNoDependeDelTick() {
+        double referencia = Double.NaN;
+        for (double tick : TICKS) {
+            ModeloTiroParabolico tiro = new ModeloTiroParabolico(20, 60, 5, ContextoFisico.TIERRA);
+            tiro.setArrastre(ModeloArrastre.BALON);
+            tiro.reiniciar();
+            avanzar(tiro, tick);
+            if (Double.isNaN(referencia)) {
+                referencia = tiro.getAlturaMaxima();
+            }
+            assertEquals("tick " + tick, referencia, tiro.getAlturaMaxima(), 1e-6);
+        }
+    }
+
+    @Test
+    public void caidaLibreYTiroVerticalSonElMismoVuelo() {
+        ModeloCaidaLibre caida = new ModeloCaidaLibre(10, 8, ContextoFisico.TIERRA);
+        ModeloTiroParabolico vertical = new ModeloTiroParabolico(8, 90, 10, ContextoFisico.TIERRA);
+        avanzar(caida, 0.03);
+        avanzar(vertical, 0.03);
+
+        assertEquals(vertical.getTiempo(), caida.getTiempo(), 1e-12);
+        assertEquals(vertical.getAlturaMaxima(), caida.getAlturaMaxima(), 1e-12);
+        assertEquals(vertical.getEventoFinal().getVelY(), caida.getEventoFinal().getVelY(), 1e-12);
+        assertEquals("la caída queda en reposo en el suelo", 0, caida.getVelY(), 0);
+    }
+
+    @Test
+    public void elImpactoConIntegradorSeRefinaDentroDelPaso() {
+        ModeloCaidaLibre exacta = new ModeloCaidaLibre(20, 0, ContextoFisico.TIERRA);
+        ModeloCaidaLibre integrada = new ModeloCaidaLibre(20, 0, ContextoFisico.TIERRA);
+        integrada.setIntegrador(Integradores.rungeKutta4());
+        avanzar(exacta, 0.1);
+        avanzar(integrada, 0.1);
+
+        assertTrue(integrada.isEnSuelo());
+        assertEquals(exacta.getTiempo(), integrada.getTiempo(), 1e-9);
+        assertEquals(0, integrada.getPosY(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unPasoDeIntegracionNuloSeRechaza() {
+        new ModeloCaidaLibre(20, 0, ContextoFisico.TIERRA).setPasoIntegracion(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unPasoDeIntegracionNegativoSeRechaza() {
+        new ModeloTiroParabolico(20, 45, 0, ContextoFisico.TIERRA).setPasoIntegracion(-0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unPasoDeIntegracionNoFinitoSeRechaza() {
+        new ModeloTiroParabolico(20, 45, 0, ContextoFisico.TIERRA).setPasoIntegracion(Double.NaN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void integrarRechazaUnPasoNulo() {
+        Integradores.integrar(Integradores.rungeKutta4(), (t, s, a) -> { }, new double[4], 0, 1, 0);
+    }
+
+    private static void avanzar(ModeloFisico modelo, double tick) {
+        for (int n = 1; !modelo.isTerminado() && n < 100000; n++) {
+            modelo.actualizar(n * tick);
+        }
+        assertTrue(modelo.isTerminado());
+    }
+}
@@ -0,0 +1,101 @@
+package com.mycompany.fisicalab.juego;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Racha de dianas: orden de las dianas, fallos y cierre de la serie
+ */
+public class RachaDianasTest {
+
+    private static final double FALLO = 5.0; // lejos de todas las dianas
+
+    private RachaDianas racha;
+
+    @Before
+    public void crearRacha() {
+        racha = new RachaDianas(new double[] { 15.0, 30.0, 45.0 }, 2.0, 3);
+    }
+
+    @Test
+    public void aciertosSeguidosCompletanLaRacha() {
+        assertTrue(racha.registrar(15.5));
+        assertTrue(racha.registrar(29.0));
+        assertFalse(racha.isCompletada());
+        assertTrue(racha.registrar(45.0));
+
+        assertTrue(racha.isCompletada());
+        assertEquals(3, racha.getRacha());
+        assertEquals(0.5, racha.getErrorMedio(), 1e-12);
+    }
+
+    @Test
+    public void unFalloVuelveALaPrimeraDiana() {
+        racha.registrar(15.0);
+        racha.registrar(30.0);
+
+        assertFalse(racha.registrar(FALLO));
+        assertEquals(0, racha.getRacha());
+        assertEquals(2, racha.getMejorRacha());
+        assertEquals(15.0, racha.getDianaActual(), 0);
+        assertEquals(0, racha.getErrorMedio(), 0);
+    }
+
+    @Test
+    public void soloCuentaLaDianaQueToca() {
+        assertFalse("la segunda diana no vale como primera", racha.registrar(30.0));
+        assertEquals(15.0, racha.getDianaActual(), 0);
+    }
+
+    @Test
+    public void lasDianasSeRepitenSiHacenFaltaMasAciertos() {
+        RachaDianas larga = new RachaDianas(new double[] { 10.0, 20.0 }, 1.0, 3);
+        larga.registrar(10.0);
+        larga.registrar(20.0);
+
+        assertEquals(10.0, larga.getDianaActual(), 0);
+        assertTrue(larga.registrar(10.0));
+        assertTrue(larga.isCompletada());
+    }
+
+    @Test
+    public void unaRachaCompletadaNoSigueContandoTiros() {
+        racha.registrar(15.0);
+        racha.registrar(30.0);
+        racha.registrar(45.0);
+
+        assertFalse(racha.registrar(FALLO));
+        assertTrue("un fallo tras cerrar la serie no la deshace", racha.isCompletada());
+        assertEquals(3, racha.getTiros());
+    }
+
+    @Test
+    public void reiniciarEmpiezaUnaSerieNueva() {
+        racha.registrar(15.0);
+        racha.registrar(30.0);
+        racha.registrar(45.0);
+        racha.reiniciar();
+
+        assertFalse(racha.isCompletada());
+        assertEquals(0, racha.getRacha());
+        assertEquals(0, racha.getMejorRacha());
+        assertEquals(0, racha.getTiros());
+        assertEquals(15.0, racha.getDianaActual(), 0);
+        assertFalse(racha.registrar(FALLO));
+        assertFalse(racha.isCompletada());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sinDianasNoHayRacha() {
+        new RachaDianas(new double[0], 2.0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void haceFaltaAlMenosUnAcierto() {
+        new RachaDianas(new double[] { 15.0 }, 2.0, 0);
+    }
+}
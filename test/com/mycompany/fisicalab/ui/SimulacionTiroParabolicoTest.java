@@ -0,0 +1,86 @@
+package com.mycompany.fisicalab.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.mycompany.fisicalab.core.SimulationResult;
+import com.mycompany.fisicalab.fisica.ContextoFisico;
+import com.mycompany.fisicalab.fisica.SolucionadorTiro;
+import com.mycompany.fisicalab.juego.MisionTiroParabolico;
+import javax.swing.SwingUtilities;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Sesiones de una misión de varias dianas en el panel de Tiro
+ * Las misiones duran tanto como ModoJuego, así que cada panel nuevo (cada
+ * vez que PanelMision abre la misión) debe empezar la racha desde cero.
+ */
+public class SimulacionTiroParabolicoTest {
+
+    private static final double FALLO = 5.0; // lejos de todas las dianas
+
+    private MisionTiroParabolico mision;
+
+    @Before
+    public void buscarMision() {
+        for (MisionTiroParabolico m : MisionTiroParabolico.crearMisionesIniciales()) {
+            if (m.getId().equals("TIRO_04")) {
+                mision = m;
+            }
+        }
+        assertEquals(MisionTiroParabolico.TipoMisionTiro.DIANAS_MULTIPLES, mision.getTipoMision());
+    }
+
+    @Test
+    public void unFalloTrasCompletarLaMisionNoEsUnExito() throws Exception {
+        abrirSesion();
+        for (double diana : new double[] { 15.0, 30.0, 45.0 }) {
+            mision.registrarTiro(tiro(diana));
+        }
+        assertTrue(mision.evaluar(tiro(45.0)));
+
+        abrirSesion();
+        assertEquals(0, mision.getRacha().getRacha());
+        assertFalse(mision.registrarTiro(tiro(FALLO)));
+        assertFalse(mision.getRacha().isCompletada());
+        assertFalse(mision.evaluar(tiro(FALLO)));
+    }
+
+    @Test
+    public void unaRachaAbandonadaNoPasaALaSiguienteSesion() throws Exception {
+        abrirSesion();
+        mision.registrarTiro(tiro(15.0));
+        mision.registrarTiro(tiro(30.0));
+
+        abrirSesion();
+        assertEquals(0, mision.getRacha().getRacha());
+        assertEquals(15.0, mision.getDianaActual(), 0);
+    }
+
+    @Test
+    public void todasLasMisionesTienenSolucionConLosControlesDelPanel() {
+        // Las misiones se abren sin aire y con la gravedad de la Tierra
+        SolucionadorTiro solucionador = new SolucionadorTiro(ContextoFisico.TIERRA);
+        for (MisionTiroParabolico m : MisionTiroParabolico.crearMisionesIniciales()) {
+            assertTrue(m.getId() + " no se puede superar desde " + SimulacionTiroParabolico.ALTURA_MAXIMA + " m",
+                       m.esResoluble(SimulacionTiroParabolico.ALTURA_MAXIMA, solucionador));
+        }
+    }
+
+    /**
+     * Abre la misión como PanelMision: un panel de Tiro nuevo con la misma misión
+     */
+    private void abrirSesion() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            SimulacionTiroParabolico panel = new SimulacionTiroParabolico(null, mision, resultado -> { });
+            panel.alOcultar();
+            panel.liberar();
+        });
+    }
+
+    private static SimulationResult tiro(double alcance) {
+        return new SimulationResult(2.0, alcance, alcance / 2.0, ContextoFisico.TIERRA);
+    }
+}